@@ -0,0 +1,110 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark jalur enrollment dengan repository in-memory
+ * Kapasitas mata kuliah dibuat sangat besar dan state dibangun ulang setiap
+ * iterasi agar benchmark tidak pernah terkena CourseFullException
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class EnrollmentServiceBenchmark {
+    private static final int STUDENT_COUNT = 1024;
+    private static final int COURSE_COUNT = 256;
+    private static final String HOT_COURSE = "HOT101";
+    private static final String DROP_COURSE = "DROP101";
+
+    @State(Scope.Benchmark)
+    public static class Registration {
+        EnrollmentService enrollmentService;
+        String[] studentIds;
+        String[] courseCodes;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+            InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+
+            studentIds = new String[STUDENT_COUNT];
+            for (int i = 0; i < STUDENT_COUNT; i++) {
+                studentIds[i] = "S" + i;
+                studentRepository.save(new Student(studentIds[i], "Student " + i, studentIds[i] + "@email.com",
+                        "Computer Science", 3, 3.2, "ACTIVE"));
+            }
+
+            courseCodes = new String[COURSE_COUNT];
+            for (int i = 0; i < COURSE_COUNT; i++) {
+                courseCodes[i] = "CS" + i;
+                courseRepository.save(new Course(courseCodes[i], "Course " + i, 3,
+                        Integer.MAX_VALUE, 0, "Dr. Smith"));
+            }
+            courseRepository.save(new Course(HOT_COURSE, "Popular Course", 3, Integer.MAX_VALUE, 0, "Dr. Smith"));
+            courseRepository.save(new Course(DROP_COURSE, "Dropped Course", 3,
+                    Integer.MAX_VALUE, Integer.MAX_VALUE - 1, "Dr. Smith"));
+
+            enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                    new NoOpNotificationService(), new GradeCalculator());
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+
+        int advance() {
+            return next++ & Integer.MAX_VALUE;
+        }
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Enrollment enrollCourseContendedSingleCourse(Registration registration, Cursor cursor) {
+        int i = cursor.advance();
+        return registration.enrollmentService.enrollCourse(
+                registration.studentIds[i % STUDENT_COUNT], HOT_COURSE);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public Enrollment enrollCourseSpreadAcrossCourses(Registration registration, Cursor cursor) {
+        int i = cursor.advance();
+        return registration.enrollmentService.enrollCourse(
+                registration.studentIds[i % STUDENT_COUNT], registration.courseCodes[i % COURSE_COUNT]);
+    }
+
+    @Benchmark
+    public void dropCourse(Registration registration, Cursor cursor) {
+        int i = cursor.advance();
+        registration.enrollmentService.dropCourse(registration.studentIds[i % STUDENT_COUNT], DROP_COURSE);
+    }
+
+    static final class NoOpNotificationService implements NotificationService {
+        @Override
+        public void sendEmail(String email, String subject, String message) {
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.siakad.benchmark;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.service.GradeCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark perhitungan IPK, status akademik, dan batas SKS
+ * Data nilai dibangkitkan dengan seed tetap agar hasil bisa direproduksi
+ */
+
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+public class GradeCalculatorBenchmark {
+    private static final double[] GRADE_SCALE = {0.0, 1.0, 2.0, 2.3, 2.7, 3.0, 3.3, 3.7, 4.0};
+    private static final int LOOKUP_SIZE = 1024;
+
+    @State(Scope.Benchmark)
+    public static class GradeList {
+        @Param({"8", "50", "200"})
+        public int gradeCount;
+
+        List<CourseGrade> grades;
+
+        @Setup
+        public void setUp() {
+            Random random = new Random(42);
+            grades = new ArrayList<>(gradeCount);
+            for (int i = 0; i < gradeCount; i++) {
+                grades.add(new CourseGrade("CS" + i, 1 + random.nextInt(4),
+                        GRADE_SCALE[random.nextInt(GRADE_SCALE.length)]));
+            }
+        }
+    }
+
+    private GradeCalculator gradeCalculator;
+    private double[] gpas;
+    private int[] semesters;
+
+    @Setup
+    public void setUp() {
+        gradeCalculator = new GradeCalculator();
+        Random random = new Random(42);
+        gpas = new double[LOOKUP_SIZE];
+        semesters = new int[LOOKUP_SIZE];
+        for (int i = 0; i < LOOKUP_SIZE; i++) {
+            gpas[i] = Math.round(random.nextDouble() * 400) / 100.0;
+            semesters[i] = 1 + random.nextInt(14);
+        }
+    }
+
+    @Benchmark
+    public double calculateGPA(GradeList gradeList) {
+        return gradeCalculator.calculateGPA(gradeList.grades);
+    }
+
+    @Benchmark
+    public void determineAcademicStatus(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUP_SIZE; i++) {
+            blackhole.consume(gradeCalculator.determineAcademicStatus(gpas[i], semesters[i]));
+        }
+    }
+
+    @Benchmark
+    public void calculateMaxCredits(Blackhole blackhole) {
+        for (int i = 0; i < LOOKUP_SIZE; i++) {
+            blackhole.consume(gradeCalculator.calculateMaxCredits(gpas[i]));
+        }
+    }
+}
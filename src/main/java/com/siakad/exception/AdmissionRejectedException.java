@@ -0,0 +1,24 @@
+package com.siakad.exception;
+
+/**
+ * Exception yang dilempar ketika request enrollment ditolak oleh admission control
+ * retryAfterMillis berisi perkiraan waktu tunggu sebelum request boleh dicoba lagi
+ */
+
+public class AdmissionRejectedException extends RuntimeException {
+    private final long retryAfterMillis;
+
+    public AdmissionRejectedException(String message, long retryAfterMillis) {
+        super(message);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public AdmissionRejectedException(String message, long retryAfterMillis, Throwable cause) {
+        super(message, cause);
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    public long getRetryAfterMillis() {
+        return retryAfterMillis;
+    }
+}
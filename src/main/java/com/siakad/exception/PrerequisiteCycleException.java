@@ -0,0 +1,16 @@
+package com.siakad.exception;
+
+/**
+ * Exception yang dilempar ketika rantai prasyarat mata kuliah membentuk siklus
+ */
+
+public class PrerequisiteCycleException extends RuntimeException {
+
+    public PrerequisiteCycleException(String message) {
+        super(message);
+    }
+
+    public PrerequisiteCycleException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
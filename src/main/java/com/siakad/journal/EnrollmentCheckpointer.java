@@ -0,0 +1,110 @@
+package com.siakad.journal;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Membuat snapshot EnrollmentState secara berkala
+ *
+ * Setiap checkpoint menerapkan record journal yang baru ke state, menulis snapshot,
+ * lalu menghapus segment journal yang sudah tercakup snapshot sebelumnya. Journal sejak
+ * snapshot sebelumnya tetap disimpan agar pemulihan masih bisa memakai snapshot tersebut
+ * jika snapshot terbaru rusak. Dengan begitu waktu startup dibatasi oleh ukuran snapshot
+ * ditambah journal sejak checkpoint terakhir.
+ * State hanya boleh diubah lewat checkpointer selama checkpointer berjalan.
+ */
+
+public class EnrollmentCheckpointer implements AutoCloseable {
+    private final EnrollmentJournal journal;
+    private final EnrollmentSnapshotStore snapshotStore;
+    private final EnrollmentState state;
+    private final ScheduledExecutorService scheduler;
+
+    private long snapshotSequence = -1;
+    private long previousSnapshotSequence;
+    private final AtomicLong checkpointCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * @param journal Journal enrollment
+     * @param snapshotStore Penyimpanan snapshot
+     * @param state State hasil EnrollmentSnapshotStore.recover
+     * @param interval Jarak antar checkpoint
+     */
+    public EnrollmentCheckpointer(EnrollmentJournal journal, EnrollmentSnapshotStore snapshotStore,
+                                  EnrollmentState state, Duration interval) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Interval must be positive");
+        }
+        this.journal = journal;
+        this.snapshotStore = snapshotStore;
+        this.state = state;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "enrollment-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(this::scheduledCheckpoint, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Membuat checkpoint sekarang. Jika tidak ada record baru sejak snapshot terakhir,
+     * snapshot tidak ditulis ulang
+     * @return Sequence journal yang tercakup snapshot
+     */
+    public synchronized long checkpoint() {
+        state.catchUp(journal);
+        long sequence = state.getLastSequence();
+        if (sequence != snapshotSequence) {
+            snapshotStore.write(state);
+            previousSnapshotSequence = Math.max(snapshotSequence, 0);
+            snapshotSequence = sequence;
+            checkpointCount.incrementAndGet();
+        }
+        if (previousSnapshotSequence > 0) {
+            journal.deleteSegmentsBefore(previousSnapshotSequence);
+        }
+        return sequence;
+    }
+
+    /**
+     * Menghentikan checkpoint berkala lalu membuat checkpoint terakhir
+     */
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        try {
+            scheduler.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        checkpoint();
+    }
+
+    /**
+     * @return Jumlah snapshot yang sudah ditulis
+     */
+    public long getCheckpointCount() {
+        return checkpointCount.get();
+    }
+
+    /**
+     * @return Jumlah checkpoint berkala yang gagal
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    private void scheduledCheckpoint() {
+        try {
+            checkpoint();
+        } catch (RuntimeException e) {
+            // Checkpoint berikutnya mencoba lagi; journal tetap utuh sampai snapshot berhasil
+            failedCount.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,554 @@
+package com.siakad.journal;
+
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Write-ahead log append-only untuk enrollment dan drop mata kuliah
+ *
+ * Record ditulis ke segment file yang di-memory-map dengan ukuran tetap. Jika segment
+ * penuh, segment ditutup (force) dan segment baru dibuat dengan nama sesuai sequence
+ * record pertamanya. Format setiap record:
+ * <pre>
+ * int length | int crc32(payload) | payload
+ * payload = long sequence | long timestamp | enrollmentId | studentId | courseCode | byte status
+ * string  = short panjang byte UTF-8 (-1 untuk null) | byte UTF-8
+ * </pre>
+ * status berupa EnrollmentStatus#getCode (-1 untuk null).
+ * length 0 menandai akhir data di segment. Record yang CRC-nya tidak cocok (torn write)
+ * dianggap akhir journal.
+ *
+ * Durability memakai group commit: satu flusher thread melakukan force untuk semua
+ * record yang sudah di-append, sehingga banyak writer yang menunggu di awaitDurable
+ * cukup dilayani oleh satu fsync.
+ */
+
+public class EnrollmentJournal implements AutoCloseable {
+    static final int MAGIC = 0x534A4E4C;
+    static final int VERSION = 1;
+    static final int SEGMENT_HEADER_SIZE = 8;
+    static final int RECORD_HEADER_SIZE = 8;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".log";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final Object appendLock = new Object();
+    private final Object durableLock = new Object();
+    private final CRC32 crc = new CRC32();
+    private final Thread flusher;
+
+    // Dijaga oleh appendLock
+    private FileChannel currentChannel;
+    private MappedByteBuffer current;
+    private long nextSequence;
+    private long appendedSequence;
+    private boolean closed;
+
+    // Dijaga oleh durableLock
+    private long durableSequence;
+    private RuntimeException flushFailure;
+
+    /**
+     * Membuka journal di directory, melanjutkan segment terakhir jika sudah ada
+     * @param directory Directory tempat segment file disimpan
+     * @param segmentSize Ukuran setiap segment file dalam byte
+     * @throws UncheckedIOException jika journal tidak bisa dibuka
+     */
+    public EnrollmentJournal(Path directory, int segmentSize) {
+        if (segmentSize < 1024) {
+            throw new IllegalArgumentException("Segment size must be at least 1024 bytes");
+        }
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        try {
+            Files.createDirectories(directory);
+            List<Path> segments = listSegments(directory);
+            if (segments.isEmpty()) {
+                openNewSegment(1L);
+                nextSequence = 1L;
+            } else {
+                resumeSegment(segments.get(segments.size() - 1));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open enrollment journal: " + directory, e);
+        }
+        this.appendedSequence = nextSequence - 1;
+        this.durableSequence = appendedSequence;
+
+        this.flusher = new Thread(this::flushLoop, "enrollment-journal-flusher");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    /**
+     * Menambahkan record enrollment
+     * @param enrollment Enrollment yang dicatat
+     * @return Sequence record
+     */
+    public long append(Enrollment enrollment) {
+        return append(enrollment.getEnrollmentId(), enrollment.getStudentId(), enrollment.getCourseCode(),
+                JournalRecord.toEpochMillis(enrollment.getEnrollmentDate()), enrollment.getStatus());
+    }
+
+    /**
+     * Menambahkan record drop mata kuliah
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @param dropDate Waktu drop
+     * @return Sequence record
+     */
+    public long appendDrop(String studentId, String courseCode, LocalDateTime dropDate) {
+        return append(null, studentId, courseCode, JournalRecord.toEpochMillis(dropDate),
+                EnrollmentStatus.DROPPED);
+    }
+
+    /**
+     * Adapter String untuk append dengan EnrollmentStatus
+     * @return Sequence record
+     * @throws IllegalArgumentException jika status tidak dikenal atau record lebih besar dari segment
+     * @throws IllegalStateException jika journal sudah ditutup
+     */
+    public long append(String enrollmentId, String studentId, String courseCode, long timestamp, String status) {
+        return append(enrollmentId, studentId, courseCode, timestamp, EnrollmentStatus.fromString(status));
+    }
+
+    /**
+     * Menambahkan record ke journal. Record belum tentu durable sampai awaitDurable dipanggil
+     * @return Sequence record
+     * @throws IllegalArgumentException jika record lebih besar dari segment
+     * @throws IllegalStateException jika journal sudah ditutup
+     */
+    public long append(String enrollmentId, String studentId, String courseCode, long timestamp,
+                       EnrollmentStatus status) {
+        byte[] payload = encode(enrollmentId, studentId, courseCode, timestamp, status);
+        if (RECORD_HEADER_SIZE + payload.length > segmentSize - SEGMENT_HEADER_SIZE) {
+            throw new IllegalArgumentException("Journal record larger than segment size");
+        }
+
+        synchronized (appendLock) {
+            if (closed) {
+                throw new IllegalStateException("Enrollment journal is closed");
+            }
+            if (current.position() + RECORD_HEADER_SIZE + payload.length > segmentSize) {
+                rollSegment();
+            }
+
+            long sequence = nextSequence++;
+            ByteBuffer.wrap(payload).putLong(0, sequence);
+            crc.reset();
+            crc.update(payload, 0, payload.length);
+            current.putInt(payload.length);
+            current.putInt((int) crc.getValue());
+            current.put(payload);
+
+            appendedSequence = sequence;
+            appendLock.notifyAll();
+            return sequence;
+        }
+    }
+
+    /**
+     * Menunggu sampai record dengan sequence tertentu sudah di-force ke disk
+     * @param sequence Sequence record
+     * @throws IllegalStateException jika force gagal atau thread diinterupsi
+     */
+    public void awaitDurable(long sequence) {
+        synchronized (durableLock) {
+            while (durableSequence < sequence) {
+                if (flushFailure != null) {
+                    throw new IllegalStateException("Enrollment journal flush failed", flushFailure);
+                }
+                try {
+                    durableLock.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while waiting for journal flush", e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Menambahkan record enrollment lalu menunggu sampai record tersebut durable
+     * @param enrollment Enrollment yang dicatat
+     * @return Sequence record
+     */
+    public long appendDurably(Enrollment enrollment) {
+        long sequence = append(enrollment);
+        awaitDurable(sequence);
+        return sequence;
+    }
+
+    /**
+     * Membaca ulang seluruh record dengan sequence lebih besar dari afterSequence,
+     * segment yang seluruh isinya lebih lama dilewati tanpa dibaca
+     *
+     * @param afterSequence Sequence terakhir yang sudah diterapkan (0 untuk membaca semuanya)
+     * @param consumer Penerima record dalam urutan sequence
+     * @throws UncheckedIOException jika segment tidak bisa dibaca
+     */
+    public void replay(long afterSequence, Consumer<JournalRecord> consumer) {
+        try {
+            List<Path> segments = listSegments(directory);
+            for (int i = 0; i < segments.size(); i++) {
+                if (i + 1 < segments.size() && firstSequenceOf(segments.get(i + 1)) <= afterSequence + 1) {
+                    continue;
+                }
+                readSegment(segments.get(i), record -> {
+                    if (record.getSequence() > afterSequence) {
+                        consumer.accept(record);
+                    }
+                });
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to replay enrollment journal: " + directory, e);
+        }
+    }
+
+    /**
+     * @return Sequence record terakhir yang sudah di-append
+     */
+    public long getLastSequence() {
+        synchronized (appendLock) {
+            return appendedSequence;
+        }
+    }
+
+    /**
+     * @return Sequence record terakhir yang sudah dipastikan tersimpan di disk
+     */
+    public long getDurableSequence() {
+        synchronized (durableLock) {
+            return durableSequence;
+        }
+    }
+
+    /**
+     * @return Jumlah segment file di directory journal
+     */
+    public int getSegmentCount() {
+        try {
+            return listSegments(directory).size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Menghapus segment yang seluruh record-nya memiliki sequence tidak lebih dari sequence,
+     * dipanggil setelah snapshot sampai sequence tersebut tersimpan. Segment aktif tidak pernah dihapus
+     * @param sequence Sequence terakhir yang sudah tercakup snapshot
+     * @return Jumlah segment yang dihapus
+     * @throws UncheckedIOException jika segment tidak bisa dihapus
+     */
+    public int deleteSegmentsBefore(long sequence) {
+        try {
+            List<Path> segments = listSegments(directory);
+            int deleted = 0;
+            for (int i = 0; i + 1 < segments.size(); i++) {
+                if (firstSequenceOf(segments.get(i + 1)) > sequence + 1) {
+                    break;
+                }
+                Files.delete(segments.get(i));
+                deleted++;
+            }
+            return deleted;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to delete enrollment journal segments", e);
+        }
+    }
+
+    /**
+     * Menghentikan flusher, melakukan force terakhir, lalu menutup segment aktif
+     */
+    @Override
+    public void close() {
+        synchronized (appendLock) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            appendLock.notifyAll();
+        }
+        try {
+            flusher.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (appendLock) {
+            current.force();
+            try {
+                currentChannel.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to close enrollment journal", e);
+            }
+        }
+        markDurable(appendedSequence);
+    }
+
+    private void flushLoop() {
+        while (true) {
+            MappedByteBuffer toForce;
+            long target;
+            synchronized (appendLock) {
+                while (!closed && appendedSequence == durableSequenceSnapshot()) {
+                    try {
+                        appendLock.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                target = appendedSequence;
+                if (closed && target == durableSequenceSnapshot()) {
+                    return;
+                }
+                toForce = current;
+            }
+
+            try {
+                toForce.force();
+                markDurable(target);
+            } catch (RuntimeException e) {
+                synchronized (durableLock) {
+                    flushFailure = e;
+                    durableLock.notifyAll();
+                }
+                return;
+            }
+        }
+    }
+
+    private long durableSequenceSnapshot() {
+        synchronized (durableLock) {
+            return durableSequence;
+        }
+    }
+
+    private void markDurable(long sequence) {
+        synchronized (durableLock) {
+            if (sequence > durableSequence) {
+                durableSequence = sequence;
+            }
+            durableLock.notifyAll();
+        }
+    }
+
+    /**
+     * Dipanggil dengan appendLock. Segment lama di-force dulu sehingga seluruh
+     * record di dalamnya sudah durable sebelum segment baru dipakai
+     */
+    private void rollSegment() {
+        current.force();
+        markDurable(appendedSequence);
+        try {
+            currentChannel.close();
+            openNewSegment(nextSequence);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to roll enrollment journal segment", e);
+        }
+    }
+
+    private void openNewSegment(long firstSequence) throws IOException {
+        Path path = directory.resolve(segmentName(firstSequence));
+        currentChannel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        current = currentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        current.putInt(MAGIC);
+        current.putInt(VERSION);
+        // Header di-force sebelum segment dipakai agar crash setelah roll tidak meninggalkan
+        // segment berukuran penuh tanpa header
+        current.force();
+    }
+
+    private void resumeSegment(Path path) throws IOException {
+        if (!hasHeader(path)) {
+            // Crash setelah segment dibuat tetapi sebelum header tersimpan: segment belum
+            // berisi record, jadi dibuat ulang dengan sequence pertama yang sama
+            nextSequence = firstSequenceOf(path);
+            Files.delete(path);
+            openNewSegment(nextSequence);
+            return;
+        }
+
+        long fileSize = Files.size(path);
+        if (fileSize != segmentSize) {
+            // Segment dibuat dengan ukuran lain: hanya dibaca, record berikutnya ditulis ke
+            // segment baru dengan ukuran sekarang
+            long[] lastSequence = {firstSequenceOf(path) - 1};
+            readSegment(path, record -> lastSequence[0] = record.getSequence());
+            nextSequence = lastSequence[0] + 1;
+            if (nextSequence == firstSequenceOf(path)) {
+                // Segment tanpa record diganti agar nama segment baru tidak bentrok
+                Files.delete(path);
+            }
+            openNewSegment(nextSequence);
+            return;
+        }
+
+        currentChannel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        current = currentChannel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        long[] lastSequence = {firstSequenceOf(path) - 1};
+        int end = scanRecords(current, record -> lastSequence[0] = record.getSequence(), path);
+        nextSequence = lastSequence[0] + 1;
+
+        // Sisa torn write dibersihkan agar tidak terbaca sebagai record saat replay
+        for (int i = end; i < segmentSize; i++) {
+            current.put(i, (byte) 0);
+        }
+        current.position(end);
+    }
+
+    /**
+     * @return false jika file lebih pendek dari header atau header-nya masih nol
+     */
+    private static boolean hasHeader(Path path) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            while (header.hasRemaining() && channel.read(header) >= 0) {
+                // baca sampai header lengkap atau akhir file
+            }
+        }
+        return !header.hasRemaining() && header.getLong(0) != 0L;
+    }
+
+    private static void readSegment(Path path, Consumer<JournalRecord> consumer) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            scanRecords(buffer, consumer, path);
+        }
+    }
+
+    /**
+     * @return Posisi byte setelah record valid terakhir
+     */
+    private static int scanRecords(ByteBuffer buffer, Consumer<JournalRecord> consumer, Path path) {
+        if (buffer.limit() < SEGMENT_HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IllegalStateException("Not an enrollment journal segment: " + path);
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IllegalStateException("Unsupported journal version in " + path);
+        }
+
+        CRC32 checksum = new CRC32();
+        int position = SEGMENT_HEADER_SIZE;
+        while (position + RECORD_HEADER_SIZE <= buffer.limit()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + RECORD_HEADER_SIZE + length > buffer.limit()) {
+                break;
+            }
+            ByteBuffer payload = buffer.duplicate();
+            payload.position(position + RECORD_HEADER_SIZE).limit(position + RECORD_HEADER_SIZE + length);
+            checksum.reset();
+            checksum.update(payload.duplicate());
+            if ((int) checksum.getValue() != buffer.getInt(position + 4)) {
+                break;
+            }
+            consumer.accept(decode(payload));
+            position += RECORD_HEADER_SIZE + length;
+        }
+        return position;
+    }
+
+    private static byte[] encode(String enrollmentId, String studentId, String courseCode,
+                                 long timestamp, EnrollmentStatus status) {
+        byte[][] strings = {utf8(enrollmentId), utf8(studentId), utf8(courseCode)};
+        int size = Long.BYTES * 2 + 1;
+        for (byte[] value : strings) {
+            size += Short.BYTES + (value == null ? 0 : value.length);
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putLong(0L); // sequence diisi saat append
+        buffer.putLong(timestamp);
+        for (byte[] value : strings) {
+            if (value == null) {
+                buffer.putShort((short) -1);
+            } else {
+                buffer.putShort((short) value.length);
+                buffer.put(value);
+            }
+        }
+        buffer.put(statusCode(status));
+        return buffer.array();
+    }
+
+    private static JournalRecord decode(ByteBuffer payload) {
+        long sequence = payload.getLong();
+        long timestamp = payload.getLong();
+        String enrollmentId = readString(payload);
+        String studentId = readString(payload);
+        String courseCode = readString(payload);
+        return new JournalRecord(sequence, enrollmentId, studentId, courseCode, timestamp,
+                readStatus(payload));
+    }
+
+    static byte statusCode(EnrollmentStatus status) {
+        return status == null ? -1 : status.getCode();
+    }
+
+    static EnrollmentStatus readStatus(ByteBuffer buffer) {
+        byte code = buffer.get();
+        return code < 0 ? null : EnrollmentStatus.fromCode(code);
+    }
+
+    static byte[] utf8(String value) {
+        if (value == null) {
+            return null;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("Journal field too long");
+        }
+        return bytes;
+    }
+
+    static String readString(ByteBuffer buffer) {
+        short length = buffer.getShort();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    static List<Path> listSegments(Path directory) throws IOException {
+        List<Path> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX);
+            }).forEach(segments::add);
+        }
+        // Nama segment memakai sequence dengan zero padding sehingga urutan nama = urutan sequence
+        Collections.sort(segments);
+        return segments;
+    }
+
+    static long firstSequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    private static String segmentName(long firstSequence) {
+        return String.format("%s%020d%s", SEGMENT_PREFIX, firstSequence, SEGMENT_SUFFIX);
+    }
+}
@@ -0,0 +1,237 @@
+package com.siakad.journal;
+
+import com.siakad.model.Course;
+import com.siakad.model.EnrollmentStatus;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Penyimpanan snapshot biner EnrollmentState
+ *
+ * Format snapshot:
+ * <pre>
+ * int magic | int version | long lastSequence | int courseCount | int enrollmentCount
+ * course     = string courseCode | int enrolledCount
+ * enrollment = long sequence | long timestamp | enrollmentId | studentId | courseCode | byte status
+ * int crc32 (seluruh byte sebelumnya)
+ * </pre>
+ * String dan status memakai encoding yang sama dengan EnrollmentJournal. Snapshot ditulis
+ * ke file sementara lalu di-rename atomik, dan dibaca dengan memory-map. Snapshot yang
+ * rusak dilewati dan snapshot sebelumnya dipakai.
+ */
+
+public class EnrollmentSnapshotStore {
+    static final int MAGIC = 0x534E4150;
+    static final int VERSION = 1;
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+
+    private final Path directory;
+    private final int retained;
+
+    /**
+     * @param directory Directory tempat snapshot disimpan
+     * @param retained Jumlah snapshot terbaru yang disimpan, minimal 1
+     */
+    public EnrollmentSnapshotStore(Path directory, int retained) {
+        if (retained < 1) {
+            throw new IllegalArgumentException("Retained snapshot count must be positive");
+        }
+        this.directory = directory;
+        this.retained = retained;
+    }
+
+    /**
+     * Menulis snapshot state, lalu menghapus snapshot lama di luar jumlah yang disimpan
+     * @param state State enrollment
+     * @return Path snapshot yang ditulis
+     * @throws UncheckedIOException jika snapshot gagal ditulis
+     */
+    public Path write(EnrollmentState state) {
+        try {
+            Files.createDirectories(directory);
+            Path target = directory.resolve(snapshotName(state.getLastSequence()));
+            Path temp = directory.resolve(target.getFileName() + ".tmp");
+
+            CRC32 checksum = new CRC32();
+            try (OutputStream file = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                         new BufferedOutputStream(file, 1 << 16), checksum))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(state.getLastSequence());
+                out.writeInt(state.getCourseCount());
+                out.writeInt(state.getEnrollmentCount());
+                for (Map.Entry<String, Integer> entry : state.enrolledCounts().entrySet()) {
+                    writeString(out, entry.getKey());
+                    out.writeInt(entry.getValue());
+                }
+                for (Map<String, JournalRecord> courses : state.enrollments()) {
+                    for (JournalRecord record : courses.values()) {
+                        out.writeLong(record.getSequence());
+                        out.writeLong(record.getTimestamp());
+                        writeString(out, record.getEnrollmentId());
+                        writeString(out, record.getStudentId());
+                        writeString(out, record.getCourseCode());
+                        out.writeByte(EnrollmentJournal.statusCode(record.getStatus()));
+                    }
+                }
+                // Nilai CRC diambil sebelum ditulis sehingga CRC tidak menghitung dirinya sendiri
+                out.writeInt((int) checksum.getValue());
+            }
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                channel.force(true);
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+
+            List<Path> snapshots = listSnapshots();
+            for (int i = 0; i < snapshots.size() - retained; i++) {
+                Files.deleteIfExists(snapshots.get(i));
+            }
+            return target;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write enrollment snapshot", e);
+        }
+    }
+
+    /**
+     * Memuat snapshot valid terbaru
+     * @return State dari snapshot, atau null jika belum ada snapshot yang valid
+     * @throws UncheckedIOException jika directory snapshot tidak bisa dibaca
+     */
+    public EnrollmentState loadLatest() {
+        try {
+            List<Path> snapshots = listSnapshots();
+            for (int i = snapshots.size() - 1; i >= 0; i--) {
+                EnrollmentState state = read(snapshots.get(i));
+                if (state != null) {
+                    return state;
+                }
+            }
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load enrollment snapshot", e);
+        }
+    }
+
+    /**
+     * Membangun ulang state saat startup: snapshot terbaru dimuat, mata kuliah katalog yang
+     * belum tercatat di snapshot diisi dengan enrolledCount awalnya, lalu hanya record journal
+     * setelah snapshot yang diterapkan
+     * @param journal Journal enrollment
+     * @param catalog Mata kuliah dengan enrolledCount sebelum journal pertama dipakai
+     * @return State enrollment terbaru
+     */
+    public EnrollmentState recover(EnrollmentJournal journal, Iterable<Course> catalog) {
+        EnrollmentState state = loadLatest();
+        if (state == null) {
+            state = new EnrollmentState();
+        }
+        state.seedCourses(catalog);
+        state.catchUp(journal);
+        return state;
+    }
+
+    /**
+     * @return Jumlah snapshot di directory
+     */
+    public int getSnapshotCount() {
+        try {
+            return listSnapshots().size();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * @return State dari snapshot, atau null jika snapshot rusak
+     */
+    private static EnrollmentState read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < 28 || size > Integer.MAX_VALUE) {
+                return null;
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int bodySize = (int) size - Integer.BYTES;
+
+            CRC32 checksum = new CRC32();
+            ByteBuffer body = buffer.duplicate();
+            body.limit(bodySize);
+            checksum.update(body);
+            if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION
+                    || (int) checksum.getValue() != buffer.getInt(bodySize)) {
+                return null;
+            }
+
+            buffer.position(8);
+            EnrollmentState state = new EnrollmentState();
+            long lastSequence = buffer.getLong();
+            int courseCount = buffer.getInt();
+            int enrollmentCount = buffer.getInt();
+            for (int i = 0; i < courseCount; i++) {
+                String courseCode = EnrollmentJournal.readString(buffer);
+                state.setEnrolledCount(courseCode, buffer.getInt());
+            }
+            for (int i = 0; i < enrollmentCount; i++) {
+                long sequence = buffer.getLong();
+                long timestamp = buffer.getLong();
+                String enrollmentId = EnrollmentJournal.readString(buffer);
+                String studentId = EnrollmentJournal.readString(buffer);
+                String courseCode = EnrollmentJournal.readString(buffer);
+                EnrollmentStatus status = EnrollmentJournal.readStatus(buffer);
+                state.restoreEnrollment(new JournalRecord(sequence, enrollmentId, studentId,
+                        courseCode, timestamp, status));
+            }
+            state.setLastSequence(lastSequence);
+            return state;
+        }
+    }
+
+    private static void writeString(DataOutputStream out, String value) throws IOException {
+        byte[] bytes = EnrollmentJournal.utf8(value);
+        if (bytes == null) {
+            out.writeShort(-1);
+        } else {
+            out.writeShort(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        List<Path> snapshots = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return snapshots;
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(path -> {
+                String name = path.getFileName().toString();
+                return name.startsWith(SNAPSHOT_PREFIX) && name.endsWith(SNAPSHOT_SUFFIX);
+            }).forEach(snapshots::add);
+        }
+        Collections.sort(snapshots);
+        return snapshots;
+    }
+
+    private static String snapshotName(long lastSequence) {
+        return String.format("%s%020d%s", SNAPSHOT_PREFIX, lastSequence, SNAPSHOT_SUFFIX);
+    }
+}
@@ -0,0 +1,205 @@
+package com.siakad.journal;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
+import com.siakad.repository.CourseRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * State enrollment yang dibangun ulang dari snapshot dan journal
+ *
+ * Berisi enrolledCount per mata kuliah, enrollment per mahasiswa, dan sequence journal
+ * terakhir yang sudah diterapkan. Record APPROVED menambah kursi terisi, record DROPPED
+ * melepasnya (tidak pernah di bawah 0) kecuali yang di-drop bukan enrollment APPROVED.
+ * Status lain (misalnya WAITLISTED) hanya dicatat di enrollment mahasiswa dan tidak
+ * menimpa enrollment APPROVED.
+ * Class ini tidak thread-safe.
+ */
+
+public class EnrollmentState {
+    private final Map<String, Integer> enrolledCounts = new LinkedHashMap<>();
+    private final Map<String, Map<String, JournalRecord>> enrollmentsByStudent = new LinkedHashMap<>();
+    private long lastSequence;
+
+    /**
+     * Mengisi enrolledCount awal dari data mata kuliah yang sudah ada sebelum journal dipakai.
+     * Mata kuliah yang sudah tercatat di state tidak diubah
+     * @param courses Mata kuliah
+     */
+    public void seedCourses(Iterable<Course> courses) {
+        for (Course course : courses) {
+            enrolledCounts.putIfAbsent(course.getCourseCode(), course.getEnrolledCount());
+        }
+    }
+
+    /**
+     * Menerapkan satu record journal. Record yang sequence-nya sudah diterapkan dilewati
+     * @param record Record journal
+     */
+    public void apply(JournalRecord record) {
+        if (record.getSequence() <= lastSequence) {
+            return;
+        }
+        lastSequence = record.getSequence();
+
+        Map<String, JournalRecord> courses = enrollmentsByStudent.get(record.getStudentId());
+        JournalRecord existing = courses == null ? null : courses.get(record.getCourseCode());
+        if (record.getStatus() == EnrollmentStatus.DROPPED) {
+            if (courses != null) {
+                courses.remove(record.getCourseCode());
+                if (courses.isEmpty()) {
+                    enrollmentsByStudent.remove(record.getStudentId());
+                }
+            }
+            // Enrollment yang tidak ada di state berasal dari data awal katalog, kursinya tetap dilepas
+            if (existing == null || existing.getStatus() == EnrollmentStatus.APPROVED) {
+                enrolledCounts.merge(record.getCourseCode(), 0, (count, zero) -> Math.max(0, count - 1));
+            }
+            return;
+        }
+
+        boolean approved = record.getStatus() == EnrollmentStatus.APPROVED;
+        if (existing != null && existing.getStatus() == EnrollmentStatus.APPROVED) {
+            if (approved) {
+                courses.put(record.getCourseCode(), record);
+            }
+            return;
+        }
+        enrollmentsByStudent.computeIfAbsent(record.getStudentId(), id -> new LinkedHashMap<>())
+                .put(record.getCourseCode(), record);
+        if (approved) {
+            enrolledCounts.merge(record.getCourseCode(), 1, Integer::sum);
+        }
+    }
+
+    /**
+     * Menerapkan seluruh record journal setelah sequence terakhir state ini
+     * @param journal Journal enrollment
+     * @return Jumlah record yang diterapkan
+     */
+    public int catchUp(EnrollmentJournal journal) {
+        int[] applied = {0};
+        journal.replay(lastSequence, record -> {
+            apply(record);
+            applied[0]++;
+        });
+        return applied[0];
+    }
+
+    /**
+     * Menulis enrolledCount hasil pemulihan ke repository dalam satu updateAll
+     * @param courseRepository Repository mata kuliah
+     * @return Jumlah mata kuliah yang diperbarui
+     */
+    public int restoreTo(CourseRepository courseRepository) {
+        Map<String, Course> courses = courseRepository.findAllByCourseCodes(enrolledCounts.keySet());
+        List<Course> changed = new ArrayList<>();
+        for (Course course : courses.values()) {
+            int count = enrolledCounts.get(course.getCourseCode());
+            if (course.getEnrolledCount() != count) {
+                course.setEnrolledCount(count);
+                changed.add(course);
+            }
+        }
+        if (!changed.isEmpty()) {
+            courseRepository.updateAll(changed);
+        }
+        return changed.size();
+    }
+
+    /**
+     * @return enrolledCount mata kuliah, atau -1 jika mata kuliah belum tercatat
+     */
+    public int getEnrolledCount(String courseCode) {
+        Integer count = enrolledCounts.get(courseCode);
+        return count == null ? -1 : count;
+    }
+
+    /**
+     * @return Kode mata kuliah yang sedang diambil mahasiswa (hanya enrollment APPROVED;
+     *         record REJECTED atau WAITLISTED tidak dihitung sebagai mata kuliah yang diambil)
+     */
+    public Set<String> getEnrolledCourses(String studentId) {
+        Map<String, JournalRecord> courses = enrollmentsByStudent.get(studentId);
+        if (courses == null) {
+            return Collections.emptySet();
+        }
+        Set<String> enrolled = new LinkedHashSet<>();
+        for (JournalRecord record : courses.values()) {
+            if (record.getStatus() == EnrollmentStatus.APPROVED) {
+                enrolled.add(record.getCourseCode());
+            }
+        }
+        return Collections.unmodifiableSet(enrolled);
+    }
+
+    /**
+     * @return ID mahasiswa yang punya enrollment tercatat, dalam urutan pencatatan
+     */
+    public Set<String> getStudentIds() {
+        return Collections.unmodifiableSet(enrollmentsByStudent.keySet());
+    }
+
+    /**
+     * @return Enrollment mahasiswa dalam urutan pencatatan
+     */
+    public List<Enrollment> getEnrollments(String studentId) {
+        Map<String, JournalRecord> courses = enrollmentsByStudent.get(studentId);
+        if (courses == null) {
+            return Collections.emptyList();
+        }
+        List<Enrollment> enrollments = new ArrayList<>(courses.size());
+        for (JournalRecord record : courses.values()) {
+            enrollments.add(record.toEnrollment());
+        }
+        return enrollments;
+    }
+
+    /**
+     * @return Sequence journal terakhir yang sudah diterapkan
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public int getCourseCount() {
+        return enrolledCounts.size();
+    }
+
+    public int getEnrollmentCount() {
+        int total = 0;
+        for (Map<String, JournalRecord> courses : enrollmentsByStudent.values()) {
+            total += courses.size();
+        }
+        return total;
+    }
+
+    Map<String, Integer> enrolledCounts() {
+        return enrolledCounts;
+    }
+
+    Iterable<Map<String, JournalRecord>> enrollments() {
+        return enrollmentsByStudent.values();
+    }
+
+    void setEnrolledCount(String courseCode, int count) {
+        enrolledCounts.put(courseCode, count);
+    }
+
+    void restoreEnrollment(JournalRecord record) {
+        enrollmentsByStudent.computeIfAbsent(record.getStudentId(), id -> new LinkedHashMap<>())
+                .put(record.getCourseCode(), record);
+    }
+
+    void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+}
@@ -0,0 +1,92 @@
+package com.siakad.journal;
+
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Satu record di EnrollmentJournal (enrollment atau drop mata kuliah)
+ * Waktu disimpan sebagai epoch millis dengan menganggap enrollmentDate dalam UTC
+ */
+
+public final class JournalRecord {
+    private final long sequence;
+    private final String enrollmentId;
+    private final String studentId;
+    private final String courseCode;
+    private final long timestamp;
+    private final EnrollmentStatus status;
+
+    public JournalRecord(long sequence, String enrollmentId, String studentId, String courseCode,
+                         long timestamp, String status) {
+        this(sequence, enrollmentId, studentId, courseCode, timestamp, EnrollmentStatus.fromString(status));
+    }
+
+    public JournalRecord(long sequence, String enrollmentId, String studentId, String courseCode,
+                         long timestamp, EnrollmentStatus status) {
+        this.sequence = sequence;
+        this.enrollmentId = enrollmentId;
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+        this.timestamp = timestamp;
+        this.status = status;
+    }
+
+    /**
+     * @return Nomor urut record di journal, dimulai dari 1 dan selalu naik
+     */
+    public long getSequence() {
+        return sequence;
+    }
+
+    public String getEnrollmentId() {
+        return enrollmentId;
+    }
+
+    public String getStudentId() {
+        return studentId;
+    }
+
+    public String getCourseCode() {
+        return courseCode;
+    }
+
+    /**
+     * @return Waktu enrollment dalam epoch millis
+     */
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    public EnrollmentStatus getStatus() {
+        return status;
+    }
+
+    /**
+     * @return Nama status (adapter String untuk getStatus), atau null
+     * @deprecated gunakan {@link #getStatus()}
+     */
+    @Deprecated
+    public String getStatusName() {
+        return status == null ? null : status.name();
+    }
+
+    /**
+     * Mengubah record kembali menjadi Enrollment
+     * @return Enrollment dengan data dari record ini
+     */
+    public Enrollment toEnrollment() {
+        return new Enrollment(enrollmentId, studentId, courseCode, toDateTime(timestamp), status);
+    }
+
+    static long toEpochMillis(LocalDateTime dateTime) {
+        return dateTime == null ? 0L : dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime toDateTime(long epochMillis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(epochMillis, 1000L),
+                (int) Math.floorMod(epochMillis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+}
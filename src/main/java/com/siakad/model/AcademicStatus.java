@@ -0,0 +1,80 @@
+package com.siakad.model;
+
+/**
+ * Status akademik mahasiswa
+ *
+ * Pengecekan status cukup berupa perbandingan referensi. Setiap status punya kode
+ * satu byte yang tetap (tidak bergantung urutan deklarasi) untuk penyimpanan biner,
+ * dan bit (1 << kode) untuk menyaring banyak status sekaligus.
+ */
+
+public enum AcademicStatus {
+    ACTIVE(0),
+    PROBATION(1),
+    SUSPENDED(2),
+    INACTIVE(3);
+
+    private static final AcademicStatus[] BY_CODE = new AcademicStatus[values().length];
+
+    static {
+        for (AcademicStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+    }
+
+    private final byte code;
+
+    AcademicStatus(int code) {
+        this.code = (byte) code;
+    }
+
+    /**
+     * @return Kode satu byte untuk penyimpanan biner
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * @return Bit status ini, untuk digabung menjadi mask dengan operator |
+     */
+    public int mask() {
+        return 1 << code;
+    }
+
+    /**
+     * @param code Kode dari getCode
+     * @return Status dengan kode tersebut
+     * @throws IllegalArgumentException jika kode tidak dikenal
+     */
+    public static AcademicStatus fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown academic status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Adapter untuk kode lama yang masih memakai String
+     * @param value Nama status, misalnya "SUSPENDED"
+     * @return Status, atau null jika value null
+     * @throws IllegalArgumentException jika nama status tidak dikenal
+     */
+    public static AcademicStatus fromString(String value) {
+        if (value == null) {
+            return null;
+        }
+        switch (value) {
+            case "ACTIVE":
+                return ACTIVE;
+            case "PROBATION":
+                return PROBATION;
+            case "SUSPENDED":
+                return SUSPENDED;
+            case "INACTIVE":
+                return INACTIVE;
+            default:
+                throw new IllegalArgumentException("Unknown academic status: " + value);
+        }
+    }
+}
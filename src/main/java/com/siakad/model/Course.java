@@ -15,6 +15,7 @@ public class Course {
     private int enrolledCount;
     private String lecturer;
     private List<String> prerequisites; // Mata kuliah prasyarat
+    private long version; // Dinaikkan setiap kali data disimpan ke repository
 
     public Course() {
         this.prerequisites = new ArrayList<>();
@@ -31,6 +32,22 @@ public class Course {
         this.prerequisites = new ArrayList<>();
     }
 
+    /**
+     * Copy constructor, daftar prasyarat ikut disalin
+     * @param other Course yang disalin
+     */
+    public Course(Course other) {
+        this.courseCode = other.courseCode;
+        this.courseName = other.courseName;
+        this.credits = other.credits;
+        this.capacity = other.capacity;
+        this.enrolledCount = other.enrolledCount;
+        this.lecturer = other.lecturer;
+        this.prerequisites = other.prerequisites == null
+                ? new ArrayList<>() : new ArrayList<>(other.prerequisites);
+        this.version = other.version;
+    }
+
     // Getters and Setters
     public String getCourseCode() {
         return courseCode;
@@ -88,6 +105,17 @@ public class Course {
         this.prerequisites = prerequisites;
     }
 
+    /**
+     * @return Versi data saat mata kuliah dibaca dari repository
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public void addPrerequisite(String courseCode) {
         if (this.prerequisites == null) {
             this.prerequisites = new ArrayList<>();
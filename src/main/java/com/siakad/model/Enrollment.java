@@ -7,26 +7,50 @@ import java.time.LocalDateTime;
  */
 
 public class Enrollment {
+    static final String ID_PREFIX = "ENR-";
+
     private String enrollmentId;
+    private long enrollmentNumber;
     private String studentId;
     private String courseCode;
     private LocalDateTime enrollmentDate;
-    private String status; // PENDING, APPROVED, REJECTED
+    private EnrollmentStatus status;
 
     public Enrollment() {
     }
 
+    /**
+     * Adapter String untuk konstruktor dengan EnrollmentStatus
+     * @throws IllegalArgumentException jika nama status tidak dikenal
+     */
     public Enrollment(String enrollmentId, String studentId, String courseCode,
                       LocalDateTime enrollmentDate, String status) {
         this.enrollmentId = enrollmentId;
         this.studentId = studentId;
         this.courseCode = courseCode;
         this.enrollmentDate = enrollmentDate;
+        this.status = EnrollmentStatus.fromString(status);
+    }
+
+    public Enrollment(String enrollmentId, String studentId, String courseCode,
+                      LocalDateTime enrollmentDate, EnrollmentStatus status) {
+        this.enrollmentId = enrollmentId;
+        this.studentId = studentId;
+        this.courseCode = courseCode;
+        this.enrollmentDate = enrollmentDate;
         this.status = status;
     }
 
     // Getters and Setters
+
+    /**
+     * @return ID enrollment; jika hanya enrollmentNumber yang diisi, ID berbentuk "ENR-" + nomor
+     * dan baru dibuat saat pertama kali diminta
+     */
     public String getEnrollmentId() {
+        if (enrollmentId == null && enrollmentNumber != 0) {
+            enrollmentId = ID_PREFIX + enrollmentNumber;
+        }
         return enrollmentId;
     }
 
@@ -34,6 +58,22 @@ public class Enrollment {
         this.enrollmentId = enrollmentId;
     }
 
+    /**
+     * @return Nomor enrollment dari EnrollmentIdGenerator, 0 jika tidak diisi
+     */
+    public long getEnrollmentNumber() {
+        return enrollmentNumber;
+    }
+
+    /**
+     * Mengisi nomor enrollment; ID string dibuat ulang dari nomor ini saat dibutuhkan
+     * @param enrollmentNumber Nomor enrollment
+     */
+    public void setEnrollmentNumber(long enrollmentNumber) {
+        this.enrollmentNumber = enrollmentNumber;
+        this.enrollmentId = null;
+    }
+
     public String getStudentId() {
         return studentId;
     }
@@ -58,11 +98,30 @@ public class Enrollment {
         this.enrollmentDate = enrollmentDate;
     }
 
-    public String getStatus() {
+    public EnrollmentStatus getStatus() {
         return status;
     }
 
-    public void setStatus(String status) {
+    public void setStatus(EnrollmentStatus status) {
         this.status = status;
     }
+
+    /**
+     * @return Nama status (adapter String untuk getStatus), atau null
+     * @deprecated gunakan {@link #getStatus()}
+     */
+    @Deprecated
+    public String getStatusName() {
+        return status == null ? null : status.name();
+    }
+
+    /**
+     * @param status Nama status (adapter String untuk setStatus dengan EnrollmentStatus)
+     * @throws IllegalArgumentException jika nama status tidak dikenal
+     * @deprecated gunakan {@link #setStatus(EnrollmentStatus)}
+     */
+    @Deprecated
+    public void setStatus(String status) {
+        this.status = EnrollmentStatus.fromString(status);
+    }
 }
\ No newline at end of file
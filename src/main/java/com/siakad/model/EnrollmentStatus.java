@@ -0,0 +1,82 @@
+package com.siakad.model;
+
+/**
+ * Status enrollment mata kuliah
+ *
+ * Sama seperti AcademicStatus, setiap status punya kode satu byte yang tetap untuk
+ * journal dan snapshot, serta bit (1 << kode) untuk menyaring banyak status sekaligus.
+ */
+
+public enum EnrollmentStatus {
+    PENDING(0),
+    APPROVED(1),
+    REJECTED(2),
+    WAITLISTED(3),
+    DROPPED(4);
+
+    private static final EnrollmentStatus[] BY_CODE = new EnrollmentStatus[values().length];
+
+    static {
+        for (EnrollmentStatus status : values()) {
+            BY_CODE[status.code] = status;
+        }
+    }
+
+    private final byte code;
+
+    EnrollmentStatus(int code) {
+        this.code = (byte) code;
+    }
+
+    /**
+     * @return Kode satu byte untuk penyimpanan biner
+     */
+    public byte getCode() {
+        return code;
+    }
+
+    /**
+     * @return Bit status ini, untuk digabung menjadi mask dengan operator |
+     */
+    public int mask() {
+        return 1 << code;
+    }
+
+    /**
+     * @param code Kode dari getCode
+     * @return Status dengan kode tersebut
+     * @throws IllegalArgumentException jika kode tidak dikenal
+     */
+    public static EnrollmentStatus fromCode(byte code) {
+        if (code < 0 || code >= BY_CODE.length) {
+            throw new IllegalArgumentException("Unknown enrollment status code: " + code);
+        }
+        return BY_CODE[code];
+    }
+
+    /**
+     * Adapter untuk kode lama yang masih memakai String
+     * @param value Nama status, misalnya "APPROVED"
+     * @return Status, atau null jika value null
+     * @throws IllegalArgumentException jika nama status tidak dikenal
+     */
+    public static EnrollmentStatus fromString(String value) {
+        if (value == null) {
+            return null;
+        }
+        switch (value) {
+            case "PENDING":
+                return PENDING;
+            case "APPROVED":
+                return APPROVED;
+            case "REJECTED":
+                return REJECTED;
+            case "WAITLISTED":
+                return WAITLISTED;
+            case "DROPPED":
+                return DROPPED;
+            default:
+                throw new IllegalArgumentException("Unknown enrollment status: " + value);
+        }
+    }
+}
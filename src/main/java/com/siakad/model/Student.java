@@ -7,9 +7,13 @@ public class Student {
     private String major;
     private int semester;
     private double gpa; // IPK
-    private String academicStatus; // ACTIVE, PROBATION, SUSPENDED
+    private AcademicStatus academicStatus;
     public Student() {
     }
+    /**
+     * Adapter String untuk konstruktor dengan AcademicStatus
+     * @throws IllegalArgumentException jika nama status akademik tidak dikenal
+     */
     public Student(String studentId, String name, String email, String major,
                    int semester, double gpa, String academicStatus) {
         this.studentId = studentId;
@@ -18,6 +22,16 @@ public class Student {
         this.major = major;
         this.semester = semester;
         this.gpa = gpa;
+        this.academicStatus = AcademicStatus.fromString(academicStatus);
+    }
+    public Student(String studentId, String name, String email, String major,
+                   int semester, double gpa, AcademicStatus academicStatus) {
+        this.studentId = studentId;
+        this.name = name;
+        this.email = email;
+        this.major = major;
+        this.semester = semester;
+        this.gpa = gpa;
         this.academicStatus = academicStatus;
     }
     // Getters and Setters
@@ -57,10 +71,27 @@ public class Student {
     public void setGpa(double gpa) {
         this.gpa = gpa;
     }
-    public String getAcademicStatus() {
+    public AcademicStatus getStatus() {
         return academicStatus;
     }
-    public void setAcademicStatus(String academicStatus) {
+    public void setStatus(AcademicStatus academicStatus) {
         this.academicStatus = academicStatus;
     }
+    /**
+     * @return Nama status akademik (adapter String untuk getStatus), atau null
+     * @deprecated gunakan {@link #getStatus()}
+     */
+    @Deprecated
+    public String getAcademicStatus() {
+        return academicStatus == null ? null : academicStatus.name();
+    }
+    /**
+     * @param academicStatus Nama status akademik (adapter String untuk setStatus)
+     * @throws IllegalArgumentException jika nama status tidak dikenal
+     * @deprecated gunakan {@link #setStatus(AcademicStatus)}
+     */
+    @Deprecated
+    public void setAcademicStatus(String academicStatus) {
+        this.academicStatus = AcademicStatus.fromString(academicStatus);
+    }
 }
@@ -0,0 +1,260 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Decorator CourseRepository dengan cache read-through di memori
+ * Cache dibatasi ukurannya (eviction LRU perkiraan) dan setiap entry memiliki TTL.
+ * Pembacaan tidak memakai lock: entry disimpan di ConcurrentHashMap dan hanya mencatat
+ * urutan akses terakhirnya; entry dengan akses paling lama dibuang saat cache penuh.
+ * update(Course) ditulis langsung ke repository asal lalu entry cache diperbarui
+ * (write-through) hanya jika versinya tidak lebih lama dari entry yang ada, sehingga dua
+ * update bersamaan tidak meninggalkan enrolledCount lama di cache.
+ * Setiap pemanggil menerima salinan Course agar perubahan lokal tidak mengotori cache.
+ */
+
+public class CachingCourseRepository implements CourseRepository {
+    private final CourseRepository delegate;
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final ConcurrentMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    private final AtomicLong accessOrder = new AtomicLong();
+    private final Object evictionLock = new Object();
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    public CachingCourseRepository(CourseRepository delegate, int maximumSize, Duration ttl) {
+        this(delegate, maximumSize, ttl, System::nanoTime);
+    }
+
+    CachingCourseRepository(CourseRepository delegate, int maximumSize, Duration ttl, LongSupplier clock) {
+        if (maximumSize < 1) {
+            throw new IllegalArgumentException("Maximum size must be positive");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("TTL must be positive");
+        }
+        this.delegate = delegate;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttl.toNanos();
+        this.clock = clock;
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        Course cached = getIfPresent(courseCode);
+        if (cached != null) {
+            hitCount.incrementAndGet();
+            return new Course(cached);
+        }
+
+        missCount.incrementAndGet();
+        Course course = delegate.findByCourseCode(courseCode);
+        if (course == null) {
+            return null;
+        }
+        putIfAbsent(course);
+        return new Course(course);
+    }
+
+    @Override
+    public Map<String, Course> findAllByCourseCodes(Collection<String> courseCodes) {
+        Map<String, Course> result = new LinkedHashMap<>();
+        List<String> missing = new ArrayList<>();
+        for (String courseCode : courseCodes) {
+            Course cached = getIfPresent(courseCode);
+            if (cached != null) {
+                hitCount.incrementAndGet();
+                result.put(courseCode, new Course(cached));
+            } else {
+                missCount.incrementAndGet();
+                missing.add(courseCode);
+            }
+        }
+
+        if (!missing.isEmpty()) {
+            for (Map.Entry<String, Course> loaded : delegate.findAllByCourseCodes(missing).entrySet()) {
+                putIfAbsent(loaded.getValue());
+                result.put(loaded.getKey(), new Course(loaded.getValue()));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void update(Course course) {
+        delegate.update(course);
+        put(course);
+    }
+
+    /**
+     * Jika gagal karena konflik, entry cache dibuang agar pembacaan berikutnya
+     * mengambil versi terbaru dari repository asal
+     */
+    @Override
+    public boolean compareAndUpdate(long expectedVersion, Course course) {
+        if (delegate.compareAndUpdate(expectedVersion, course)) {
+            put(course);
+            return true;
+        }
+        invalidate(course.getCourseCode());
+        return false;
+    }
+
+    @Override
+    public void updateAll(Collection<Course> courses) {
+        delegate.updateAll(courses);
+        for (Course course : courses) {
+            put(course);
+        }
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        return delegate.isPrerequisiteMet(studentId, courseCode);
+    }
+
+    @Override
+    public Set<String> findUnmetPrerequisites(String studentId, Collection<String> courseCodes) {
+        return delegate.findUnmetPrerequisites(studentId, courseCodes);
+    }
+
+    @Override
+    public void scan(Consumer<? super Course> action) {
+        delegate.scan(action);
+    }
+
+    /**
+     * Menghapus satu entry dari cache
+     * @param courseCode Kode mata kuliah
+     */
+    public void invalidate(String courseCode) {
+        cache.remove(courseCode);
+    }
+
+    /**
+     * Mengosongkan seluruh cache
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * @return Jumlah entry yang dibuang karena cache penuh atau TTL habis
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    private Course getIfPresent(String courseCode) {
+        CacheEntry entry = cache.get(courseCode);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.isExpired(clock.getAsLong())) {
+            if (cache.remove(courseCode, entry)) {
+                evictionCount.incrementAndGet();
+            }
+            return null;
+        }
+        entry.lastAccess = accessOrder.incrementAndGet();
+        return entry.course;
+    }
+
+    /**
+     * Entry hasil write-through hanya menggantikan entry dengan versi yang sama atau lebih
+     * lama (atau yang sudah kedaluwarsa), karena update bersamaan bisa selesai tidak berurutan
+     */
+    private void put(Course course) {
+        long now = clock.getAsLong();
+        CacheEntry entry = newEntry(course, now);
+        cache.merge(course.getCourseCode(), entry, (current, fresh) ->
+                current.isExpired(now) || fresh.course.getVersion() >= current.course.getVersion()
+                        ? fresh : current);
+        evictIfFull();
+    }
+
+    /**
+     * Hasil load dari repository asal tidak boleh menimpa entry yang lebih baru
+     * dari update() yang terjadi selama load berlangsung
+     */
+    private void putIfAbsent(Course course) {
+        cache.putIfAbsent(course.getCourseCode(), newEntry(course, clock.getAsLong()));
+        evictIfFull();
+    }
+
+    private CacheEntry newEntry(Course course, long now) {
+        return new CacheEntry(new Course(course), now + ttlNanos, accessOrder.incrementAndGet());
+    }
+
+    /**
+     * Membuang entry dengan akses paling lama sampai ukuran cache kembali dalam batas.
+     * Hanya dijalankan saat entry baru masuk, sehingga pembacaan tidak pernah menunggu lock ini
+     */
+    private void evictIfFull() {
+        if (cache.size() <= maximumSize) {
+            return;
+        }
+        synchronized (evictionLock) {
+            while (cache.size() > maximumSize) {
+                Map.Entry<String, CacheEntry> eldest = null;
+                for (Map.Entry<String, CacheEntry> candidate : cache.entrySet()) {
+                    if (eldest == null || candidate.getValue().lastAccess < eldest.getValue().lastAccess) {
+                        eldest = candidate;
+                    }
+                }
+                if (eldest == null) {
+                    return;
+                }
+                if (cache.remove(eldest.getKey(), eldest.getValue())) {
+                    evictionCount.incrementAndGet();
+                }
+            }
+        }
+    }
+
+    private static final class CacheEntry {
+        private final Course course;
+        private final long expiresAt;
+        // Urutan akses terakhir; ditulis tanpa lock sehingga urutan LRU hanya perkiraan
+        private volatile long lastAccess;
+
+        private CacheEntry(Course course, long expiresAt, long lastAccess) {
+            this.course = course;
+            this.expiresAt = expiresAt;
+            this.lastAccess = lastAccess;
+        }
+
+        private boolean isExpired(long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+}
@@ -0,0 +1,555 @@
+package com.siakad.repository;
+
+import com.siakad.model.AcademicStatus;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Implementasi StudentRepository di memori dengan penyimpanan kolom (columnar)
+ *
+ * Setiap mahasiswa hanya berupa nomor baris (handle). semester dan gpa disimpan di
+ * array primitif, academicStatus sebagai kode satu byte AcademicStatus, major sebagai
+ * kode dictionary, sedangkan
+ * studentId, nama, dan email disimpan berurutan di satu arena char. Index studentId
+ * berupa hash table open addressing berisi handle, tanpa object String atau Integer
+ * per baris. Object Student baru dibuat saat findById atau scan dipanggil, sehingga
+ * semantiknya sama dengan InMemoryStudentRepository: perubahan baru tersimpan setelah
+ * update. Teks yang berubah ditulis di tempat yang sama jika muat; jika tidak, ditulis di
+ * akhir arena dan tempat lamanya menjadi ruang mati. Arena dipadatkan ulang saat ruang
+ * mati melebihi separuh arena. Mata kuliah yang sudah diselesaikan disimpan sebagai kode
+ * dictionary dalam linked list di array primitif; data Course disimpan sekali per kode.
+ */
+
+public class ColumnarStudentRepository implements StudentRepository {
+    private static final int NULL_TEXT = -1;
+    private static final int NO_ENTRY = -1;
+    // Ruang mati minimal sebelum arena dipadatkan, agar arena kecil tidak terus disalin
+    private static final int COMPACT_MIN_DEAD_CHARS = 1024;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int size;
+    private int[] idHash;
+    private int[] idOffset;
+    private int[] idLength;
+    private int[] nameOffset;
+    private int[] nameLength;
+    private int[] nameCapacity;
+    private int[] emailOffset;
+    private int[] emailLength;
+    private int[] emailCapacity;
+    private int[] majorCode;
+    private int[] semester;
+    private double[] gpa;
+    private byte[] statusCode;
+    // Entry pertama dan terakhir mata kuliah selesai setiap mahasiswa, NO_ENTRY jika kosong
+    private int[] completedHead;
+    private int[] completedTail;
+
+    private char[] arena;
+    private int arenaSize;
+    private int deadChars;
+
+    // Linked list mata kuliah selesai: kode di courseCodes dan entry berikutnya
+    private int[] completedCode = new int[16];
+    private int[] completedNext = new int[16];
+    private int completedSize;
+    private final Dictionary courseCodes = new Dictionary();
+    private final List<Course> courses = new ArrayList<>();
+
+    /** Berisi handle + 1, 0 berarti slot kosong */
+    private int[] index;
+
+    private final Dictionary majors = new Dictionary();
+
+    public ColumnarStudentRepository() {
+        this(1024);
+    }
+
+    /**
+     * @param expectedStudents Perkiraan jumlah mahasiswa, untuk ukuran awal kolom
+     */
+    public ColumnarStudentRepository(int expectedStudents) {
+        if (expectedStudents < 1) {
+            throw new IllegalArgumentException("Expected students must be positive");
+        }
+        allocateColumns(expectedStudents);
+        this.arena = new char[expectedStudents * 32];
+        this.index = new int[Integer.highestOneBit(expectedStudents * 2 - 1) << 1];
+    }
+
+    /**
+     * Menyimpan mahasiswa baru atau menimpa data yang sudah ada
+     * @param student Student object yang disimpan
+     */
+    public void save(Student student) {
+        String studentId = student.getStudentId();
+        if (studentId == null) {
+            throw new IllegalArgumentException("Student ID must not be null");
+        }
+        lock.writeLock().lock();
+        try {
+            int major = majors.intern(student.getMajor());
+            AcademicStatus academicStatus = student.getStatus();
+            byte status = academicStatus == null ? -1 : academicStatus.getCode();
+            int handle = handleOf(studentId);
+            if (handle < 0) {
+                handle = append(studentId);
+            }
+            write(handle, student, major, status);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Menambahkan mata kuliah yang sudah diselesaikan mahasiswa. Data Course disimpan sekali
+     * per kode mata kuliah (yang terakhir ditambahkan), mahasiswa hanya menyimpan kodenya
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah yang sudah diselesaikan
+     * @throws IllegalArgumentException jika mahasiswa belum disimpan atau kode mata kuliah null
+     */
+    public void addCompletedCourse(String studentId, Course course) {
+        if (course.getCourseCode() == null) {
+            throw new IllegalArgumentException("Course code must not be null");
+        }
+        lock.writeLock().lock();
+        try {
+            int handle = handleOf(studentId);
+            if (handle < 0) {
+                throw new IllegalArgumentException("Student not found: " + studentId);
+            }
+            int code = courseCodes.intern(course.getCourseCode());
+            if (code == courses.size()) {
+                courses.add(new Course(course));
+            } else {
+                courses.set(code, new Course(course));
+            }
+
+            if (completedSize == completedCode.length) {
+                completedCode = Arrays.copyOf(completedCode, completedSize * 2);
+                completedNext = Arrays.copyOf(completedNext, completedSize * 2);
+            }
+            int entry = completedSize++;
+            completedCode[entry] = code;
+            completedNext[entry] = NO_ENTRY;
+            if (completedHead[handle] == NO_ENTRY) {
+                completedHead[handle] = entry;
+            } else {
+                completedNext[completedTail[handle]] = entry;
+            }
+            completedTail[handle] = entry;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang tersimpan
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah char yang terpakai di arena teks, termasuk ruang mati yang belum dipadatkan
+     */
+    public int getArenaSize() {
+        lock.readLock().lock();
+        try {
+            return arenaSize;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah char di arena yang tidak lagi dipakai teks mana pun
+     */
+    int getDeadChars() {
+        lock.readLock().lock();
+        try {
+            return deadChars;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Adapter String untuk countByAcademicStatus dengan AcademicStatus
+     * @param academicStatus Nama status akademik, misalnya "SUSPENDED"
+     * @return Jumlah mahasiswa dengan status tersebut, 0 jika nama status tidak dikenal
+     * @deprecated gunakan {@link #countByAcademicStatus(Set)}
+     */
+    @Deprecated
+    public int countByAcademicStatus(String academicStatus) {
+        for (AcademicStatus status : AcademicStatus.values()) {
+            if (status.name().equals(academicStatus)) {
+                return countByAcademicStatus(EnumSet.of(status));
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Menghitung mahasiswa yang status akademiknya termasuk salah satu status, langsung dari
+     * kolom status. Status digabung menjadi satu bitmask sehingga setiap baris cukup dicek
+     * dengan satu operasi bit
+     * @param academicStatuses Status akademik, misalnya PROBATION dan SUSPENDED
+     * @return Jumlah mahasiswa dengan salah satu status tersebut
+     */
+    public int countByAcademicStatus(Set<AcademicStatus> academicStatuses) {
+        int mask = 0;
+        for (AcademicStatus status : academicStatuses) {
+            mask |= status.mask();
+        }
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (int handle = 0; handle < size; handle++) {
+                int code = statusCode[handle];
+                if (code >= 0 && (mask >>> code & 1) != 0) {
+                    count++;
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        lock.readLock().lock();
+        try {
+            int handle = handleOf(studentId);
+            return handle < 0 ? null : materialize(handle);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Student student) {
+        save(student);
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        lock.readLock().lock();
+        try {
+            int handle = handleOf(studentId);
+            if (handle < 0 || completedHead[handle] == NO_ENTRY) {
+                return Collections.emptyList();
+            }
+            List<Course> completed = new ArrayList<>();
+            for (int entry = completedHead[handle]; entry != NO_ENTRY; entry = completedNext[entry]) {
+                completed.add(new Course(courses.get(completedCode[entry])));
+            }
+            return completed;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<String, Student> findAllByIds(Collection<String> studentIds) {
+        Map<String, Student> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String studentId : studentIds) {
+                int handle = handleOf(studentId);
+                if (handle >= 0) {
+                    result.put(studentId, materialize(handle));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public void updateAll(Collection<Student> students) {
+        lock.writeLock().lock();
+        try {
+            for (Student student : students) {
+                save(student);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Menelusuri baris secara berurutan. Mahasiswa dimaterialisasi per batch di bawah
+     * read lock, lalu action dijalankan di luar lock
+     */
+    @Override
+    public void scan(Consumer<? super Student> action) {
+        int batchSize = 256;
+        List<Student> batch = new ArrayList<>(batchSize);
+        for (int from = 0; ; from += batchSize) {
+            lock.readLock().lock();
+            try {
+                int to = Math.min(size, from + batchSize);
+                for (int handle = from; handle < to; handle++) {
+                    batch.add(materialize(handle));
+                }
+            } finally {
+                lock.readLock().unlock();
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            for (Student student : batch) {
+                action.accept(student);
+            }
+            batch.clear();
+        }
+    }
+
+    private Student materialize(int handle) {
+        return new Student(text(idOffset[handle], idLength[handle]),
+                text(nameOffset[handle], nameLength[handle]),
+                text(emailOffset[handle], emailLength[handle]),
+                majors.valueOf(majorCode[handle]),
+                semester[handle], gpa[handle],
+                statusCode[handle] < 0 ? null : AcademicStatus.fromCode(statusCode[handle]));
+    }
+
+    private void write(int handle, Student student, int major, byte status) {
+        String name = student.getName();
+        if (!textEquals(nameOffset[handle], nameLength[handle], name)) {
+            if (lengthOf(name) > nameCapacity[handle]) {
+                deadChars += nameCapacity[handle];
+                nameOffset[handle] = appendText(name);
+                nameCapacity[handle] = name.length();
+            } else {
+                putText(nameOffset[handle], name);
+            }
+            nameLength[handle] = lengthOf(name);
+        }
+        String email = student.getEmail();
+        if (!textEquals(emailOffset[handle], emailLength[handle], email)) {
+            if (lengthOf(email) > emailCapacity[handle]) {
+                deadChars += emailCapacity[handle];
+                emailOffset[handle] = appendText(email);
+                emailCapacity[handle] = email.length();
+            } else {
+                putText(emailOffset[handle], email);
+            }
+            emailLength[handle] = lengthOf(email);
+        }
+        majorCode[handle] = major;
+        semester[handle] = student.getSemester();
+        gpa[handle] = student.getGpa();
+        statusCode[handle] = status;
+
+        if (deadChars > COMPACT_MIN_DEAD_CHARS && deadChars * 2 > arenaSize) {
+            compact();
+        }
+    }
+
+    /**
+     * Menyalin seluruh teks yang masih dipakai ke arena baru tanpa ruang mati. Kapasitas
+     * setiap teks disamakan dengan panjangnya
+     */
+    private void compact() {
+        char[] source = arena;
+        arena = new char[Math.max(32, (arenaSize - deadChars) * 3 / 2)];
+        arenaSize = 0;
+        deadChars = 0;
+        for (int handle = 0; handle < size; handle++) {
+            idOffset[handle] = copyText(source, idOffset[handle], idLength[handle]);
+            nameOffset[handle] = copyText(source, nameOffset[handle], nameLength[handle]);
+            nameCapacity[handle] = Math.max(0, nameLength[handle]);
+            emailOffset[handle] = copyText(source, emailOffset[handle], emailLength[handle]);
+            emailCapacity[handle] = Math.max(0, emailLength[handle]);
+        }
+    }
+
+    private int copyText(char[] source, int offset, int length) {
+        if (length == NULL_TEXT) {
+            return 0;
+        }
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+        }
+        System.arraycopy(source, offset, arena, arenaSize, length);
+        int copied = arenaSize;
+        arenaSize += length;
+        return copied;
+    }
+
+    private int append(String studentId) {
+        if (size == semester.length) {
+            allocateColumns(size * 2);
+        }
+        int handle = size++;
+        idHash[handle] = studentId.hashCode();
+        idOffset[handle] = appendText(studentId);
+        idLength[handle] = studentId.length();
+        nameLength[handle] = NULL_TEXT;
+        nameCapacity[handle] = 0;
+        emailLength[handle] = NULL_TEXT;
+        emailCapacity[handle] = 0;
+        completedHead[handle] = NO_ENTRY;
+        completedTail[handle] = NO_ENTRY;
+
+        if (size * 2 > index.length) {
+            rehash(index.length * 2);
+        }
+        insert(handle);
+        return handle;
+    }
+
+    /**
+     * @return Handle mahasiswa, atau -1 jika tidak ada
+     */
+    private int handleOf(String studentId) {
+        if (studentId == null) {
+            return -1;
+        }
+        int hash = studentId.hashCode();
+        int mask = index.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int entry = index[slot];
+            if (entry == 0) {
+                return -1;
+            }
+            int handle = entry - 1;
+            if (idHash[handle] == hash && textEquals(idOffset[handle], idLength[handle], studentId)) {
+                return handle;
+            }
+        }
+    }
+
+    private void insert(int handle) {
+        int mask = index.length - 1;
+        int slot = mix(idHash[handle]) & mask;
+        while (index[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        index[slot] = handle + 1;
+    }
+
+    private void rehash(int capacity) {
+        index = new int[capacity];
+        for (int handle = 0; handle < size; handle++) {
+            insert(handle);
+        }
+    }
+
+    private void allocateColumns(int capacity) {
+        idHash = grow(idHash, capacity);
+        idOffset = grow(idOffset, capacity);
+        idLength = grow(idLength, capacity);
+        nameOffset = grow(nameOffset, capacity);
+        nameLength = grow(nameLength, capacity);
+        nameCapacity = grow(nameCapacity, capacity);
+        emailOffset = grow(emailOffset, capacity);
+        emailLength = grow(emailLength, capacity);
+        emailCapacity = grow(emailCapacity, capacity);
+        majorCode = grow(majorCode, capacity);
+        semester = grow(semester, capacity);
+        gpa = gpa == null ? new double[capacity] : Arrays.copyOf(gpa, capacity);
+        statusCode = statusCode == null ? new byte[capacity] : Arrays.copyOf(statusCode, capacity);
+        completedHead = grow(completedHead, capacity);
+        completedTail = grow(completedTail, capacity);
+    }
+
+    private static int[] grow(int[] column, int capacity) {
+        return column == null ? new int[capacity] : Arrays.copyOf(column, capacity);
+    }
+
+    private int appendText(String text) {
+        if (text == null) {
+            return 0;
+        }
+        int length = text.length();
+        if (arenaSize + length > arena.length) {
+            arena = Arrays.copyOf(arena, Math.max(arena.length * 2, arenaSize + length));
+        }
+        text.getChars(0, length, arena, arenaSize);
+        int offset = arenaSize;
+        arenaSize += length;
+        return offset;
+    }
+
+    private void putText(int offset, String text) {
+        if (text != null) {
+            text.getChars(0, text.length(), arena, offset);
+        }
+    }
+
+    private String text(int offset, int length) {
+        return length == NULL_TEXT ? null : new String(arena, offset, length);
+    }
+
+    private boolean textEquals(int offset, int length, String text) {
+        if (text == null || length == NULL_TEXT) {
+            return text == null && length == NULL_TEXT;
+        }
+        if (text.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (arena[offset + i] != text.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int lengthOf(String text) {
+        return text == null ? NULL_TEXT : text.length();
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+
+    /**
+     * Kamus nilai teks berulang (major); null disimpan sebagai kode -1
+     */
+    private static final class Dictionary {
+        private final List<String> values = new ArrayList<>();
+        private final Map<String, Integer> codes = new HashMap<>();
+
+        private int intern(String value) {
+            if (value == null) {
+                return -1;
+            }
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            values.add(value);
+            codes.put(value, values.size() - 1);
+            return values.size() - 1;
+        }
+
+        private String valueOf(int code) {
+            return code < 0 ? null : values.get(code);
+        }
+    }
+}
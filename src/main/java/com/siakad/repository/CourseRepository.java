@@ -2,6 +2,13 @@ package com.siakad.repository;
 
 import com.siakad.model.Course;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
 /**
  * Interface untuk akses data mata kuliah
  * Interface ini akan di-stub atau di-mock dalam unit testing
@@ -22,6 +29,15 @@ public interface CourseRepository {
      */
     void update(Course course);
 
+    /**
+     * Update mata kuliah hanya jika versi yang tersimpan masih sama dengan expectedVersion
+     * (optimistic concurrency). Jika berhasil, versi tersimpan dan versi course dinaikkan satu
+     * @param expectedVersion Versi mata kuliah saat dibaca
+     * @param course Course object yang akan diupdate
+     * @return true jika update berhasil, false jika mata kuliah sudah diubah pihak lain
+     */
+    boolean compareAndUpdate(long expectedVersion, Course course);
+
     /**
      * Mengecek apakah prasyarat mata kuliah sudah terpenuhi
      * @param studentId ID mahasiswa
@@ -29,4 +45,55 @@ public interface CourseRepository {
      * @return true jika prasyarat terpenuhi, false jika tidak
      */
     boolean isPrerequisiteMet(String studentId, String courseCode);
-}
\ No newline at end of file
+
+    /**
+     * Mencari beberapa mata kuliah sekaligus dalam satu panggilan
+     * Implementasi default memanggil findByCourseCode satu per satu,
+     * implementasi yang mendukung bulk query sebaiknya meng-override method ini
+     *
+     * @param courseCodes Kumpulan kode mata kuliah
+     * @return Map course code ke Course, mata kuliah yang tidak ditemukan tidak dimasukkan
+     */
+    default Map<String, Course> findAllByCourseCodes(Collection<String> courseCodes) {
+        Map<String, Course> result = new LinkedHashMap<>();
+        for (String courseCode : courseCodes) {
+            Course course = findByCourseCode(courseCode);
+            if (course != null) {
+                result.put(courseCode, course);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Update beberapa mata kuliah sekaligus dalam satu panggilan
+     * @param courses Kumpulan Course object yang akan diupdate
+     */
+    default void updateAll(Collection<Course> courses) {
+        for (Course course : courses) {
+            update(course);
+        }
+    }
+
+    /**
+     * Mencari mata kuliah yang prasyaratnya belum terpenuhi dalam satu panggilan
+     * @param studentId ID mahasiswa
+     * @param courseCodes Kumpulan kode mata kuliah
+     * @return Kode mata kuliah yang prasyaratnya belum terpenuhi (kosong jika semua terpenuhi)
+     */
+    default Set<String> findUnmetPrerequisites(String studentId, Collection<String> courseCodes) {
+        Set<String> unmet = new LinkedHashSet<>();
+        for (String courseCode : courseCodes) {
+            if (!isPrerequisiteMet(studentId, courseCode)) {
+                unmet.add(courseCode);
+            }
+        }
+        return unmet;
+    }
+
+    /**
+     * Menelusuri seluruh katalog mata kuliah secara streaming tanpa memuat semuanya ke memori
+     * @param action Aksi yang dijalankan untuk setiap mata kuliah
+     */
+    void scan(Consumer<? super Course> action);
+}
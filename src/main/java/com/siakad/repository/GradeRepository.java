@@ -0,0 +1,38 @@
+package com.siakad.repository;
+
+import com.siakad.model.CourseGrade;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Interface untuk akses data nilai mata kuliah mahasiswa
+ * Interface ini akan di-stub atau di-mock dalam unit testing
+ */
+
+public interface GradeRepository {
+
+    /**
+     * Mendapatkan seluruh nilai mata kuliah seorang mahasiswa
+     * @param studentId ID mahasiswa
+     * @return List of CourseGrade (kosong jika belum ada nilai)
+     */
+    List<CourseGrade> findByStudentId(String studentId);
+
+    /**
+     * Mendapatkan nilai beberapa mahasiswa sekaligus dalam satu panggilan
+     * Implementasi default memanggil findByStudentId satu per satu
+     *
+     * @param studentIds Kumpulan ID mahasiswa
+     * @return Map student ID ke daftar nilai
+     */
+    default Map<String, List<CourseGrade>> findAllByStudentIds(Collection<String> studentIds) {
+        Map<String, List<CourseGrade>> result = new LinkedHashMap<>();
+        for (String studentId : studentIds) {
+            result.put(studentId, findByStudentId(studentId));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,132 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * Implementasi CourseRepository di memori
+ * Prasyarat dicek terhadap mata kuliah yang sudah diselesaikan mahasiswa
+ * menurut StudentRepository. Setiap update menaikkan versi mata kuliah
+ */
+
+public class InMemoryCourseRepository implements CourseRepository {
+    private final ConcurrentMap<String, Course> courses = new ConcurrentHashMap<>();
+    private final StudentRepository studentRepository;
+
+    public InMemoryCourseRepository(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Menyimpan mata kuliah baru atau menimpa data yang sudah ada
+     * @param course Course object yang disimpan
+     */
+    public void save(Course course) {
+        courses.put(course.getCourseCode(), new Course(course));
+    }
+
+    /**
+     * @return Jumlah mata kuliah yang tersimpan
+     */
+    public int size() {
+        return courses.size();
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        Course course = courses.get(courseCode);
+        return course == null ? null : new Course(course);
+    }
+
+    @Override
+    public void update(Course course) {
+        Course stored = courses.compute(course.getCourseCode(), (code, current) -> {
+            Course next = new Course(course);
+            next.setVersion(current == null ? course.getVersion() : current.getVersion() + 1);
+            return next;
+        });
+        course.setVersion(stored.getVersion());
+    }
+
+    @Override
+    public boolean compareAndUpdate(long expectedVersion, Course course) {
+        boolean[] updated = {false};
+        courses.computeIfPresent(course.getCourseCode(), (code, current) -> {
+            if (current.getVersion() != expectedVersion) {
+                return current;
+            }
+            updated[0] = true;
+            Course next = new Course(course);
+            next.setVersion(expectedVersion + 1);
+            return next;
+        });
+        if (updated[0]) {
+            course.setVersion(expectedVersion + 1);
+        }
+        return updated[0];
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        Course course = courses.get(courseCode);
+        if (course == null) {
+            return false;
+        }
+        return isPrerequisiteMet(course, completedCourseCodes(studentId));
+    }
+
+    @Override
+    public Map<String, Course> findAllByCourseCodes(Collection<String> courseCodes) {
+        Map<String, Course> result = new LinkedHashMap<>();
+        for (String courseCode : courseCodes) {
+            Course course = courses.get(courseCode);
+            if (course != null) {
+                result.put(courseCode, new Course(course));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public Set<String> findUnmetPrerequisites(String studentId, Collection<String> courseCodes) {
+        Set<String> completed = completedCourseCodes(studentId);
+        Set<String> unmet = new LinkedHashSet<>();
+        for (String courseCode : courseCodes) {
+            Course course = courses.get(courseCode);
+            if (course == null || !isPrerequisiteMet(course, completed)) {
+                unmet.add(courseCode);
+            }
+        }
+        return unmet;
+    }
+
+    @Override
+    public void scan(Consumer<? super Course> action) {
+        for (Course course : courses.values()) {
+            action.accept(new Course(course));
+        }
+    }
+
+    private static boolean isPrerequisiteMet(Course course, Set<String> completed) {
+        List<String> prerequisites = course.getPrerequisites();
+        return prerequisites == null || completed.containsAll(prerequisites);
+    }
+
+    private Set<String> completedCourseCodes(String studentId) {
+        Set<String> completed = new HashSet<>();
+        for (Course course : studentRepository.getCompletedCourses(studentId)) {
+            completed.add(course.getCourseCode());
+        }
+        return completed;
+    }
+}
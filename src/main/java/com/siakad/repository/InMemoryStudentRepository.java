@@ -0,0 +1,92 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Implementasi StudentRepository di memori
+ * Data disimpan sebagai salinan sehingga perubahan pada object hasil findById
+ * baru tersimpan setelah update dipanggil, sama seperti backing store sungguhan
+ */
+
+public class InMemoryStudentRepository implements StudentRepository {
+    private final ConcurrentMap<String, Student> students = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, List<Course>> completedCourses = new ConcurrentHashMap<>();
+
+    /**
+     * Menyimpan mahasiswa baru atau menimpa data yang sudah ada
+     * @param student Student object yang disimpan
+     */
+    public void save(Student student) {
+        students.put(student.getStudentId(), copyOf(student));
+    }
+
+    /**
+     * Menambahkan mata kuliah yang sudah diselesaikan mahasiswa
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah yang sudah diselesaikan
+     */
+    public void addCompletedCourse(String studentId, Course course) {
+        completedCourses.computeIfAbsent(studentId, id -> new CopyOnWriteArrayList<>()).add(course);
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang tersimpan
+     */
+    public int size() {
+        return students.size();
+    }
+
+    @Override
+    public Student findById(String studentId) {
+        Student student = students.get(studentId);
+        return student == null ? null : copyOf(student);
+    }
+
+    @Override
+    public void update(Student student) {
+        save(student);
+    }
+
+    @Override
+    public List<Course> getCompletedCourses(String studentId) {
+        List<Course> completed = completedCourses.get(studentId);
+        return completed == null ? Collections.emptyList() : new ArrayList<>(completed);
+    }
+
+    @Override
+    public Map<String, Student> findAllByIds(Collection<String> studentIds) {
+        Map<String, Student> result = new LinkedHashMap<>();
+        for (String studentId : studentIds) {
+            Student student = students.get(studentId);
+            if (student != null) {
+                result.put(studentId, copyOf(student));
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void scan(Consumer<? super Student> action) {
+        for (Student student : students.values()) {
+            action.accept(copyOf(student));
+        }
+    }
+
+    private static Student copyOf(Student student) {
+        return new Student(student.getStudentId(), student.getName(), student.getEmail(),
+                student.getMajor(), student.getSemester(), student.getGpa(),
+                student.getStatus());
+    }
+}
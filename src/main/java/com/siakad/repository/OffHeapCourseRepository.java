@@ -0,0 +1,425 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Implementasi CourseRepository dengan katalog mata kuliah di luar heap (direct ByteBuffer)
+ *
+ * Setiap mata kuliah menempati satu slot berukuran tetap:
+ * int credits | int capacity | long (version << 32 | enrolledCount) | int codeRef |
+ * int nameRef | int lecturerRef | int prerequisitesRef | int codeHash | padding.
+ * Teks (UTF-8) dan daftar prasyarat disimpan di region kedua yang hanya ditambah; ref
+ * adalah offset ke region tersebut, -1 untuk null. Index courseCode berupa satu int[]
+ * open addressing berisi nomor slot, sehingga jumlah object di heap tidak bertambah
+ * seiring ukuran katalog. enrolledCount dan versi berada dalam satu long sehingga
+ * adjustEnrolledCount dapat mengubahnya di tempat dengan satu CAS. Versi disimpan
+ * 32 bit dan berputar kembali ke 0 setelah 2^32 update.
+ */
+
+public class OffHeapCourseRepository implements CourseRepository {
+    private static final VarHandle LONGS =
+            MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private static final int SLOT_SIZE = 40;
+    private static final int CREDITS = 0;
+    private static final int CAPACITY = 4;
+    private static final int COUNT_AND_VERSION = 8;
+    private static final int CODE_REF = 16;
+    private static final int NAME_REF = 20;
+    private static final int LECTURER_REF = 24;
+    private static final int PREREQUISITES_REF = 28;
+    private static final int CODE_HASH = 32;
+    private static final int NULL_REF = -1;
+    private static final long VERSION_MASK = 0xFFFFFFFFL;
+
+    private final StudentRepository studentRepository;
+    private final int maxCourses;
+    private final ByteBuffer slots;
+    private final int[] index;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private ByteBuffer text;
+    private int textSize;
+    private int size;
+
+    /**
+     * @param studentRepository Sumber mata kuliah yang sudah diselesaikan mahasiswa, untuk cek prasyarat
+     * @param maxCourses Jumlah maksimum mata kuliah di katalog
+     */
+    public OffHeapCourseRepository(StudentRepository studentRepository, int maxCourses) {
+        if (maxCourses < 1 || maxCourses > Integer.MAX_VALUE / SLOT_SIZE) {
+            throw new IllegalArgumentException("Max courses out of range: " + maxCourses);
+        }
+        this.studentRepository = studentRepository;
+        this.maxCourses = maxCourses;
+        this.slots = ByteBuffer.allocateDirect(maxCourses * SLOT_SIZE).order(ByteOrder.nativeOrder());
+        this.index = new int[Integer.highestOneBit(maxCourses * 2 - 1) << 1];
+        this.text = ByteBuffer.allocateDirect(Math.max(1024, maxCourses * 64));
+    }
+
+    /**
+     * Menyimpan mata kuliah baru atau menimpa data yang sudah ada
+     * @param course Course object yang disimpan
+     * @throws IllegalStateException jika katalog sudah penuh
+     */
+    public void save(Course course) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(course.getCourseCode());
+            long version;
+            if (slot < 0) {
+                slot = append(course.getCourseCode());
+                version = course.getVersion() & VERSION_MASK;
+            } else {
+                version = (version(slot) + 1) & VERSION_MASK;
+            }
+            write(slot, course, version);
+            course.setVersion(version);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah mata kuliah yang tersimpan
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Jumlah byte di luar heap yang dialokasikan (slot dan region teks)
+     */
+    public long getOffHeapBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) slots.capacity() + text.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Mengubah enrolledCount di tempat dengan CAS dan menaikkan versinya
+     * @param courseCode Kode mata kuliah
+     * @param delta Perubahan jumlah peserta; hasil negatif dibulatkan ke 0
+     * @return Jumlah peserta setelah perubahan, atau -1 jika melebihi kapasitas
+     * @throws IllegalArgumentException jika mata kuliah tidak ada
+     */
+    public int adjustEnrolledCount(String courseCode, int delta) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(courseCode);
+            if (slot < 0) {
+                throw new IllegalArgumentException("Unknown course: " + courseCode);
+            }
+            int base = slot * SLOT_SIZE;
+            int capacity = slots.getInt(base + CAPACITY);
+            while (true) {
+                long current = (long) LONGS.getVolatile(slots, base + COUNT_AND_VERSION);
+                int enrolledCount = Math.max(0, (int) current + delta);
+                if (delta > 0 && enrolledCount > capacity) {
+                    return -1;
+                }
+                long next = pack((current >>> 32) + 1, enrolledCount);
+                if (LONGS.compareAndSet(slots, base + COUNT_AND_VERSION, current, next)) {
+                    return enrolledCount;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Course findByCourseCode(String courseCode) {
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(courseCode);
+            return slot < 0 ? null : materialize(slot);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void update(Course course) {
+        save(course);
+    }
+
+    @Override
+    public boolean compareAndUpdate(long expectedVersion, Course course) {
+        lock.writeLock().lock();
+        try {
+            int slot = slotOf(course.getCourseCode());
+            if (slot < 0 || version(slot) != (expectedVersion & VERSION_MASK)) {
+                return false;
+            }
+            long version = (expectedVersion + 1) & VERSION_MASK;
+            write(slot, course, version);
+            course.setVersion(version);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean isPrerequisiteMet(String studentId, String courseCode) {
+        List<String> prerequisites;
+        lock.readLock().lock();
+        try {
+            int slot = slotOf(courseCode);
+            if (slot < 0) {
+                return false;
+            }
+            prerequisites = readList(slots.getInt(slot * SLOT_SIZE + PREREQUISITES_REF));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return completedCourseCodes(studentId).containsAll(prerequisites);
+    }
+
+    @Override
+    public Map<String, Course> findAllByCourseCodes(Collection<String> courseCodes) {
+        Map<String, Course> result = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            for (String courseCode : courseCodes) {
+                int slot = slotOf(courseCode);
+                if (slot >= 0) {
+                    result.put(courseCode, materialize(slot));
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return result;
+    }
+
+    @Override
+    public Set<String> findUnmetPrerequisites(String studentId, Collection<String> courseCodes) {
+        Set<String> completed = completedCourseCodes(studentId);
+        Set<String> unmet = new LinkedHashSet<>();
+        lock.readLock().lock();
+        try {
+            for (String courseCode : courseCodes) {
+                int slot = slotOf(courseCode);
+                if (slot < 0 || !completed.containsAll(readList(slots.getInt(slot * SLOT_SIZE + PREREQUISITES_REF)))) {
+                    unmet.add(courseCode);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return unmet;
+    }
+
+    @Override
+    public void scan(Consumer<? super Course> action) {
+        for (int slot = 0; ; slot++) {
+            Course course;
+            lock.readLock().lock();
+            try {
+                if (slot >= size) {
+                    return;
+                }
+                course = materialize(slot);
+            } finally {
+                lock.readLock().unlock();
+            }
+            action.accept(course);
+        }
+    }
+
+    private Course materialize(int slot) {
+        int base = slot * SLOT_SIZE;
+        long countAndVersion = (long) LONGS.getVolatile(slots, base + COUNT_AND_VERSION);
+        Course course = new Course(readString(slots.getInt(base + CODE_REF)),
+                readString(slots.getInt(base + NAME_REF)),
+                slots.getInt(base + CREDITS), slots.getInt(base + CAPACITY),
+                (int) countAndVersion, readString(slots.getInt(base + LECTURER_REF)));
+        course.setPrerequisites(readList(slots.getInt(base + PREREQUISITES_REF)));
+        course.setVersion(countAndVersion >>> 32);
+        return course;
+    }
+
+    /**
+     * Teks yang tidak berubah tetap memakai ref lama
+     */
+    private void write(int slot, Course course, long version) {
+        int base = slot * SLOT_SIZE;
+        int nameRef = slots.getInt(base + NAME_REF);
+        if (!Objects.equals(readString(nameRef), course.getCourseName())) {
+            slots.putInt(base + NAME_REF, appendString(course.getCourseName()));
+        }
+        int lecturerRef = slots.getInt(base + LECTURER_REF);
+        if (!Objects.equals(readString(lecturerRef), course.getLecturer())) {
+            slots.putInt(base + LECTURER_REF, appendString(course.getLecturer()));
+        }
+        List<String> prerequisites = course.getPrerequisites() == null ? new ArrayList<>() : course.getPrerequisites();
+        if (!readList(slots.getInt(base + PREREQUISITES_REF)).equals(prerequisites)) {
+            slots.putInt(base + PREREQUISITES_REF, appendList(prerequisites));
+        }
+        slots.putInt(base + CREDITS, course.getCredits());
+        slots.putInt(base + CAPACITY, course.getCapacity());
+        LONGS.setVolatile(slots, base + COUNT_AND_VERSION, pack(version, course.getEnrolledCount()));
+    }
+
+    private int append(String courseCode) {
+        if (courseCode == null) {
+            throw new IllegalArgumentException("Course code must not be null");
+        }
+        if (size == maxCourses) {
+            throw new IllegalStateException("Course catalogue is full: " + maxCourses);
+        }
+        int slot = size++;
+        int base = slot * SLOT_SIZE;
+        slots.putInt(base + CODE_REF, appendString(courseCode));
+        slots.putInt(base + CODE_HASH, courseCode.hashCode());
+        slots.putInt(base + NAME_REF, NULL_REF);
+        slots.putInt(base + LECTURER_REF, NULL_REF);
+        slots.putInt(base + PREREQUISITES_REF, appendList(new ArrayList<>()));
+
+        int mask = index.length - 1;
+        int position = mix(courseCode.hashCode()) & mask;
+        while (index[position] != 0) {
+            position = (position + 1) & mask;
+        }
+        index[position] = slot + 1;
+        return slot;
+    }
+
+    /**
+     * @return Nomor slot, atau -1 jika mata kuliah tidak ada
+     */
+    private int slotOf(String courseCode) {
+        if (courseCode == null) {
+            return -1;
+        }
+        int hash = courseCode.hashCode();
+        int mask = index.length - 1;
+        for (int position = mix(hash) & mask; ; position = (position + 1) & mask) {
+            int entry = index[position];
+            if (entry == 0) {
+                return -1;
+            }
+            int slot = entry - 1;
+            int base = slot * SLOT_SIZE;
+            if (slots.getInt(base + CODE_HASH) == hash && courseCode.equals(readString(slots.getInt(base + CODE_REF)))) {
+                return slot;
+            }
+        }
+    }
+
+    private long version(int slot) {
+        return (long) LONGS.getVolatile(slots, slot * SLOT_SIZE + COUNT_AND_VERSION) >>> 32;
+    }
+
+    private static long pack(long version, int enrolledCount) {
+        return (version & VERSION_MASK) << 32 | (enrolledCount & VERSION_MASK);
+    }
+
+    private int appendString(String value) {
+        if (value == null) {
+            return NULL_REF;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        int offset = reserveText(Integer.BYTES + bytes.length);
+        text.putInt(offset, bytes.length);
+        ByteBuffer target = text.duplicate();
+        target.position(offset + Integer.BYTES);
+        target.put(bytes);
+        return offset;
+    }
+
+    private String readString(int ref) {
+        if (ref == NULL_REF) {
+            return null;
+        }
+        byte[] bytes = new byte[text.getInt(ref)];
+        ByteBuffer source = text.duplicate();
+        source.position(ref + Integer.BYTES);
+        source.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Daftar disimpan sebagai int jumlah elemen diikuti ref setiap elemen
+     */
+    private int appendList(List<String> values) {
+        int[] refs = new int[values.size()];
+        for (int i = 0; i < refs.length; i++) {
+            refs[i] = appendString(values.get(i));
+        }
+        int offset = reserveText(Integer.BYTES * (refs.length + 1));
+        text.putInt(offset, refs.length);
+        for (int i = 0; i < refs.length; i++) {
+            text.putInt(offset + Integer.BYTES * (i + 1), refs[i]);
+        }
+        return offset;
+    }
+
+    private List<String> readList(int ref) {
+        int count = text.getInt(ref);
+        List<String> values = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(readString(text.getInt(ref + Integer.BYTES * (i + 1))));
+        }
+        return values;
+    }
+
+    /**
+     * Region teks diperbesar dengan menyalin ke buffer baru; hanya dipanggil di bawah write lock
+     */
+    private int reserveText(int length) {
+        if (textSize + length > text.capacity()) {
+            long capacity = Math.max((long) text.capacity() * 2, (long) textSize + length);
+            if (capacity > Integer.MAX_VALUE) {
+                throw new IllegalStateException("Course text region is full");
+            }
+            ByteBuffer grown = ByteBuffer.allocateDirect((int) capacity);
+            ByteBuffer used = text.duplicate();
+            used.position(0).limit(textSize);
+            grown.put(used);
+            text = grown;
+        }
+        int offset = textSize;
+        textSize += length;
+        return offset;
+    }
+
+    private Set<String> completedCourseCodes(String studentId) {
+        Set<String> completed = new HashSet<>();
+        for (Course course : studentRepository.getCompletedCourses(studentId)) {
+            completed.add(course.getCourseCode());
+        }
+        return completed;
+    }
+
+    private static int mix(int hash) {
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -4,7 +4,11 @@ package com.siakad.repository;
 import com.siakad.model.Course;
 import com.siakad.model.Student;
 
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Interface untuk akses data mahasiswa
@@ -32,4 +36,39 @@ public interface StudentRepository {
      * @return List of Course yang sudah diselesaikan
      */
     List<Course> getCompletedCourses(String studentId);
-}
\ No newline at end of file
+
+    /**
+     * Mencari beberapa mahasiswa sekaligus dalam satu panggilan
+     * Implementasi default memanggil findById satu per satu,
+     * implementasi yang mendukung bulk query sebaiknya meng-override method ini
+     *
+     * @param studentIds Kumpulan ID mahasiswa
+     * @return Map student ID ke Student, mahasiswa yang tidak ditemukan tidak dimasukkan
+     */
+    default Map<String, Student> findAllByIds(Collection<String> studentIds) {
+        Map<String, Student> result = new LinkedHashMap<>();
+        for (String studentId : studentIds) {
+            Student student = findById(studentId);
+            if (student != null) {
+                result.put(studentId, student);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Update beberapa mahasiswa sekaligus dalam satu panggilan
+     * @param students Kumpulan Student object yang akan diupdate
+     */
+    default void updateAll(Collection<Student> students) {
+        for (Student student : students) {
+            update(student);
+        }
+    }
+
+    /**
+     * Menelusuri seluruh data mahasiswa secara streaming tanpa memuat semuanya ke memori
+     * @param action Aksi yang dijalankan untuk setiap mahasiswa
+     */
+    void scan(Consumer<? super Student> action);
+}
@@ -0,0 +1,282 @@
+package com.siakad.service;
+
+import com.siakad.model.AcademicStatus;
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.GradeRepository;
+import com.siakad.repository.StudentRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Job akhir semester untuk menghitung ulang IPK dan status akademik seluruh mahasiswa
+ *
+ * Mahasiswa dibaca secara streaming lewat StudentRepository.scan dan dikelompokkan
+ * per batch. Setiap batch dikerjakan di ForkJoinPool: nilai diambil dalam satu panggilan
+ * GradeRepository, IPK dihitung secara kolumnar dengan GradeCalculator.calculateGPAs,
+ * lalu hanya mahasiswa yang IPK atau statusnya berubah yang ditulis lewat updateAll.
+ * Mahasiswa tanpa nilai, dan mahasiswa dengan status di luar hasil determineStatus
+ * (misalnya INACTIVE), tidak diubah.
+ * Jumlah batch yang sedang diproses dibatasi agar scan tidak jauh mendahului worker.
+ */
+
+public class AcademicStatusRecalculationJob {
+    // Status yang ditentukan oleh GradeCalculator.determineStatus
+    private static final int RECALCULATED_STATUSES = AcademicStatus.ACTIVE.mask()
+            | AcademicStatus.PROBATION.mask() | AcademicStatus.SUSPENDED.mask();
+
+    private final StudentRepository studentRepository;
+    private final GradeRepository gradeRepository;
+    private final GradeCalculator gradeCalculator;
+    private final int parallelism;
+    private final int batchSize;
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong changedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong batchesWritten = new AtomicLong();
+
+    public AcademicStatusRecalculationJob(StudentRepository studentRepository,
+                                          GradeRepository gradeRepository,
+                                          GradeCalculator gradeCalculator,
+                                          int parallelism, int batchSize) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.studentRepository = studentRepository;
+        this.gradeRepository = gradeRepository;
+        this.gradeCalculator = gradeCalculator;
+        this.parallelism = parallelism;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Menjalankan job sampai seluruh mahasiswa selesai diproses
+     * @return Ringkasan hasil job
+     * @throws IllegalStateException jika salah satu batch gagal ditulis atau job diinterupsi
+     */
+    public Result run() {
+        processedCount.set(0);
+        changedCount.set(0);
+        failedCount.set(0);
+        batchesWritten.set(0);
+        long start = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Semaphore inFlight = new Semaphore(parallelism * 2);
+        List<Future<?>> futures = Collections.synchronizedList(new ArrayList<>());
+        try {
+            List<List<Student>> pending = new ArrayList<>(1);
+            pending.add(new ArrayList<>(batchSize));
+            studentRepository.scan(student -> {
+                List<Student> batch = pending.get(0);
+                batch.add(student);
+                if (batch.size() >= batchSize) {
+                    futures.add(submit(pool, inFlight, batch));
+                    pending.set(0, new ArrayList<>(batchSize));
+                }
+            });
+            if (!pending.get(0).isEmpty()) {
+                futures.add(submit(pool, inFlight, pending.get(0)));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Academic status recalculation interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Academic status recalculation failed", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        return new Result(processedCount.get(), changedCount.get(), failedCount.get(),
+                batchesWritten.get(), elapsedMillis);
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang sudah diproses (bisa dibaca selama job berjalan)
+     */
+    public long getProcessedCount() {
+        return processedCount.get();
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang IPK atau statusnya berubah dan sudah ditulis
+     */
+    public long getChangedCount() {
+        return changedCount.get();
+    }
+
+    /**
+     * @return Jumlah mahasiswa yang dilewati karena data nilai atau semesternya invalid
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    public long getBatchesWritten() {
+        return batchesWritten.get();
+    }
+
+    private Future<?> submit(ForkJoinPool pool, Semaphore inFlight, List<Student> batch) {
+        inFlight.acquireUninterruptibly();
+        try {
+            return pool.submit(() -> {
+                try {
+                    processBatch(batch);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            throw e;
+        }
+    }
+
+    private void processBatch(List<Student> batch) {
+        List<String> studentIds = new ArrayList<>(batch.size());
+        for (Student student : batch) {
+            studentIds.add(student.getStudentId());
+        }
+        Map<String, List<CourseGrade>> gradesByStudent = gradeRepository.findAllByStudentIds(studentIds);
+        double[] gpas = calculateBatchGpas(batch, gradesByStudent);
+
+        List<Student> changed = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            Student student = batch.get(i);
+            if (Double.isNaN(gpas[i])) {
+                failedCount.incrementAndGet();
+                continue;
+            }
+            AcademicStatus status;
+            try {
+                status = gradeCalculator.determineStatus(gpas[i], student.getSemester());
+            } catch (IllegalArgumentException e) {
+                failedCount.incrementAndGet();
+                continue;
+            }
+            if (!isRecalculated(student, gradesByStudent.get(student.getStudentId()))) {
+                continue;
+            }
+            if (gpas[i] != student.getGpa() || status != student.getStatus()) {
+                student.setGpa(gpas[i]);
+                student.setStatus(status);
+                changed.add(student);
+            }
+        }
+
+        if (!changed.isEmpty()) {
+            studentRepository.updateAll(changed);
+            changedCount.addAndGet(changed.size());
+            batchesWritten.incrementAndGet();
+        }
+        processedCount.addAndGet(batch.size());
+    }
+
+    /**
+     * @return false jika mahasiswa belum punya nilai (IPK 0.0 bukan hasil nilai) atau
+     *         statusnya tidak ditentukan dari IPK
+     */
+    private static boolean isRecalculated(Student student, List<CourseGrade> grades) {
+        if (grades == null || grades.isEmpty()) {
+            return false;
+        }
+        AcademicStatus status = student.getStatus();
+        return status != null && (status.mask() & RECALCULATED_STATUSES) != 0;
+    }
+
+    /**
+     * IPK satu batch dihitung kolumnar. Jika ada grade point invalid, batch dihitung ulang
+     * per mahasiswa agar hanya mahasiswa tersebut yang ditandai gagal (NaN)
+     */
+    private double[] calculateBatchGpas(List<Student> batch, Map<String, List<CourseGrade>> gradesByStudent) {
+        int[] offsets = new int[batch.size() + 1];
+        for (int i = 0; i < batch.size(); i++) {
+            List<CourseGrade> grades = gradesByStudent.get(batch.get(i).getStudentId());
+            offsets[i + 1] = offsets[i] + (grades == null ? 0 : grades.size());
+        }
+        int[] credits = new int[offsets[batch.size()]];
+        double[] gradePoints = new double[credits.length];
+        for (int i = 0; i < batch.size(); i++) {
+            List<CourseGrade> grades = gradesByStudent.get(batch.get(i).getStudentId());
+            if (grades == null) {
+                continue;
+            }
+            int index = offsets[i];
+            for (CourseGrade grade : grades) {
+                credits[index] = grade.getCredits();
+                gradePoints[index++] = grade.getGradePoint();
+            }
+        }
+
+        try {
+            return gradeCalculator.calculateGPAs(credits, gradePoints, offsets);
+        } catch (IllegalArgumentException e) {
+            double[] gpas = new double[batch.size()];
+            for (int i = 0; i < batch.size(); i++) {
+                try {
+                    gpas[i] = gradeCalculator.calculateGPA(gradesByStudent.get(batch.get(i).getStudentId()));
+                } catch (IllegalArgumentException invalid) {
+                    gpas[i] = Double.NaN;
+                }
+            }
+            return gpas;
+        }
+    }
+
+    /**
+     * Ringkasan hasil satu kali eksekusi job
+     */
+    public static final class Result {
+        private final long processed;
+        private final long changed;
+        private final long failed;
+        private final long batchesWritten;
+        private final long elapsedMillis;
+
+        Result(long processed, long changed, long failed, long batchesWritten, long elapsedMillis) {
+            this.processed = processed;
+            this.changed = changed;
+            this.failed = failed;
+            this.batchesWritten = batchesWritten;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public long getProcessed() {
+            return processed;
+        }
+
+        public long getChanged() {
+            return changed;
+        }
+
+        public long getFailed() {
+            return failed;
+        }
+
+        public long getBatchesWritten() {
+            return batchesWritten;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package com.siakad.service;
+
+import com.siakad.exception.AdmissionRejectedException;
+import com.siakad.exception.CourseFullException;
+import com.siakad.model.Enrollment;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Admission control di depan EnrollmentService
+ *
+ * Setiap request harus lolos tiga batas sebelum menyentuh repository:
+ * token bucket per mahasiswa, token bucket global, dan batas jumlah request yang
+ * sedang diproses. Token bucket memakai GCRA: satu AtomicLong berisi waktu kedatangan
+ * teoretis berikutnya yang dinaikkan dengan CAS, sehingga hot path tanpa lock.
+ * Request yang ditolak langsung gagal dengan AdmissionRejectedException beserta
+ * perkiraan retry-after. Mahasiswa yang mendapat CourseFullException dikenai penalti
+ * tambahan di bucket-nya sehingga retry berulang ke mata kuliah penuh tidak
+ * menghabiskan kuota global milik mahasiswa lain.
+ */
+
+public class AdmissionController {
+    private final EnrollmentService enrollmentService;
+    private final LongSupplier nanoClock;
+    private final long studentIntervalNanos;
+    private final long studentToleranceNanos;
+    private final long globalIntervalNanos;
+    private final long globalToleranceNanos;
+    private final long courseFullPenaltyNanos;
+    private final int maxConcurrent;
+
+    private final ConcurrentMap<String, AtomicLong> studentBuckets = new ConcurrentHashMap<>();
+    private final AtomicLong globalBucket = new AtomicLong(Long.MIN_VALUE);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final AtomicLong admittedCount = new AtomicLong();
+    private final AtomicLong studentRejectedCount = new AtomicLong();
+    private final AtomicLong globalRejectedCount = new AtomicLong();
+    private final AtomicLong concurrencyRejectedCount = new AtomicLong();
+    private final AtomicLong courseFullPenaltyCount = new AtomicLong();
+
+    /**
+     * @param enrollmentService Service yang dilindungi
+     * @param studentRatePerSecond Rata-rata request per detik untuk satu mahasiswa
+     * @param studentBurst Jumlah request beruntun yang boleh dilakukan satu mahasiswa
+     * @param globalRatePerSecond Rata-rata request per detik untuk seluruh mahasiswa
+     * @param globalBurst Jumlah request beruntun untuk seluruh mahasiswa
+     * @param maxConcurrent Jumlah request yang boleh diproses bersamaan
+     */
+    public AdmissionController(EnrollmentService enrollmentService,
+                               double studentRatePerSecond, int studentBurst,
+                               double globalRatePerSecond, int globalBurst, int maxConcurrent) {
+        this(enrollmentService, studentRatePerSecond, studentBurst,
+                globalRatePerSecond, globalBurst, maxConcurrent, System::nanoTime);
+    }
+
+    AdmissionController(EnrollmentService enrollmentService,
+                        double studentRatePerSecond, int studentBurst,
+                        double globalRatePerSecond, int globalBurst, int maxConcurrent,
+                        LongSupplier nanoClock) {
+        if (studentRatePerSecond <= 0 || globalRatePerSecond <= 0) {
+            throw new IllegalArgumentException("Rates must be positive");
+        }
+        if (studentBurst < 1 || globalBurst < 1 || maxConcurrent < 1) {
+            throw new IllegalArgumentException("Burst sizes and concurrency limit must be positive");
+        }
+        this.enrollmentService = enrollmentService;
+        this.nanoClock = nanoClock;
+        this.studentIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / studentRatePerSecond);
+        this.studentToleranceNanos = studentIntervalNanos * (studentBurst - 1);
+        this.globalIntervalNanos = (long) (TimeUnit.SECONDS.toNanos(1) / globalRatePerSecond);
+        this.globalToleranceNanos = globalIntervalNanos * (globalBurst - 1);
+        // Satu CourseFullException dihitung seperti satu request tambahan
+        this.courseFullPenaltyNanos = studentIntervalNanos;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * @see EnrollmentService#enrollCourse(String, String)
+     * @throws AdmissionRejectedException jika request ditolak admission control
+     */
+    public Enrollment enrollCourse(String studentId, String courseCode) {
+        return admit(studentId, () -> enrollmentService.enrollCourse(studentId, courseCode));
+    }
+
+    /**
+     * @see EnrollmentService#enrollCourses(String, List)
+     * @throws AdmissionRejectedException jika request ditolak admission control
+     */
+    public List<Enrollment> enrollCourses(String studentId, List<String> courseCodes) {
+        return admit(studentId, () -> enrollmentService.enrollCourses(studentId, courseCodes));
+    }
+
+    /**
+     * @see EnrollmentService#dropCourse(String, String)
+     * @throws AdmissionRejectedException jika request ditolak admission control
+     */
+    public void dropCourse(String studentId, String courseCode) {
+        admit(studentId, () -> {
+            enrollmentService.dropCourse(studentId, courseCode);
+            return null;
+        });
+    }
+
+    /**
+     * Menjalankan action jika request mahasiswa lolos admission control
+     * @param studentId ID mahasiswa pemilik request
+     * @param action Operasi yang dijalankan
+     * @return Hasil action
+     * @throws AdmissionRejectedException jika request ditolak
+     */
+    public <T> T admit(String studentId, Supplier<T> action) {
+        long now = nanoClock.getAsLong();
+        AtomicLong studentBucket = studentBuckets.computeIfAbsent(studentId, id -> new AtomicLong(Long.MIN_VALUE));
+
+        long wait = tryAcquire(studentBucket, now, studentIntervalNanos, studentToleranceNanos);
+        if (wait > 0) {
+            studentRejectedCount.incrementAndGet();
+            throw new AdmissionRejectedException("Too many requests for student: " + studentId, toMillis(wait));
+        }
+        wait = tryAcquire(globalBucket, now, globalIntervalNanos, globalToleranceNanos);
+        if (wait > 0) {
+            studentBucket.addAndGet(-studentIntervalNanos);
+            globalRejectedCount.incrementAndGet();
+            throw new AdmissionRejectedException("Enrollment is busy, please retry", toMillis(wait));
+        }
+        if (!tryEnter()) {
+            studentBucket.addAndGet(-studentIntervalNanos);
+            globalBucket.addAndGet(-globalIntervalNanos);
+            concurrencyRejectedCount.incrementAndGet();
+            throw new AdmissionRejectedException("Enrollment is busy, please retry", toMillis(globalIntervalNanos));
+        }
+
+        admittedCount.incrementAndGet();
+        try {
+            return action.get();
+        } catch (CourseFullException e) {
+            studentBucket.addAndGet(courseFullPenaltyNanos);
+            courseFullPenaltyCount.incrementAndGet();
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    public long getAdmittedCount() {
+        return admittedCount.get();
+    }
+
+    /**
+     * @return Jumlah request yang ditolak karena batas per mahasiswa
+     */
+    public long getStudentRejectedCount() {
+        return studentRejectedCount.get();
+    }
+
+    /**
+     * @return Jumlah request yang ditolak karena batas global
+     */
+    public long getGlobalRejectedCount() {
+        return globalRejectedCount.get();
+    }
+
+    /**
+     * @return Jumlah request yang ditolak karena terlalu banyak request yang sedang diproses
+     */
+    public long getConcurrencyRejectedCount() {
+        return concurrencyRejectedCount.get();
+    }
+
+    /**
+     * @return Jumlah penalti yang diberikan karena CourseFullException
+     */
+    public long getCourseFullPenaltyCount() {
+        return courseFullPenaltyCount.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    /**
+     * GCRA: request diterima jika waktu kedatangan teoretis (TAT) tidak lebih dari
+     * now + tolerance, lalu TAT dimajukan satu interval
+     * @return 0 jika token didapat, atau lama tunggu dalam nanodetik
+     */
+    private static long tryAcquire(AtomicLong bucket, long now, long interval, long tolerance) {
+        while (true) {
+            long tat = bucket.get();
+            long start = Math.max(tat, now);
+            long wait = start - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (bucket.compareAndSet(tat, start + interval)) {
+                return 0;
+            }
+        }
+    }
+
+    private boolean tryEnter() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= maxConcurrent) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static long toMillis(long nanos) {
+        return Math.max(1, (nanos + 999_999) / 1_000_000);
+    }
+}
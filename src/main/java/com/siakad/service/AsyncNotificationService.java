@@ -0,0 +1,294 @@
+package com.siakad.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * NotificationService asinkron di depan service notifikasi yang sebenarnya
+ *
+ * Pesan dimasukkan ke ring buffer berukuran tetap dan langsung kembali ke pemanggil,
+ * sehingga enrollment tidak lagi menunggu mail gateway. Worker thread di background
+ * mengambil pesan per batch dan mengirimkannya ke delegate. Jika buffer penuh,
+ * perilakunya ditentukan oleh OverflowPolicy.
+ *
+ * Setiap pesan yang diterima sendEmail/sendSMS pasti berakhir sebagai sent, failed,
+ * atau dropped: worker baru berhenti setelah close, tidak ada enqueue yang sedang
+ * berjalan, dan buffer kosong. Pesan yang dikirim setelah close dihitung sebagai dropped,
+ * bukan dilempar ke pemanggil, karena pemanggil seperti EnrollmentService mengirim
+ * notifikasi setelah enrollment tersimpan.
+ */
+
+public class AsyncNotificationService implements NotificationService, AutoCloseable {
+
+    /**
+     * Perilaku ketika buffer penuh
+     */
+    public enum OverflowPolicy {
+        /** Pemanggil menunggu sampai ada slot kosong (backpressure) */
+        BLOCK,
+        /** Pesan baru dibuang */
+        DROP_NEWEST,
+        /** Pesan terlama di buffer dibuang untuk memberi tempat pesan baru */
+        DROP_OLDEST,
+        /** Pesan dikirim langsung di thread pemanggil */
+        CALLER_RUNS
+    }
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final long DEFAULT_CLOSE_TIMEOUT_MILLIS = 30_000;
+
+    private final NotificationService delegate;
+    private final BlockingQueue<Message> queue;
+    private final int batchSize;
+    private final OverflowPolicy overflowPolicy;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+    // Diisi close setelah batas waktu habis; buffer tidak lagi dibaca worker
+    private volatile boolean terminated;
+    private final AtomicInteger activeEnqueues = new AtomicInteger();
+
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong droppedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+
+    public AsyncNotificationService(NotificationService delegate, int capacity, int workerCount,
+                                    int batchSize, OverflowPolicy overflowPolicy) {
+        if (capacity < 1 || workerCount < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Capacity, worker count and batch size must be positive");
+        }
+        this.delegate = delegate;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.overflowPolicy = overflowPolicy;
+
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::drainLoop, "notification-dispatcher-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+    }
+
+    @Override
+    public void sendEmail(String email, String subject, String message) {
+        enqueue(new Message(email, subject, message, false));
+    }
+
+    @Override
+    public void sendSMS(String phone, String message) {
+        enqueue(new Message(phone, null, message, true));
+    }
+
+    /**
+     * Menghentikan penerimaan pesan baru lalu menunggu worker mengirim sisa pesan di buffer,
+     * paling lama 30 detik
+     */
+    @Override
+    public void close() {
+        close(DEFAULT_CLOSE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Menghentikan penerimaan pesan baru lalu menunggu worker mengirim sisa pesan di buffer.
+     * Jika batas waktu habis (misalnya delegate macet), worker diinterupsi dan pesan yang
+     * belum terkirim dihitung sebagai dropped
+     * @return true jika seluruh pesan selesai diproses sebelum batas waktu
+     */
+    public boolean close(long timeout, TimeUnit unit) {
+        running = false;
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        boolean completed = true;
+        for (Thread worker : workers) {
+            try {
+                long remaining = deadline - System.nanoTime();
+                if (remaining > 0) {
+                    TimeUnit.NANOSECONDS.timedJoin(worker, remaining);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            completed &= !worker.isAlive();
+        }
+        if (completed) {
+            return true;
+        }
+
+        terminated = true;
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+        for (Thread worker : workers) {
+            try {
+                worker.join(POLL_INTERVAL_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        while (queue.poll() != null) {
+            droppedCount.incrementAndGet();
+        }
+        return false;
+    }
+
+    /**
+     * @return Jumlah pesan yang sedang menunggu di buffer
+     */
+    public int getQueueDepth() {
+        return queue.size();
+    }
+
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    public long getDroppedCount() {
+        return droppedCount.get();
+    }
+
+    /**
+     * @return Jumlah pesan yang gagal dikirim oleh delegate
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return Rata-rata waktu dari pesan masuk buffer sampai selesai dikirim, dalam nanodetik
+     */
+    public long getAverageSendLatencyNanos() {
+        long delivered = sentCount.get() + failedCount.get();
+        return delivered == 0 ? 0 : totalLatencyNanos.get() / delivered;
+    }
+
+    public long getMaxSendLatencyNanos() {
+        return maxLatencyNanos.get();
+    }
+
+    private void enqueue(Message message) {
+        // Dicatat sebelum running dibaca, sehingga worker tidak berhenti selama enqueue berjalan
+        activeEnqueues.incrementAndGet();
+        try {
+            if (!running) {
+                droppedCount.incrementAndGet();
+                return;
+            }
+            if (!queue.offer(message) && !handleOverflow(message)) {
+                return;
+            }
+            // close yang sudah menyerah menunggu worker tidak akan mengirim pesan ini
+            if (terminated && queue.remove(message)) {
+                droppedCount.incrementAndGet();
+            }
+        } finally {
+            activeEnqueues.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return true jika pesan akhirnya masuk buffer
+     */
+    private boolean handleOverflow(Message message) {
+        switch (overflowPolicy) {
+            case BLOCK:
+                try {
+                    while (!queue.offer(message, POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS)) {
+                        if (terminated) {
+                            droppedCount.incrementAndGet();
+                            return false;
+                        }
+                    }
+                    return true;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    droppedCount.incrementAndGet();
+                    return false;
+                }
+            case DROP_OLDEST:
+                while (!queue.offer(message)) {
+                    if (queue.poll() != null) {
+                        droppedCount.incrementAndGet();
+                    }
+                }
+                return true;
+            case CALLER_RUNS:
+                deliver(message);
+                return false;
+            case DROP_NEWEST:
+            default:
+                droppedCount.incrementAndGet();
+                return false;
+        }
+    }
+
+    private void drainLoop() {
+        List<Message> batch = new ArrayList<>(batchSize);
+        while (true) {
+            Message first;
+            try {
+                first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (first == null) {
+                // Urutan pengecekan penting: enqueue menaikkan activeEnqueues sebelum membaca running
+                if (!running && activeEnqueues.get() == 0 && queue.isEmpty()) {
+                    return;
+                }
+                continue;
+            }
+
+            batch.add(first);
+            queue.drainTo(batch, batchSize - 1);
+            for (int i = 0; i < batch.size(); i++) {
+                if (Thread.currentThread().isInterrupted()) {
+                    // Diinterupsi oleh close setelah batas waktu, sisa batch tidak dikirim
+                    droppedCount.addAndGet(batch.size() - i);
+                    return;
+                }
+                deliver(batch.get(i));
+            }
+            batch.clear();
+        }
+    }
+
+    private void deliver(Message message) {
+        try {
+            if (message.sms) {
+                delegate.sendSMS(message.recipient, message.body);
+            } else {
+                delegate.sendEmail(message.recipient, message.subject, message.body);
+            }
+            sentCount.incrementAndGet();
+        } catch (RuntimeException e) {
+            failedCount.incrementAndGet();
+        }
+
+        long latency = System.nanoTime() - message.enqueuedAt;
+        totalLatencyNanos.addAndGet(latency);
+        maxLatencyNanos.accumulateAndGet(latency, Math::max);
+    }
+
+    private static final class Message {
+        private final String recipient;
+        private final String subject;
+        private final String body;
+        private final boolean sms;
+        private final long enqueuedAt = System.nanoTime();
+
+        private Message(String recipient, String subject, String body, boolean sms) {
+            this.recipient = recipient;
+            this.subject = subject;
+            this.body = body;
+            this.sms = sms;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.siakad.service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * NotificationService yang menggabungkan email per penerima menjadi satu digest
+ *
+ * Email pertama untuk seorang penerima membuka window; seluruh email ke penerima
+ * yang sama selama window tersebut dikirim sebagai satu email digest saat window
+ * berakhir. Jika hanya ada satu email, email tersebut dikirim apa adanya.
+ * Jika smsRecipientResolver diisi, setiap digest juga diikuti satu SMS ringkasan.
+ * SMS yang dikirim langsung lewat sendSMS diteruskan tanpa digabung.
+ * Setelah close, email diteruskan langsung ke delegate tanpa digabung.
+ * Kegagalan delegate saat mengirim digest dihitung per penerima (getFailedCount) dan
+ * tidak menghentikan pengiriman digest penerima lain.
+ */
+
+public class CoalescingNotificationService implements NotificationService, AutoCloseable {
+    static final String DIGEST_SUBJECT = "Notification Digest";
+
+    private final NotificationService delegate;
+    private final long windowMillis;
+    private final Function<String, String> smsRecipientResolver;
+    private final ScheduledThreadPoolExecutor scheduler;
+    private final ConcurrentMap<String, Window> pending = new ConcurrentHashMap<>();
+    // Read lock dipegang sendEmail, write lock oleh close, agar tidak ada window baru setelah close
+    private final ReentrantReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private boolean closed;
+
+    private final AtomicLong receivedCount = new AtomicLong();
+    private final AtomicLong sentCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    public CoalescingNotificationService(NotificationService delegate, Duration window) {
+        this(delegate, window, null);
+    }
+
+    /**
+     * @param delegate Service notifikasi yang mengirim pesan sebenarnya
+     * @param window Lama window penggabungan per penerima
+     * @param smsRecipientResolver Pemetaan email ke nomor telepon untuk SMS ringkasan, boleh null
+     */
+    public CoalescingNotificationService(NotificationService delegate, Duration window,
+                                         Function<String, String> smsRecipientResolver) {
+        if (window.isNegative() || window.isZero()) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.delegate = delegate;
+        this.windowMillis = window.toMillis();
+        this.smsRecipientResolver = smsRecipientResolver;
+        this.scheduler = new ScheduledThreadPoolExecutor(1, runnable -> {
+            Thread thread = new Thread(runnable, "notification-coalescer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    @Override
+    public void sendEmail(String email, String subject, String message) {
+        receivedCount.incrementAndGet();
+        PendingEmail entry = new PendingEmail(subject, message);
+        closeLock.readLock().lock();
+        try {
+            if (!closed) {
+                pending.compute(email, (recipient, window) -> {
+                    if (window == null) {
+                        window = new Window();
+                        Window opened = window;
+                        opened.timer = scheduler.schedule(() -> flushWindow(recipient, opened),
+                                windowMillis, TimeUnit.MILLISECONDS);
+                    }
+                    window.messages.add(entry);
+                    return window;
+                });
+                return;
+            }
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        // Sudah ditutup: diteruskan apa adanya, tanpa SMS ringkasan
+        delegate.sendEmail(email, subject, message);
+        sentCount.incrementAndGet();
+    }
+
+    @Override
+    public void sendSMS(String phone, String message) {
+        delegate.sendSMS(phone, message);
+    }
+
+    /**
+     * Mengirim digest seorang penerima sekarang tanpa menunggu window berakhir
+     * @param email Alamat email penerima
+     */
+    public void flush(String email) {
+        Window window = pending.remove(email);
+        if (window == null) {
+            return;
+        }
+        // Timer window ini tidak boleh ikut memotong window berikutnya
+        window.timer.cancel(false);
+        deliver(email, window.messages);
+    }
+
+    /**
+     * Dipanggil timer; hanya mengirim jika window tersebut belum di-flush lebih dulu
+     */
+    private void flushWindow(String email, Window window) {
+        if (pending.remove(email, window)) {
+            deliver(email, window.messages);
+        }
+    }
+
+    /**
+     * Exception dari delegate tidak diteruskan: dari timer exception akan hilang di dalam
+     * ScheduledFuture, dan dari flushAll akan menghentikan digest penerima berikutnya
+     */
+    private void deliver(String email, List<PendingEmail> messages) {
+        try {
+            if (messages.size() == 1) {
+                delegate.sendEmail(email, messages.get(0).subject, messages.get(0).body);
+            } else {
+                StringBuilder body = new StringBuilder();
+                for (PendingEmail entry : messages) {
+                    body.append("- ").append(entry.subject).append(": ").append(entry.body).append('\n');
+                }
+                delegate.sendEmail(email, DIGEST_SUBJECT + " (" + messages.size() + " messages)", body.toString());
+            }
+            sentCount.incrementAndGet();
+        } catch (RuntimeException e) {
+            // SMS ringkasan tidak dikirim karena email-nya tidak terkirim
+            failedCount.incrementAndGet();
+            return;
+        }
+
+        if (smsRecipientResolver != null) {
+            try {
+                String phone = smsRecipientResolver.apply(email);
+                if (phone != null) {
+                    delegate.sendSMS(phone, "You have " + messages.size()
+                            + " new notification(s), please check your email.");
+                }
+            } catch (RuntimeException e) {
+                failedCount.incrementAndGet();
+            }
+        }
+    }
+
+    /**
+     * Mengirim seluruh digest yang masih tertunda
+     */
+    public void flushAll() {
+        for (String email : new ArrayList<>(pending.keySet())) {
+            flush(email);
+        }
+    }
+
+    /**
+     * Mengirim seluruh digest yang tertunda lalu menghentikan scheduler
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            closed = true;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        scheduler.shutdownNow();
+        flushAll();
+    }
+
+    /**
+     * @return Jumlah email yang diterima dari pemanggil
+     */
+    public long getReceivedCount() {
+        return receivedCount.get();
+    }
+
+    /**
+     * @return Jumlah email (tunggal maupun digest) yang diteruskan ke delegate
+     */
+    public long getSentCount() {
+        return sentCount.get();
+    }
+
+    /**
+     * @return Jumlah email (tunggal maupun digest) atau SMS ringkasan yang gagal dikirim delegate
+     */
+    public long getFailedCount() {
+        return failedCount.get();
+    }
+
+    /**
+     * @return Jumlah penerima yang digest-nya masih menunggu window berakhir
+     */
+    public int getPendingRecipientCount() {
+        return pending.size();
+    }
+
+    /**
+     * @return Jumlah timer window yang masih terjadwal
+     */
+    int getScheduledWindowCount() {
+        return scheduler.getQueue().size();
+    }
+
+    /**
+     * Email yang menunggu digest
+     */
+    private static final class PendingEmail {
+        private final String subject;
+        private final String body;
+
+        private PendingEmail(String subject, String body) {
+            this.subject = subject;
+            this.body = body;
+        }
+    }
+
+    /**
+     * Window penggabungan seorang penerima beserta timer-nya.
+     * messages hanya diubah di dalam pending.compute untuk penerima tersebut
+     */
+    private static final class Window {
+        private final List<PendingEmail> messages = new ArrayList<>();
+        private ScheduledFuture<?> timer;
+    }
+}
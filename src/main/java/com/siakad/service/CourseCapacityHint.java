@@ -0,0 +1,118 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Cache lokal "mata kuliah penuh" dalam bentuk bitset
+ *
+ * Setiap kode mata kuliah di-intern menjadi posisi bit. Bit diset atau dibersihkan dengan
+ * CAS setiap kali EnrollmentService mengubah jumlah peserta (enroll, drop, rollback), sehingga
+ * request ke mata kuliah penuh bisa ditolak sebelum ada akses repository. Karena bit yang
+ * salah diset tidak pernah dikoreksi oleh request yang ditolak cepat, bit ditulis lewat
+ * refresh dari jumlah peserta live. Nilainya hanya petunjuk: perubahan kapasitas di luar
+ * EnrollmentService harus dilaporkan lewat update(Course).
+ * Mata kuliah di luar kapasitas bitset tidak dicatat dan selalu dianggap belum penuh.
+ */
+
+public class CourseCapacityHint {
+    private final int maxCourses;
+    private final ConcurrentMap<String, Integer> courseIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCourseId = new AtomicInteger();
+    private final AtomicLongArray fullBits;
+
+    /**
+     * @param maxCourses Jumlah maksimum mata kuliah yang dicatat
+     */
+    public CourseCapacityHint(int maxCourses) {
+        if (maxCourses < 1) {
+            throw new IllegalArgumentException("Max courses must be positive");
+        }
+        this.maxCourses = maxCourses;
+        this.fullBits = new AtomicLongArray((maxCourses + 63) >>> 6);
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return true jika mata kuliah terakhir diketahui penuh
+     */
+    public boolean isFull(String courseCode) {
+        Integer id = courseIds.get(courseCode);
+        return id != null && id >= 0 && (fullBits.get(id >>> 6) & (1L << id)) != 0;
+    }
+
+    /**
+     * Memperbarui hint dari enrolledCount dan kapasitas mata kuliah
+     * @param course Mata kuliah yang baru ditulis
+     */
+    public void update(Course course) {
+        markFull(course.getCourseCode(), course.getEnrolledCount() >= course.getCapacity());
+    }
+
+    /**
+     * Menulis bit dari kondisi live, lalu mengecek ulang kondisinya. Jika penulis lain mengubah
+     * jumlah peserta di antara pembacaan dan penulisan, bit ditulis ulang, sehingga penulis
+     * terakhir selalu meninggalkan bit yang sesuai dengan jumlah peserta terbaru
+     * @param courseCode Kode mata kuliah
+     * @param isFull Membaca apakah mata kuliah penuh dari jumlah peserta live
+     */
+    public void refresh(String courseCode, BooleanSupplier isFull) {
+        boolean full;
+        do {
+            full = isFull.getAsBoolean();
+            markFull(courseCode, full);
+        } while (full != isFull.getAsBoolean());
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @param full true jika mata kuliah penuh
+     */
+    public void markFull(String courseCode, boolean full) {
+        int id = idOf(courseCode, full);
+        if (id < 0) {
+            return;
+        }
+        int word = id >>> 6;
+        long bit = 1L << id;
+        while (true) {
+            long current = fullBits.get(word);
+            long next = full ? current | bit : current & ~bit;
+            if (current == next || fullBits.compareAndSet(word, current, next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return Jumlah mata kuliah yang tercatat di hint
+     */
+    public int getCourseCount() {
+        return Math.min(nextCourseId.get(), maxCourses);
+    }
+
+    /**
+     * Mata kuliah yang belum pernah penuh tidak perlu di-intern
+     * @return Posisi bit, atau -1 jika mata kuliah tidak dicatat
+     */
+    private int idOf(String courseCode, boolean intern) {
+        Integer id = courseIds.get(courseCode);
+        if (id != null) {
+            return id;
+        }
+        // Kode yang melebihi kapasitas dicatat sebagai -1 agar tidak di-intern ulang
+        if (!intern || nextCourseId.get() >= maxCourses) {
+            return -1;
+        }
+        id = courseIds.computeIfAbsent(courseCode, code -> {
+            int next = nextCourseId.getAndIncrement();
+            return next < maxCourses ? next : -1;
+        });
+        return id;
+    }
+}
@@ -0,0 +1,54 @@
+package com.siakad.service;
+
+/**
+ * Menentukan node pemilik setiap mata kuliah berdasarkan hash courseCode, dan node
+ * pemilik ledger SKS setiap mahasiswa berdasarkan hash studentId
+ *
+ * Hash dihitung dari String#hashCode yang nilainya dijamin sama di setiap JVM,
+ * lalu diacak ulang agar kode mata kuliah yang berurutan (CS101, CS102, ...)
+ * tersebar rata ke semua node.
+ */
+
+public class CoursePartitioner {
+    private final int nodeCount;
+
+    /**
+     * @param nodeCount Jumlah node
+     */
+    public CoursePartitioner(int nodeCount) {
+        if (nodeCount < 1) {
+            throw new IllegalArgumentException("Node count must be positive");
+        }
+        this.nodeCount = nodeCount;
+    }
+
+    /**
+     * @param courseCode Kode mata kuliah
+     * @return Nomor node pemilik mata kuliah, antara 0 dan nodeCount - 1
+     */
+    public int ownerOf(String courseCode) {
+        return nodeOf(courseCode);
+    }
+
+    /**
+     * @param studentId ID mahasiswa
+     * @return Nomor node yang memegang ledger SKS mahasiswa, antara 0 dan nodeCount - 1
+     */
+    public int ownerOfStudent(String studentId) {
+        return nodeOf(studentId);
+    }
+
+    private int nodeOf(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        hash *= 0xc2b2ae35;
+        hash ^= hash >>> 16;
+        return Math.floorMod(hash, nodeCount);
+    }
+
+    public int getNodeCount() {
+        return nodeCount;
+    }
+}
@@ -0,0 +1,290 @@
+package com.siakad.service;
+
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Waitlist per mata kuliah untuk mata kuliah yang sudah penuh
+ *
+ * Urutan default FIFO; dengan comparator lain (misalnya BY_SEMESTER_THEN_GPA) mahasiswa
+ * diurutkan berdasarkan prioritas dan yang datang lebih dulu menang jika prioritasnya sama.
+ * Keputusan "masuk waitlist" dan "kursi kosong diberikan ke kepala waitlist atau dilepas"
+ * diambil di bawah lock mata kuliah yang sama, sehingga tidak ada mahasiswa yang tertinggal
+ * di waitlist sementara kursinya sudah dilepas. Kursi yang gagal diberikan ke kepala
+ * waitlist (misalnya karena journal gagal) tetap dipegang waitlist sampai promosi diulang.
+ */
+
+public class CourseWaitlist {
+    /** Semester lebih tinggi lebih dulu, lalu IPK lebih tinggi */
+    public static final Comparator<Entry> BY_SEMESTER_THEN_GPA = Comparator
+            .comparingInt(Entry::getSemester).reversed()
+            .thenComparing(Comparator.comparingDouble(Entry::getGpa).reversed());
+
+    private final Comparator<Entry> order;
+    private final ConcurrentMap<String, Queue> queues = new ConcurrentHashMap<>();
+    private final AtomicLong arrivals = new AtomicLong();
+
+    /**
+     * Membuat waitlist FIFO
+     */
+    public CourseWaitlist() {
+        this(null);
+    }
+
+    /**
+     * @param priority Urutan prioritas mahasiswa, atau null untuk FIFO
+     */
+    public CourseWaitlist(Comparator<Entry> priority) {
+        Comparator<Entry> fifo = Comparator.comparingLong(Entry::getArrival);
+        this.order = priority == null ? fifo : priority.thenComparing(fifo);
+    }
+
+    /**
+     * Memasukkan mahasiswa ke waitlist jika mata kuliah masih penuh
+     * @param student Mahasiswa
+     * @param enrollment Enrollment berstatus WAITLISTED milik mahasiswa
+     * @param isFull Dicek di bawah lock mata kuliah; jika false mahasiswa tidak dimasukkan
+     * @return true jika mahasiswa masuk waitlist, false jika ternyata ada kursi kosong
+     * @throws EnrollmentException jika mahasiswa sudah ada di waitlist mata kuliah tersebut
+     */
+    public boolean enqueueIfFull(Student student, Enrollment enrollment, BooleanSupplier isFull) {
+        Queue queue = queueFor(enrollment.getCourseCode());
+        synchronized (queue) {
+            if (queue.students.contains(student.getStudentId())) {
+                throw new EnrollmentException("Already on waitlist for course: " + enrollment.getCourseCode());
+            }
+            if (!isFull.getAsBoolean()) {
+                return false;
+            }
+            queue.add(new Entry(enrollment, student.getSemester(), student.getGpa(), arrivals.incrementAndGet()));
+            return true;
+        }
+    }
+
+    /**
+     * Mengambil kepala waitlist untuk kursi yang baru kosong
+     * @param courseCode Kode mata kuliah
+     * @param onEmpty Dijalankan di bawah lock mata kuliah jika waitlist kosong (misalnya melepas kursi)
+     * @return Kepala waitlist, atau null jika waitlist kosong
+     */
+    public Entry pollOrElse(String courseCode, Runnable onEmpty) {
+        Queue queue = queueFor(courseCode);
+        synchronized (queue) {
+            Entry head = queue.poll();
+            if (head == null) {
+                onEmpty.run();
+            }
+            return head;
+        }
+    }
+
+    /**
+     * Mengembalikan entry yang gagal dipromosikan ke posisi semula
+     * @param entry Entry dari pollOrElse
+     */
+    public void restore(Entry entry) {
+        Queue queue = queueFor(entry.getCourseCode());
+        synchronized (queue) {
+            if (!queue.students.contains(entry.getStudentId())) {
+                queue.add(entry);
+            }
+        }
+    }
+
+    /**
+     * Mengembalikan entry yang gagal dipromosikan ke posisi semula, sementara kursinya
+     * tetap dipegang waitlist agar tidak diambil mahasiswa lain yang mendaftar belakangan
+     * @param entry Entry dari pollOrElse atau pollHeldSeat
+     */
+    public void restoreWithSeat(Entry entry) {
+        Queue queue = queueFor(entry.getCourseCode());
+        synchronized (queue) {
+            if (!queue.students.contains(entry.getStudentId())) {
+                queue.add(entry);
+            }
+            queue.heldSeats++;
+        }
+    }
+
+    /**
+     * Mengambil kepala waitlist untuk kursi yang dipegang dari promosi yang gagal
+     * @param courseCode Kode mata kuliah
+     * @param onEmpty Dijalankan di bawah lock mata kuliah untuk setiap kursi yang dipegang
+     *                jika waitlist sudah kosong (misalnya melepas kursi)
+     * @return Kepala waitlist, atau null jika tidak ada lagi kursi yang dipegang
+     */
+    public Entry pollHeldSeat(String courseCode, Runnable onEmpty) {
+        Queue queue = queues.get(courseCode);
+        if (queue == null) {
+            return null;
+        }
+        synchronized (queue) {
+            while (queue.heldSeats > 0) {
+                queue.heldSeats--;
+                Entry head = queue.poll();
+                if (head != null) {
+                    return head;
+                }
+                onEmpty.run();
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return Jumlah kursi yang dipegang waitlist karena promosinya belum tercatat
+     */
+    public int getHeldSeats(String courseCode) {
+        Queue queue = queues.get(courseCode);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.heldSeats;
+        }
+    }
+
+    /**
+     * Mengeluarkan mahasiswa dari waitlist
+     * @return Entry mahasiswa, atau null jika mahasiswa tidak ada di waitlist
+     */
+    public Entry remove(String studentId, String courseCode) {
+        Queue queue = queues.get(courseCode);
+        if (queue == null) {
+            return null;
+        }
+        synchronized (queue) {
+            if (!queue.students.remove(studentId)) {
+                return null;
+            }
+            for (Entry entry : queue.entries) {
+                if (entry.getStudentId().equals(studentId)) {
+                    queue.entries.remove(entry);
+                    return entry;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * @return Posisi mahasiswa di waitlist (1 = berikutnya), atau -1 jika tidak ada
+     */
+    public int getPosition(String studentId, String courseCode) {
+        Queue queue = queues.get(courseCode);
+        if (queue == null) {
+            return -1;
+        }
+        synchronized (queue) {
+            if (!queue.students.contains(studentId)) {
+                return -1;
+            }
+            PriorityQueue<Entry> copy = new PriorityQueue<>(queue.entries);
+            int position = 1;
+            while (!copy.isEmpty()) {
+                if (copy.poll().getStudentId().equals(studentId)) {
+                    return position;
+                }
+                position++;
+            }
+            return -1;
+        }
+    }
+
+    public int size(String courseCode) {
+        Queue queue = queues.get(courseCode);
+        if (queue == null) {
+            return 0;
+        }
+        synchronized (queue) {
+            return queue.entries.size();
+        }
+    }
+
+    private Queue queueFor(String courseCode) {
+        return queues.computeIfAbsent(courseCode, code -> new Queue(order));
+    }
+
+    /**
+     * Antrean satu mata kuliah, dijaga oleh lock pada objek Queue itu sendiri
+     */
+    private static final class Queue {
+        private final PriorityQueue<Entry> entries;
+        private final Set<String> students = new HashSet<>();
+        private int heldSeats;
+
+        private Queue(Comparator<Entry> order) {
+            this.entries = new PriorityQueue<>(order);
+        }
+
+        private void add(Entry entry) {
+            entries.add(entry);
+            students.add(entry.getStudentId());
+        }
+
+        private Entry poll() {
+            Entry head = entries.poll();
+            if (head != null) {
+                students.remove(head.getStudentId());
+            }
+            return head;
+        }
+    }
+
+    /**
+     * Satu mahasiswa di waitlist. Semester dan IPK diambil saat mahasiswa masuk waitlist
+     */
+    public static final class Entry {
+        private final Enrollment enrollment;
+        private final int semester;
+        private final double gpa;
+        private final long arrival;
+
+        Entry(Enrollment enrollment, int semester, double gpa, long arrival) {
+            this.enrollment = enrollment;
+            this.semester = semester;
+            this.gpa = gpa;
+            this.arrival = arrival;
+        }
+
+        /**
+         * @return Enrollment berstatus WAITLISTED yang dibuat saat mahasiswa masuk waitlist
+         */
+        public Enrollment getEnrollment() {
+            return enrollment;
+        }
+
+        public String getStudentId() {
+            return enrollment.getStudentId();
+        }
+
+        public String getCourseCode() {
+            return enrollment.getCourseCode();
+        }
+
+        public int getSemester() {
+            return semester;
+        }
+
+        public double getGpa() {
+            return gpa;
+        }
+
+        /**
+         * @return Urutan kedatangan, makin kecil makin awal
+         */
+        public long getArrival() {
+            return arrival;
+        }
+    }
+}
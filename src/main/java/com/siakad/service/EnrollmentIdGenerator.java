@@ -0,0 +1,15 @@
+package com.siakad.service;
+
+/**
+ * Interface untuk pembuat nomor enrollment
+ * Nomor yang dihasilkan harus unik dan tidak pernah 0
+ */
+
+public interface EnrollmentIdGenerator {
+
+    /**
+     * Membuat nomor enrollment berikutnya
+     * @return Nomor enrollment unik
+     */
+    long nextId();
+}
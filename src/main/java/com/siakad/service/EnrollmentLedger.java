@@ -0,0 +1,256 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.journal.EnrollmentState;
+import com.siakad.model.Course;
+import com.siakad.repository.CourseRepository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Ledger enrollment per mahasiswa di memori
+ *
+ * Menyimpan mata kuliah yang sedang diambil dan total SKS setiap mahasiswa. Pengecekan
+ * duplikat, batas SKS, dan pemesanan kursi di SeatInventory dilakukan dalam satu lock
+ * milik mahasiswa tersebut, sehingga dua request bersamaan dari mahasiswa yang sama tidak
+ * bisa melewati batas SKS atau mendaftar dua kali, sementara mahasiswa lain tidak ikut menunggu.
+ */
+
+public class EnrollmentLedger {
+    private final ConcurrentMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Mencatat enrollment dan memesan kursi secara atomik
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah
+     * @param maxCredits Batas SKS mahasiswa
+     * @param seatInventory Inventori kursi
+     * @return Jumlah peserta mata kuliah setelah pemesanan
+     * @throws EnrollmentException jika mahasiswa sudah terdaftar atau SKS melebihi batas
+     * @throws CourseFullException jika mata kuliah sudah penuh
+     */
+    public int reserve(String studentId, Course course, int maxCredits, SeatInventory seatInventory) {
+        return reserveAll(studentId, Collections.singletonList(course), maxCredits, seatInventory)[0];
+    }
+
+    /**
+     * Mencatat beberapa enrollment sekaligus (all-or-nothing) dan memesan kursinya
+     * @param studentId ID mahasiswa
+     * @param courses Mata kuliah
+     * @param maxCredits Batas SKS mahasiswa
+     * @param seatInventory Inventori kursi
+     * @return Jumlah peserta setiap mata kuliah setelah pemesanan, sesuai urutan courses
+     * @throws EnrollmentException jika mahasiswa sudah terdaftar di salah satu mata kuliah atau SKS melebihi batas
+     * @throws CourseFullException jika salah satu mata kuliah sudah penuh
+     */
+    public int[] reserveAll(String studentId, List<Course> courses, int maxCredits, SeatInventory seatInventory) {
+        Entry entry = entries.computeIfAbsent(studentId, id -> new Entry());
+        synchronized (entry) {
+            checkAdmissible(entry, courses, maxCredits);
+
+            int[] enrolledCounts = new int[courses.size()];
+            for (int i = 0; i < courses.size(); i++) {
+                enrolledCounts[i] = seatInventory.tryReserve(courses.get(i));
+                if (enrolledCounts[i] < 0) {
+                    for (int j = 0; j < i; j++) {
+                        seatInventory.release(courses.get(j));
+                    }
+                    throw new CourseFullException(courses.size() == 1 ? "Course is full"
+                            : "Course is full: " + courses.get(i).getCourseCode());
+                }
+            }
+            for (Course course : courses) {
+                entry.add(course.getCourseCode(), course.getCredits());
+            }
+            return enrolledCounts;
+        }
+    }
+
+    /**
+     * Mencatat enrollment untuk kursi yang sudah dipegang (misalnya kursi yang diserahkan
+     * ke kepala waitlist), dengan pengecekan duplikat dan batas SKS yang sama seperti reserve
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah
+     * @param maxCredits Batas SKS mahasiswa
+     * @throws EnrollmentException jika mahasiswa sudah terdaftar atau SKS melebihi batas
+     */
+    public void admit(String studentId, Course course, int maxCredits) {
+        admitAll(studentId, Collections.singletonList(course), maxCredits);
+    }
+
+    /**
+     * Mencatat beberapa enrollment sekaligus (all-or-nothing) tanpa memesan kursi, dengan
+     * pengecekan duplikat dan batas SKS yang sama seperti reserveAll
+     * @param studentId ID mahasiswa
+     * @param courses Mata kuliah
+     * @param maxCredits Batas SKS mahasiswa
+     * @throws EnrollmentException jika mahasiswa sudah terdaftar di salah satu mata kuliah atau SKS melebihi batas
+     */
+    public void admitAll(String studentId, List<Course> courses, int maxCredits) {
+        Entry entry = entries.computeIfAbsent(studentId, id -> new Entry());
+        synchronized (entry) {
+            checkAdmissible(entry, courses, maxCredits);
+            for (Course course : courses) {
+                entry.add(course.getCourseCode(), course.getCredits());
+            }
+        }
+    }
+
+    /**
+     * Membatalkan reserve yang belum selesai (misalnya gagal dicatat ke journal),
+     * enrollment dihapus dari ledger dan kursinya dilepas
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah
+     * @param seatInventory Inventori kursi
+     */
+    public void cancel(String studentId, Course course, SeatInventory seatInventory) {
+        if (remove(studentId, course.getCourseCode())) {
+            seatInventory.release(course);
+        }
+    }
+
+    /**
+     * Menghapus enrollment dari ledger tanpa menyentuh inventori kursi
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return true jika mahasiswa memang terdaftar di mata kuliah tersebut
+     */
+    public boolean remove(String studentId, String courseCode) {
+        Entry entry = entries.get(studentId);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (entry) {
+            return entry.remove(courseCode);
+        }
+    }
+
+    /**
+     * Mencatat enrollment yang sudah ada (misalnya hasil pemulihan journal) tanpa memesan kursi
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah
+     */
+    public void record(String studentId, Course course) {
+        Entry entry = entries.computeIfAbsent(studentId, id -> new Entry());
+        synchronized (entry) {
+            if (!entry.credits.containsKey(course.getCourseCode())) {
+                entry.add(course.getCourseCode(), course.getCredits());
+            }
+        }
+    }
+
+    /**
+     * Mengisi ledger dari enrollment APPROVED hasil pemulihan journal, misalnya setelah restart,
+     * agar pengecekan duplikat, batas SKS, dan drop memakai enrollment sebelum restart.
+     * SKS diambil dari repository dalam satu findAllByCourseCodes; enrollment untuk mata kuliah
+     * yang sudah tidak ada di repository dilewati
+     * @param state State hasil EnrollmentSnapshotStore.recover
+     * @param courseRepository Repository mata kuliah
+     * @return Jumlah enrollment yang dicatat
+     */
+    public int restore(EnrollmentState state, CourseRepository courseRepository) {
+        Set<String> courseCodes = new LinkedHashSet<>();
+        for (String studentId : state.getStudentIds()) {
+            courseCodes.addAll(state.getEnrolledCourses(studentId));
+        }
+        if (courseCodes.isEmpty()) {
+            return 0;
+        }
+
+        Map<String, Course> courses = courseRepository.findAllByCourseCodes(courseCodes);
+        int restored = 0;
+        for (String studentId : state.getStudentIds()) {
+            for (String courseCode : state.getEnrolledCourses(studentId)) {
+                Course course = courses.get(courseCode);
+                if (course != null) {
+                    record(studentId, course);
+                    restored++;
+                }
+            }
+        }
+        return restored;
+    }
+
+    public boolean isEnrolled(String studentId, String courseCode) {
+        Entry entry = entries.get(studentId);
+        if (entry == null) {
+            return false;
+        }
+        synchronized (entry) {
+            return entry.credits.containsKey(courseCode);
+        }
+    }
+
+    /**
+     * @return Total SKS yang sedang diambil mahasiswa
+     */
+    public int getTotalCredits(String studentId) {
+        Entry entry = entries.get(studentId);
+        if (entry == null) {
+            return 0;
+        }
+        synchronized (entry) {
+            return entry.totalCredits;
+        }
+    }
+
+    /**
+     * @return Salinan kode mata kuliah yang sedang diambil mahasiswa
+     */
+    public Set<String> getEnrolledCourses(String studentId) {
+        Entry entry = entries.get(studentId);
+        if (entry == null) {
+            return Collections.emptySet();
+        }
+        synchronized (entry) {
+            return new HashSet<>(entry.credits.keySet());
+        }
+    }
+
+    private static void checkAdmissible(Entry entry, List<Course> courses, int maxCredits) {
+        int requestedCredits = 0;
+        for (Course course : courses) {
+            if (entry.credits.containsKey(course.getCourseCode())) {
+                throw new EnrollmentException("Already enrolled in course: " + course.getCourseCode());
+            }
+            requestedCredits += course.getCredits();
+        }
+        int totalCredits = entry.totalCredits + requestedCredits;
+        if (totalCredits > maxCredits) {
+            throw new EnrollmentException("Credit limit exceeded: " + totalCredits
+                    + " of " + maxCredits + " SKS");
+        }
+    }
+
+    /**
+     * Data satu mahasiswa, dijaga oleh lock pada objek Entry itu sendiri
+     */
+    private static final class Entry {
+        // SKS disimpan per mata kuliah agar drop mengurangi SKS yang sama dengan saat daftar
+        private final Map<String, Integer> credits = new HashMap<>();
+        private int totalCredits;
+
+        private void add(String courseCode, int courseCredits) {
+            credits.put(courseCode, courseCredits);
+            totalCredits += courseCredits;
+        }
+
+        private boolean remove(String courseCode) {
+            Integer courseCredits = credits.remove(courseCode);
+            if (courseCredits == null) {
+                return false;
+            }
+            totalCredits -= courseCredits;
+            return true;
+        }
+    }
+}
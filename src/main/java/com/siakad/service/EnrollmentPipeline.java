@@ -0,0 +1,359 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
+import com.siakad.model.Student;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Pemrosesan enrollment bertahap di atas EnrollmentService
+ *
+ * Satu request enrollCourse dipecah menjadi lima stage: validasi mahasiswa, validasi
+ * mata kuliah dan kapasitas, prasyarat, commit, dan notifikasi. Setiap stage punya
+ * worker thread sendiri dan antrean berukuran tetap di depannya; worker mengambil
+ * request per batch sehingga lookup repository dilakukan sekali per batch
+ * (findAllByIds, findAllByCourseCodes, findUnmetPrerequisites). Antrean yang penuh
+ * menahan stage sebelumnya (backpressure) sampai ke pemanggil submit.
+ * Aturan validasi dan urutan pengecekan sama dengan EnrollmentService#enrollCourse.
+ * Handler stage hanya mencatat kegagalan di request; future diselesaikan oleh worker
+ * setelah latensi stage dicatat, sehingga histogram sudah lengkap saat future selesai.
+ */
+
+public class EnrollmentPipeline implements AutoCloseable {
+
+    /**
+     * Stage pipeline, sesuai urutan pemrosesan
+     */
+    public enum Stage {
+        VALIDATE_STUDENT,
+        VALIDATE_COURSE,
+        PREREQUISITES,
+        COMMIT,
+        NOTIFY
+    }
+
+    private static final long POLL_INTERVAL_MILLIS = 50;
+
+    private final EnrollmentService enrollmentService;
+    private final int batchSize;
+    private final Map<Stage, StageWorker> stages = new EnumMap<>(Stage.class);
+    // submit memegang read lock dari pengecekan running sampai request masuk antrean,
+    // sehingga close tidak bisa menghentikan worker di antara keduanya
+    private final ReadWriteLock closeLock = new ReentrantReadWriteLock();
+    private volatile boolean running = true;
+
+    /**
+     * @param enrollmentService Service yang menyediakan repository dan aturan enrollment
+     * @param queueCapacity Kapasitas antrean di depan setiap stage
+     * @param batchSize Jumlah maksimum request yang diproses sekaligus oleh satu stage
+     */
+    public EnrollmentPipeline(EnrollmentService enrollmentService, int queueCapacity, int batchSize) {
+        if (queueCapacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("Queue capacity and batch size must be positive");
+        }
+        this.enrollmentService = enrollmentService;
+        this.batchSize = batchSize;
+
+        StageWorker next = null;
+        Stage[] order = Stage.values();
+        for (int i = order.length - 1; i >= 0; i--) {
+            next = new StageWorker(order[i], queueCapacity, next, handlerFor(order[i]));
+            stages.put(order[i], next);
+        }
+        StageWorker upstream = null;
+        for (Stage stage : order) {
+            StageWorker worker = stages.get(stage);
+            worker.upstream = upstream;
+            upstream = worker;
+            worker.thread.start();
+        }
+    }
+
+    /**
+     * Memasukkan request enrollment ke pipeline. Menunggu jika antrean stage pertama penuh
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @return Future yang selesai dengan Enrollment, atau gagal dengan exception yang sama
+     *         seperti EnrollmentService#enrollCourse
+     * @throws IllegalStateException jika pipeline sudah ditutup
+     */
+    public CompletableFuture<Enrollment> submit(String studentId, String courseCode) {
+        Request request = new Request(studentId, courseCode);
+        closeLock.readLock().lock();
+        try {
+            if (!running) {
+                throw new IllegalStateException("Enrollment pipeline is closed");
+            }
+            if (enrollmentService.isKnownFull(courseCode)) {
+                request.future.completeExceptionally(new CourseFullException("Course is full"));
+                return request.future;
+            }
+            // Worker masih berjalan selama read lock dipegang, jadi put yang menunggu pasti selesai
+            stages.get(Stage.VALIDATE_STUDENT).queue.put(request);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            request.future.completeExceptionally(new EnrollmentException("Interrupted while submitting enrollment", e));
+        } finally {
+            closeLock.readLock().unlock();
+        }
+        return request.future;
+    }
+
+    /**
+     * @return Histogram waktu tinggal request di stage (menunggu di antrean + diproses)
+     */
+    public LatencyHistogram getLatencyHistogram(Stage stage) {
+        return stages.get(stage).latency;
+    }
+
+    /**
+     * @return Jumlah request yang sedang menunggu di antrean stage
+     */
+    public int getQueueDepth(Stage stage) {
+        return stages.get(stage).queue.size();
+    }
+
+    /**
+     * Menghentikan penerimaan request baru lalu menunggu semua request yang sudah
+     * masuk selesai melewati seluruh stage
+     */
+    @Override
+    public void close() {
+        closeLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            closeLock.writeLock().unlock();
+        }
+        for (StageWorker worker : stages.values()) {
+            try {
+                worker.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private Consumer<List<Request>> handlerFor(Stage stage) {
+        switch (stage) {
+            case VALIDATE_STUDENT:
+                return this::validateStudents;
+            case VALIDATE_COURSE:
+                return this::validateCourses;
+            case PREREQUISITES:
+                return this::checkPrerequisites;
+            case COMMIT:
+                return this::commit;
+            case NOTIFY:
+            default:
+                return this::notifyStudents;
+        }
+    }
+
+    private void validateStudents(List<Request> batch) {
+        Set<String> studentIds = new LinkedHashSet<>();
+        for (Request request : batch) {
+            studentIds.add(request.studentId);
+        }
+        Map<String, Student> students = enrollmentService.getStudentRepository().findAllByIds(studentIds);
+        for (Request request : batch) {
+            Student student = students.get(request.studentId);
+            try {
+                enrollmentService.checkStudent(request.studentId, student);
+                request.student = student;
+            } catch (RuntimeException e) {
+                request.failure = e;
+            }
+        }
+    }
+
+    private void validateCourses(List<Request> batch) {
+        Set<String> courseCodes = new LinkedHashSet<>();
+        for (Request request : batch) {
+            courseCodes.add(request.courseCode);
+        }
+        Map<String, Course> courses = enrollmentService.getCourseRepository().findAllByCourseCodes(courseCodes);
+        for (Request request : batch) {
+            Course course = courses.get(request.courseCode);
+            try {
+                enrollmentService.checkCourse(request.courseCode, course);
+                request.course = course;
+            } catch (RuntimeException e) {
+                request.failure = e;
+            }
+        }
+    }
+
+    private void checkPrerequisites(List<Request> batch) {
+        Map<String, List<Request>> byStudent = new LinkedHashMap<>();
+        for (Request request : batch) {
+            byStudent.computeIfAbsent(request.studentId, id -> new ArrayList<>()).add(request);
+        }
+        for (Map.Entry<String, List<Request>> entry : byStudent.entrySet()) {
+            List<Course> courses = new ArrayList<>(entry.getValue().size());
+            for (Request request : entry.getValue()) {
+                courses.add(request.course);
+            }
+            Set<String> unmet = enrollmentService.findUnmetPrerequisites(entry.getKey(), courses);
+            for (Request request : entry.getValue()) {
+                if (unmet.contains(request.courseCode)) {
+                    request.failure = new PrerequisiteNotMetException("Prerequisites not met");
+                }
+            }
+        }
+    }
+
+    private void commit(List<Request> batch) {
+        // Mata kuliah dibaca ulang: salinan dari VALIDATE_COURSE bisa sudah basi setelah
+        // menunggu di antrean, sedangkan commit menulis mata kuliah kembali ke repository
+        Set<String> courseCodes = new LinkedHashSet<>();
+        for (Request request : batch) {
+            courseCodes.add(request.courseCode);
+        }
+        Map<String, Course> courses = enrollmentService.getCourseRepository().findAllByCourseCodes(courseCodes);
+        for (Request request : batch) {
+            try {
+                Course course = courses.get(request.courseCode);
+                if (course == null) {
+                    throw new CourseNotFoundException("Course not found: " + request.courseCode);
+                }
+                request.course = course;
+                request.enrollment = enrollmentService.commitEnrollment(request.student, course);
+            } catch (RuntimeException e) {
+                request.failure = e;
+            }
+        }
+    }
+
+    private void notifyStudents(List<Request> batch) {
+        for (Request request : batch) {
+            try {
+                if (request.enrollment.getStatus() == EnrollmentStatus.APPROVED) {
+                    enrollmentService.notifyEnrolled(request.student, request.course);
+                }
+            } catch (RuntimeException e) {
+                request.failure = e;
+            }
+        }
+    }
+
+    /**
+     * Satu stage: antrean di depannya, worker thread, dan histogram latensinya
+     */
+    private final class StageWorker {
+        private final BlockingQueue<Request> queue;
+        private final StageWorker next;
+        private final Consumer<List<Request>> handler;
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final Thread thread;
+        private StageWorker upstream;
+        private volatile boolean finished;
+
+        private StageWorker(Stage stage, int queueCapacity, StageWorker next, Consumer<List<Request>> handler) {
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+            this.next = next;
+            this.handler = handler;
+            this.thread = new Thread(this::drainLoop, "enrollment-" + stage.name().toLowerCase().replace('_', '-'));
+            this.thread.setDaemon(true);
+        }
+
+        private void drainLoop() {
+            List<Request> batch = new ArrayList<>(batchSize);
+            try {
+                while (true) {
+                    Request first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        // Stage berhenti setelah stage sebelumnya berhenti dan antreannya kosong
+                        if (!running && (upstream == null || upstream.finished) && queue.isEmpty()) {
+                            return;
+                        }
+                        continue;
+                    }
+
+                    batch.add(first);
+                    queue.drainTo(batch, batchSize - 1);
+                    process(batch);
+                    batch.clear();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                for (Request request : batch) {
+                    request.future.completeExceptionally(
+                            new EnrollmentException("Interrupted while processing enrollment", e));
+                }
+            } finally {
+                finished = true;
+            }
+        }
+
+        private void process(List<Request> batch) throws InterruptedException {
+            try {
+                handler.accept(batch);
+            } catch (RuntimeException e) {
+                // Kegagalan lookup batch menggagalkan seluruh request di batch
+                for (Request request : batch) {
+                    if (request.failure == null) {
+                        request.failure = e;
+                    }
+                }
+            }
+
+            long now = System.nanoTime();
+            List<Request> survivors = next == null ? Collections.emptyList() : new ArrayList<>(batch.size());
+            for (Request request : batch) {
+                latency.record(now - request.stageEnteredAt);
+            }
+            // Future diselesaikan setelah latensi dicatat
+            for (Request request : batch) {
+                if (request.failure != null) {
+                    request.future.completeExceptionally(request.failure);
+                } else if (next == null) {
+                    request.future.complete(request.enrollment);
+                } else if (!request.future.isDone()) {
+                    survivors.add(request);
+                }
+            }
+            for (Request request : survivors) {
+                request.stageEnteredAt = now;
+                next.queue.put(request);
+            }
+        }
+    }
+
+    private static final class Request {
+        private final String studentId;
+        private final String courseCode;
+        private final CompletableFuture<Enrollment> future = new CompletableFuture<>();
+        private long stageEnteredAt = System.nanoTime();
+        private Student student;
+        private Course course;
+        private Enrollment enrollment;
+        private RuntimeException failure;
+
+        private Request(String studentId, String courseCode) {
+            this.studentId = studentId;
+            this.courseCode = courseCode;
+        }
+    }
+}
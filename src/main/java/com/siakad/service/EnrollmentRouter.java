@@ -0,0 +1,164 @@
+package com.siakad.service;
+
+import com.siakad.model.Enrollment;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Router enrollment untuk mode terpartisi
+ *
+ * Setiap mata kuliah dimiliki tepat satu node (CoursePartitioner), dan hanya node
+ * tersebut yang memegang counter kursinya. Router meneruskan enrollCourse dan
+ * dropCourse ke node pemilik lewat EnrollmentTransport, sehingga kontensi kursi hanya
+ * terjadi di dalam satu node. Keranjang yang mata kuliahnya tersebar di beberapa node
+ * dikirim per node; jika satu node gagal, enrollment yang sudah berhasil di node lain
+ * dibatalkan tanpa email konfirmasi drop. Setiap node hanya melihat SKS mata kuliah
+ * miliknya, sehingga batas SKS lintas node dijaga oleh ledger SKS di satu node pemilik
+ * mahasiswa (CoursePartitioner#ownerOfStudent): sebelum request diteruskan, SKS yang
+ * diminta dipesan di node tersebut dengan satu panggilan yang sekaligus mengecek batas,
+ * dan dilepas lagi jika enrollment gagal atau mata kuliah di-drop.
+ */
+
+public class EnrollmentRouter {
+    private final CoursePartitioner partitioner;
+    private final EnrollmentTransport transport;
+    private final AtomicLongArray routedCounts;
+    private final AtomicLong compensationCount = new AtomicLong();
+
+    /**
+     * @param partitioner Pembagi mata kuliah ke node
+     * @param transport Transport ke node-node pemilik
+     */
+    public EnrollmentRouter(CoursePartitioner partitioner, EnrollmentTransport transport) {
+        this.partitioner = partitioner;
+        this.transport = transport;
+        this.routedCounts = new AtomicLongArray(partitioner.getNodeCount());
+    }
+
+    /**
+     * @see EnrollmentService#enrollCourse(String, String)
+     */
+    public Enrollment enrollCourse(String studentId, String courseCode) {
+        List<String> courseCodes = Collections.singletonList(courseCode);
+        int creditOwner = partitioner.ownerOfStudent(studentId);
+        transport.reserveCredits(creditOwner, studentId, courseCodes);
+        try {
+            return transport.enrollCourse(route(courseCode), studentId, courseCode);
+        } catch (RuntimeException e) {
+            releaseCredits(creditOwner, studentId, courseCodes, e);
+            throw e;
+        }
+    }
+
+    /**
+     * @see EnrollmentService#dropCourse(String, String)
+     */
+    public void dropCourse(String studentId, String courseCode) {
+        transport.dropCourse(route(courseCode), studentId, courseCode);
+        transport.releaseCredits(partitioner.ownerOfStudent(studentId), studentId,
+                Collections.singletonList(courseCode));
+    }
+
+    /**
+     * Mendaftarkan keranjang mata kuliah. Keranjang dalam satu node tetap all-or-nothing;
+     * keranjang lintas node memakai kompensasi (drop) jika salah satu node gagal
+     * @see EnrollmentService#enrollCourses(String, List)
+     */
+    public List<Enrollment> enrollCourses(String studentId, List<String> courseCodes) {
+        if (courseCodes == null || courseCodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<Integer, List<String>> byNode = new LinkedHashMap<>();
+        for (String courseCode : courseCodes) {
+            byNode.computeIfAbsent(partitioner.ownerOf(courseCode), node -> new ArrayList<>()).add(courseCode);
+        }
+        int creditOwner = partitioner.ownerOfStudent(studentId);
+        transport.reserveCredits(creditOwner, studentId, courseCodes);
+        if (byNode.size() == 1) {
+            int node = byNode.keySet().iterator().next();
+            routedCounts.incrementAndGet(node);
+            try {
+                return transport.enrollCourses(node, studentId, courseCodes);
+            } catch (RuntimeException e) {
+                releaseCredits(creditOwner, studentId, courseCodes, e);
+                throw e;
+            }
+        }
+
+        Map<String, Enrollment> enrolled = new HashMap<>();
+        for (Map.Entry<Integer, List<String>> entry : byNode.entrySet()) {
+            routedCounts.incrementAndGet(entry.getKey());
+            try {
+                for (Enrollment enrollment : transport.enrollCourses(entry.getKey(), studentId, entry.getValue())) {
+                    enrolled.put(enrollment.getCourseCode(), enrollment);
+                }
+            } catch (RuntimeException e) {
+                // SKS mata kuliah yang gagal dibatalkan tetap dipesan karena enrollment-nya masih ada
+                List<String> released = new ArrayList<>(courseCodes);
+                released.removeAll(compensate(studentId, enrolled.keySet(), e));
+                releaseCredits(creditOwner, studentId, released, e);
+                throw e;
+            }
+        }
+
+        List<Enrollment> enrollments = new ArrayList<>(courseCodes.size());
+        for (String courseCode : courseCodes) {
+            enrollments.add(enrolled.get(courseCode));
+        }
+        return enrollments;
+    }
+
+    /**
+     * @return Jumlah request yang diteruskan ke node
+     */
+    public long getRoutedCount(int nodeId) {
+        return routedCounts.get(nodeId);
+    }
+
+    /**
+     * @return Jumlah enrollment yang dibatalkan karena keranjang lintas node gagal
+     */
+    public long getCompensationCount() {
+        return compensationCount.get();
+    }
+
+    private int route(String courseCode) {
+        int node = partitioner.ownerOf(courseCode);
+        routedCounts.incrementAndGet(node);
+        return node;
+    }
+
+    private void releaseCredits(int creditOwner, String studentId, List<String> courseCodes,
+                                RuntimeException cause) {
+        try {
+            transport.releaseCredits(creditOwner, studentId, courseCodes);
+        } catch (RuntimeException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    /**
+     * @return Mata kuliah yang gagal dibatalkan
+     */
+    private List<String> compensate(String studentId, Iterable<String> courseCodes, RuntimeException cause) {
+        List<String> failed = new ArrayList<>();
+        for (String courseCode : courseCodes) {
+            try {
+                transport.cancelEnrollment(partitioner.ownerOf(courseCode), studentId, courseCode);
+                compensationCount.incrementAndGet();
+            } catch (RuntimeException e) {
+                cause.addSuppressed(e);
+                failed.add(courseCode);
+            }
+        }
+        return failed;
+    }
+}
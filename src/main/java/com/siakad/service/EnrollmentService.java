@@ -1,13 +1,23 @@
 package com.siakad.service;
 
 import com.siakad.exception.*;
+import com.siakad.journal.EnrollmentJournal;
+import com.siakad.model.AcademicStatus;
 import com.siakad.model.Course;
 import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
 import com.siakad.model.Student;
 import com.siakad.repository.CourseRepository;
 import com.siakad.repository.StudentRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Service untuk mengelola enrollment (pendaftaran mata kuliah)
@@ -19,6 +29,16 @@ public class EnrollmentService {
     private CourseRepository courseRepository;
     private com.siakad.service.NotificationService notificationService;
     private com.siakad.service.GradeCalculator gradeCalculator;
+    private SeatInventory seatInventory = new SeatInventory();
+    private PrerequisiteIndex prerequisiteIndex;
+    private EnrollmentJournal enrollmentJournal;
+    private EnrollmentIdGenerator enrollmentIdGenerator = new SnowflakeIdGenerator(0);
+    private EnrollmentLedger enrollmentLedger;
+    // Mode terpartisi: SKS mahasiswa yang dimiliki node ini, lihat reserveCredits
+    private EnrollmentLedger creditLedger = new EnrollmentLedger();
+    private CourseWaitlist courseWaitlist;
+    private CourseCapacityHint courseCapacityHint;
+    private OptimisticCourseUpdater courseUpdater;
 
     public EnrollmentService(StudentRepository studentRepository,
                              CourseRepository courseRepository,
@@ -36,59 +56,288 @@ public class EnrollmentService {
      *
      * @param studentId ID mahasiswa
      * @param courseCode Kode mata kuliah
-     * @return Enrollment object jika berhasil
+     * @return Enrollment object jika berhasil, berstatus WAITLISTED jika mata kuliah penuh
+     *         dan waitlist diaktifkan
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
-     * @throws EnrollmentException jika mahasiswa di-suspend
+     * @throws EnrollmentException jika mahasiswa di-suspend, atau (dengan ledger) sudah terdaftar
+     *         atau SKS melebihi batas
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
-     * @throws CourseFullException jika mata kuliah sudah penuh
+     * @throws CourseFullException jika mata kuliah sudah penuh dan waitlist tidak diaktifkan
      * @throws PrerequisiteNotMetException jika prasyarat tidak terpenuhi
      */
     public Enrollment enrollCourse(String studentId, String courseCode) {
-        // Validate student
+        // Fast fail: course known to be full, rejected before any repository access
+        if (isKnownFull(courseCode)) {
+            throw new CourseFullException("Course is full");
+        }
+
+        // Validate student and academic status
         Student student = studentRepository.findById(studentId);
+        checkStudent(studentId, student);
+
+        // Validate course and capacity
+        Course course = courseRepository.findByCourseCode(courseCode);
+        checkCourse(courseCode, course);
+
+        // Check prerequisites
+        if (!isPrerequisiteMet(studentId, course)) {
+            throw new PrerequisiteNotMetException("Prerequisites not met");
+        }
+
+        Enrollment enrollment = commitEnrollment(student, course);
+
+        // Send notification (waitlist confirmation is sent when joining the waitlist)
+        if (enrollment.getStatus() == EnrollmentStatus.APPROVED) {
+            notifyEnrolled(student, course);
+        }
+
+        return enrollment;
+    }
+
+    /**
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend
+     */
+    void checkStudent(String studentId, Student student) {
         if (student == null) {
             throw new StudentNotFoundException("Student not found: " + studentId);
         }
-
-        // Check academic status
-        if ("SUSPENDED".equals(student.getAcademicStatus())) {
+        if (student.getStatus() == AcademicStatus.SUSPENDED) {
             throw new EnrollmentException("Student is suspended");
         }
+    }
 
-        // Validate course
-        Course course = courseRepository.findByCourseCode(courseCode);
+    /**
+     * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws CourseFullException jika mata kuliah penuh dan waitlist tidak aktif
+     */
+    void checkCourse(String courseCode, Course course) {
         if (course == null) {
             throw new CourseNotFoundException("Course not found: " + courseCode);
         }
-
-        // Check capacity
-        if (course.getEnrolledCount() >= course.getCapacity()) {
+        if (courseWaitlist == null && !seatInventory.hasAvailableSeat(course) && !resyncSeats(course)) {
+            refreshCapacityHint(course);
             throw new CourseFullException("Course is full");
         }
+    }
 
-        // Check prerequisites
-        if (!courseRepository.isPrerequisiteMet(studentId, courseCode)) {
-            throw new PrerequisiteNotMetException("Prerequisites not met");
+    /**
+     * Mengambil kursi, mencatat enrollment ke journal, lalu menyimpan mata kuliah.
+     * Jika mata kuliah penuh dan waitlist aktif, mahasiswa masuk waitlist
+     * @return Enrollment APPROVED, atau WAITLISTED jika mahasiswa masuk waitlist
+     */
+    Enrollment commitEnrollment(Student student, Course course) {
+        String studentId = student.getStudentId();
+        String courseCode = course.getCourseCode();
+
+        // Reserve seat (atomic capacity check + increment), or join the waitlist when full
+        int enrolledCount;
+        boolean resynced = false;
+        while (true) {
+            try {
+                enrolledCount = reserveSeat(student, course);
+                break;
+            } catch (CourseFullException e) {
+                // Optimistic mode: inventori lokal bisa basi, cek sekali lagi terhadap repository
+                if (!resynced && courseUpdater != null) {
+                    resynced = true;
+                    Course latest = courseRepository.findByCourseCode(courseCode);
+                    if (latest != null && resyncSeats(latest)) {
+                        course.setEnrolledCount(latest.getEnrolledCount());
+                        course.setVersion(latest.getVersion());
+                        continue;
+                    }
+                }
+                refreshCapacityHint(course);
+                if (courseWaitlist == null) {
+                    throw e;
+                }
+                retryHeldSeats(course);
+                Enrollment waitlisted = joinWaitlist(student, course);
+                if (waitlisted != null) {
+                    return waitlisted;
+                }
+            }
         }
 
         // Create enrollment
-        Enrollment enrollment = new Enrollment();
-        enrollment.setEnrollmentId(generateEnrollmentId());
-        enrollment.setStudentId(studentId);
-        enrollment.setCourseCode(courseCode);
-        enrollment.setEnrollmentDate(LocalDateTime.now());
-        enrollment.setStatus("APPROVED");
+        Enrollment enrollment = createEnrollment(studentId, courseCode);
+
+        // Optimistic mode: the repository count is checked and incremented before journaling
+        if (courseUpdater != null) {
+            try {
+                courseUpdater.adjustEnrolledCount(course, 1);
+            } catch (RuntimeException e) {
+                releaseSeat(studentId, course);
+                throw e;
+            }
+        }
+
+        // Record enrollment durably before publishing it
+        if (enrollmentJournal != null) {
+            try {
+                enrollmentJournal.appendDurably(enrollment);
+            } catch (RuntimeException e) {
+                releaseSeat(studentId, course);
+                undoCourseUpdates(Collections.singletonList(course), e);
+                throw new EnrollmentException("Failed to record enrollment", e);
+            }
+        }
 
         // Update course enrollment count
-        course.setEnrolledCount(course.getEnrolledCount() + 1);
-        courseRepository.update(course);
+        if (courseUpdater == null) {
+            course.setEnrolledCount(enrolledCount);
+            courseRepository.update(course);
+        }
+        refreshCapacityHint(course);
 
-        // Send notification
+        return enrollment;
+    }
+
+    void notifyEnrolled(Student student, Course course) {
         notificationService.sendEmail(student.getEmail(),
                 "Enrollment Confirmation",
                 "You have been enrolled in: " + course.getCourseName());
+    }
 
-        return enrollment;
+    /**
+     * Mendaftarkan mahasiswa ke beberapa mata kuliah sekaligus (all-or-nothing)
+     * Data mahasiswa dimuat sekali, semua mata kuliah diambil dalam satu panggilan
+     * repository, dan batas SKS divalidasi terhadap total SKS seluruh mata kuliah
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCodes Daftar kode mata kuliah
+     * @return Daftar Enrollment sesuai urutan courseCodes
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa di-suspend, ada kode duplikat, atau SKS melebihi batas
+     * @throws CourseNotFoundException jika salah satu mata kuliah tidak ditemukan
+     * @throws CourseFullException jika salah satu mata kuliah sudah penuh
+     * @throws PrerequisiteNotMetException jika prasyarat salah satu mata kuliah tidak terpenuhi
+     */
+    public List<Enrollment> enrollCourses(String studentId, List<String> courseCodes) {
+        if (courseCodes == null || courseCodes.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Set<String> basket = new LinkedHashSet<>();
+        for (String courseCode : courseCodes) {
+            if (!basket.add(courseCode)) {
+                throw new EnrollmentException("Duplicate course in request: " + courseCode);
+            }
+            if (isKnownFull(courseCode)) {
+                throw new CourseFullException("Course is full: " + courseCode);
+            }
+        }
+
+        // Validate student (sekali untuk seluruh keranjang)
+        Student student = studentRepository.findById(studentId);
+        checkStudent(studentId, student);
+
+        // Validate courses, capacity, and total credits
+        Map<String, Course> coursesByCode = courseRepository.findAllByCourseCodes(basket);
+        List<Course> courses = new ArrayList<>(basket.size());
+        int totalCredits = 0;
+        for (String courseCode : basket) {
+            Course course = coursesByCode.get(courseCode);
+            if (course == null) {
+                throw new CourseNotFoundException("Course not found: " + courseCode);
+            }
+            if (!seatInventory.hasAvailableSeat(course) && !resyncSeats(course)) {
+                throw new CourseFullException("Course is full: " + courseCode);
+            }
+            totalCredits += course.getCredits();
+            courses.add(course);
+        }
+
+        int maxCredits = gradeCalculator.calculateMaxCredits(student.getGpa());
+        if (totalCredits > maxCredits) {
+            throw new EnrollmentException("Credit limit exceeded: " + totalCredits
+                    + " of " + maxCredits + " SKS");
+        }
+
+        // Check prerequisites
+        Set<String> unmet = findUnmetPrerequisites(studentId, courses);
+        if (!unmet.isEmpty()) {
+            throw new PrerequisiteNotMetException("Prerequisites not met: " + unmet);
+        }
+
+        // Reserve all seats, roll back if any course fills up in the meantime
+        int[] enrolledCounts;
+        try {
+            if (enrollmentLedger != null) {
+                enrolledCounts = enrollmentLedger.reserveAll(studentId, courses, maxCredits, seatInventory);
+            } else {
+                enrolledCounts = new int[courses.size()];
+                for (int i = 0; i < courses.size(); i++) {
+                    enrolledCounts[i] = seatInventory.tryReserve(courses.get(i));
+                    if (enrolledCounts[i] < 0) {
+                        for (int j = 0; j < i; j++) {
+                            seatInventory.release(courses.get(j));
+                        }
+                        throw new CourseFullException("Course is full: " + courses.get(i).getCourseCode());
+                    }
+                }
+            }
+        } catch (CourseFullException e) {
+            // Kursi yang sempat dipesan sudah dilepas; hint yang terbaca penuh di antaranya dikoreksi
+            for (Course course : courses) {
+                refreshCapacityHint(course);
+            }
+            throw e;
+        }
+
+        // Commit
+        List<Enrollment> enrollments = new ArrayList<>(courses.size());
+        for (Course course : courses) {
+            enrollments.add(createEnrollment(studentId, course.getCourseCode()));
+        }
+        if (courseUpdater != null) {
+            List<Course> updated = new ArrayList<>(courses.size());
+            try {
+                for (Course course : courses) {
+                    courseUpdater.adjustEnrolledCount(course, 1);
+                    updated.add(course);
+                }
+            } catch (RuntimeException e) {
+                undoCourseUpdates(updated, e);
+                for (Course course : courses) {
+                    releaseSeat(studentId, course);
+                }
+                throw e;
+            }
+        }
+        if (enrollmentJournal != null) {
+            try {
+                long lastSequence = 0;
+                for (Enrollment enrollment : enrollments) {
+                    lastSequence = enrollmentJournal.append(enrollment);
+                }
+                // Satu group commit untuk seluruh keranjang
+                enrollmentJournal.awaitDurable(lastSequence);
+            } catch (RuntimeException e) {
+                for (Course course : courses) {
+                    releaseSeat(studentId, course);
+                }
+                undoCourseUpdates(courses, e);
+                throw new EnrollmentException("Failed to record enrollment", e);
+            }
+        }
+        if (courseUpdater == null) {
+            for (int i = 0; i < courses.size(); i++) {
+                courses.get(i).setEnrolledCount(enrolledCounts[i]);
+            }
+            courseRepository.updateAll(courses);
+        }
+        for (Course course : courses) {
+            refreshCapacityHint(course);
+        }
+
+        // Send notification
+        for (Course course : courses) {
+            notifyEnrolled(student, course);
+        }
+
+        return enrollments;
     }
 
     /**
@@ -110,6 +359,57 @@ public class EnrollmentService {
         return requestedCredits <= maxCredits;
     }
 
+    /**
+     * @param studentId ID mahasiswa
+     * @return Batas SKS mahasiswa berdasarkan IPK
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     */
+    public int getMaxCredits(String studentId) {
+        Student student = studentRepository.findById(studentId);
+        if (student == null) {
+            throw new StudentNotFoundException("Student not found: " + studentId);
+        }
+        return gradeCalculator.calculateMaxCredits(student.getGpa());
+    }
+
+    /**
+     * Mode terpartisi: memesan SKS mata kuliah yang diminta di ledger SKS node pemilik
+     * mahasiswa. Pengecekan duplikat dan batas SKS dilakukan dalam langkah yang sama dengan
+     * pencatatannya, sehingga dua request bersamaan ke node mata kuliah yang berbeda tidak
+     * bisa sama-sama lolos batas SKS
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCodes Kode mata kuliah yang diminta
+     * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
+     * @throws CourseNotFoundException jika salah satu mata kuliah tidak ditemukan
+     * @throws EnrollmentException jika mahasiswa sudah memesan salah satu mata kuliah atau
+     *         SKS melebihi batas
+     */
+    public void reserveCredits(String studentId, Collection<String> courseCodes) {
+        int maxCredits = getMaxCredits(studentId);
+        Map<String, Course> courses = courseRepository.findAllByCourseCodes(courseCodes);
+        List<Course> requested = new ArrayList<>(courseCodes.size());
+        for (String courseCode : courseCodes) {
+            Course course = courses.get(courseCode);
+            if (course == null) {
+                throw new CourseNotFoundException("Course not found: " + courseCode);
+            }
+            requested.add(course);
+        }
+        creditLedger.admitAll(studentId, requested, maxCredits);
+    }
+
+    /**
+     * Melepas SKS yang dipesan reserveCredits, misalnya setelah drop atau enrollment gagal
+     * @param studentId ID mahasiswa
+     * @param courseCodes Kode mata kuliah
+     */
+    public void releaseCredits(String studentId, Collection<String> courseCodes) {
+        for (String courseCode : courseCodes) {
+            creditLedger.remove(studentId, courseCode);
+        }
+    }
+
     /**
      * Drop (membatalkan) mata kuliah yang sudah didaftarkan
      * Method ini akan diuji dengan STUB
@@ -118,8 +418,26 @@ public class EnrollmentService {
      * @param courseCode Kode mata kuliah
      * @throws StudentNotFoundException jika mahasiswa tidak ditemukan
      * @throws CourseNotFoundException jika mata kuliah tidak ditemukan
+     * @throws EnrollmentException jika (dengan ledger) mahasiswa tidak terdaftar di mata kuliah tersebut
      */
     public void dropCourse(String studentId, String courseCode) {
+        dropCourse(studentId, courseCode, true);
+    }
+
+    /**
+     * Membatalkan enrollment yang dibuat sebagai bagian dari operasi yang gagal (misalnya
+     * keranjang lintas node di EnrollmentRouter). Sama seperti dropCourse, tetapi tanpa
+     * email konfirmasi drop karena mahasiswa tidak meminta drop
+     *
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah
+     * @see #dropCourse(String, String)
+     */
+    public void cancelEnrollment(String studentId, String courseCode) {
+        dropCourse(studentId, courseCode, false);
+    }
+
+    private void dropCourse(String studentId, String courseCode, boolean notify) {
         Student student = studentRepository.findById(studentId);
         if (student == null) {
             throw new StudentNotFoundException("Student not found");
@@ -129,22 +447,405 @@ public class EnrollmentService {
         if (course == null) {
             throw new CourseNotFoundException("Course not found");
         }
+        retryHeldSeats(course);
 
-        // Update enrollment count
-        course.setEnrolledCount(course.getEnrolledCount() - 1);
-        courseRepository.update(course);
+        // Mahasiswa yang masih di waitlist cukup dikeluarkan dari waitlist
+        CourseWaitlist.Entry waitlisted = courseWaitlist == null ? null
+                : courseWaitlist.remove(studentId, courseCode);
+        if (waitlisted == null && enrollmentLedger != null && !enrollmentLedger.remove(studentId, courseCode)) {
+            throw new EnrollmentException("Student is not enrolled in course: " + courseCode);
+        }
+
+        // Record drop durably before releasing the seat
+        if (enrollmentJournal != null) {
+            try {
+                long sequence = enrollmentJournal.appendDrop(studentId, courseCode, LocalDateTime.now());
+                enrollmentJournal.awaitDurable(sequence);
+            } catch (RuntimeException e) {
+                if (waitlisted != null) {
+                    courseWaitlist.restore(waitlisted);
+                } else if (enrollmentLedger != null) {
+                    enrollmentLedger.record(studentId, course);
+                }
+                throw new EnrollmentException("Failed to record course drop", e);
+            }
+        }
+
+        if (waitlisted != null) {
+            waitlisted.getEnrollment().setStatus(EnrollmentStatus.DROPPED);
+            if (notify) {
+                notificationService.sendEmail(student.getEmail(),
+                        "Waitlist Cancellation",
+                        "You have left the waitlist for: " + course.getCourseName());
+            }
+            return;
+        }
+
+        // Release seat, or hand it over to the head of the waitlist
+        boolean released;
+        int enrolledCount;
+        if (courseWaitlist == null) {
+            enrolledCount = seatInventory.release(course);
+            released = true;
+        } else {
+            released = handOverSeat(course, null, () -> seatInventory.release(course)) == Handover.RELEASED;
+            enrolledCount = seatInventory.getEnrolledCount(courseCode);
+        }
+        if (courseUpdater == null) {
+            course.setEnrolledCount(enrolledCount);
+            courseRepository.update(course);
+        } else if (released) {
+            courseUpdater.adjustEnrolledCount(course, -1);
+        }
+        refreshCapacityHint(course);
 
         // Send notification
+        if (notify) {
+            notificationService.sendEmail(student.getEmail(),
+                    "Course Drop Confirmation",
+                    "You have dropped: " + course.getCourseName());
+        }
+    }
+
+    StudentRepository getStudentRepository() {
+        return studentRepository;
+    }
+
+    CourseRepository getCourseRepository() {
+        return courseRepository;
+    }
+
+    /**
+     * Mengganti inventori kursi, misalnya agar dipakai bersama beberapa service
+     * @param seatInventory Inventori kursi
+     */
+    public void setSeatInventory(SeatInventory seatInventory) {
+        this.seatInventory = seatInventory;
+    }
+
+    /**
+     * Mengganti pengecekan prasyarat ke repository dengan index prasyarat di memori
+     * @param prerequisiteIndex Index prasyarat, atau null untuk kembali memakai repository
+     */
+    public void setPrerequisiteIndex(PrerequisiteIndex prerequisiteIndex) {
+        this.prerequisiteIndex = prerequisiteIndex;
+    }
+
+    /**
+     * Mengaktifkan pencatatan setiap enrollment dan drop ke journal yang durable
+     * @param enrollmentJournal Journal enrollment, atau null untuk menonaktifkan
+     */
+    public void setEnrollmentJournal(EnrollmentJournal enrollmentJournal) {
+        this.enrollmentJournal = enrollmentJournal;
+    }
+
+    /**
+     * Mengganti pembuat nomor enrollment, misalnya SnowflakeIdGenerator dengan node id
+     * berbeda untuk setiap instance aplikasi
+     * @param enrollmentIdGenerator Pembuat nomor enrollment
+     */
+    public void setEnrollmentIdGenerator(EnrollmentIdGenerator enrollmentIdGenerator) {
+        this.enrollmentIdGenerator = enrollmentIdGenerator;
+    }
+
+    /**
+     * Mengaktifkan ledger per mahasiswa sehingga enrollment ganda dan kelebihan SKS
+     * ditolak dalam langkah yang sama dengan pemesanan kursi. Setelah restart, isi ledger
+     * dengan EnrollmentLedger.restore dari state hasil pemulihan journal sebelum dipasang
+     * @param enrollmentLedger Ledger enrollment, atau null untuk menonaktifkan
+     */
+    public void setEnrollmentLedger(EnrollmentLedger enrollmentLedger) {
+        this.enrollmentLedger = enrollmentLedger;
+    }
+
+    /**
+     * Mengaktifkan waitlist: enrollCourse ke mata kuliah penuh menghasilkan enrollment
+     * WAITLISTED, dan kursi yang dilepas dropCourse langsung diberikan ke kepala waitlist.
+     * Notifikasi dikirim lewat NotificationService biasa; pakai AsyncNotificationService
+     * agar dropCourse tidak menunggu pengiriman email promosi
+     * @param courseWaitlist Waitlist mata kuliah, atau null untuk menonaktifkan
+     */
+    public void setCourseWaitlist(CourseWaitlist courseWaitlist) {
+        this.courseWaitlist = courseWaitlist;
+    }
+
+    /**
+     * Mengaktifkan penolakan cepat untuk mata kuliah yang diketahui penuh, sebelum
+     * data mahasiswa dan mata kuliah dibaca dari repository. Tidak dipakai jika waitlist aktif
+     * karena request ke mata kuliah penuh masuk waitlist, dan tidak dipakai dalam optimistic mode
+     * karena bit lokal tidak ikut dihapus saat instance lain melepas kursi
+     * @param courseCapacityHint Hint kapasitas, atau null untuk menonaktifkan
+     */
+    public void setCourseCapacityHint(CourseCapacityHint courseCapacityHint) {
+        this.courseCapacityHint = courseCapacityHint;
+    }
+
+    boolean isKnownFull(String courseCode) {
+        return courseCapacityHint != null && courseWaitlist == null && courseUpdater == null
+                && courseCapacityHint.isFull(courseCode);
+    }
+
+    /**
+     * Bit penuh dihitung dari jumlah peserta live di inventori, bukan dari salinan Course
+     * yang mungkin sudah basi
+     */
+    private void refreshCapacityHint(Course course) {
+        if (courseCapacityHint != null) {
+            courseCapacityHint.refresh(course.getCourseCode(), () -> !seatInventory.hasAvailableSeat(course));
+        }
+    }
+
+    private int reserveSeat(Student student, Course course) {
+        if (enrollmentLedger != null) {
+            return enrollmentLedger.reserve(student.getStudentId(), course,
+                    gradeCalculator.calculateMaxCredits(student.getGpa()), seatInventory);
+        }
+        int enrolledCount = seatInventory.tryReserve(course);
+        if (enrolledCount < 0) {
+            throw new CourseFullException("Course is full");
+        }
+        return enrolledCount;
+    }
+
+    /**
+     * Mengaktifkan optimistic concurrency: enrolledCount di repository ditambah atau dikurangi
+     * terhadap versi tersimpan dengan compareAndUpdate, bukan ditimpa dengan nilai lokal
+     * @param courseUpdater Updater mata kuliah, atau null untuk kembali memakai update biasa
+     */
+    public void setOptimisticCourseUpdater(OptimisticCourseUpdater courseUpdater) {
+        this.courseUpdater = courseUpdater;
+    }
+
+    /**
+     * Dalam optimistic mode repository adalah sumber kebenaran jumlah peserta. SeatInventory
+     * lokal tidak melihat drop dari instance lain, jadi sebelum request ditolak karena penuh
+     * inventori disamakan dengan enrolledCount dari repository. Reservasi lokal yang belum
+     * tersimpan bisa ikut tertimpa; kapasitas tetap dijaga compareAndUpdate
+     * @param course Mata kuliah yang baru dibaca dari repository
+     * @return true jika setelah disamakan masih ada kursi kosong
+     */
+    private boolean resyncSeats(Course course) {
+        if (courseUpdater == null) {
+            return false;
+        }
+        seatInventory.resync(course);
+        return seatInventory.hasAvailableSeat(course);
+    }
+
+    /**
+     * Mengembalikan enrolledCount yang sudah dinaikkan saat enrollment gagal dicatat
+     */
+    private void undoCourseUpdates(List<Course> courses, RuntimeException cause) {
+        if (courseUpdater == null) {
+            return;
+        }
+        for (Course course : courses) {
+            try {
+                courseUpdater.adjustEnrolledCount(course, -1);
+            } catch (RuntimeException e) {
+                cause.addSuppressed(e);
+            }
+        }
+    }
+
+    /**
+     * @return Enrollment WAITLISTED, atau null jika ternyata ada kursi kosong dan reserve perlu diulang
+     */
+    private Enrollment joinWaitlist(Student student, Course course) {
+        String studentId = student.getStudentId();
+        if (enrollmentLedger != null && enrollmentLedger.isEnrolled(studentId, course.getCourseCode())) {
+            throw new EnrollmentException("Already enrolled in course: " + course.getCourseCode());
+        }
+
+        Enrollment enrollment = createEnrollment(studentId, course.getCourseCode(), EnrollmentStatus.WAITLISTED);
+        if (!courseWaitlist.enqueueIfFull(student, enrollment, () -> !seatInventory.hasAvailableSeat(course))) {
+            return null;
+        }
+        if (enrollmentJournal != null) {
+            try {
+                enrollmentJournal.appendDurably(enrollment);
+            } catch (RuntimeException e) {
+                courseWaitlist.remove(studentId, course.getCourseCode());
+                throw new EnrollmentException("Failed to record enrollment", e);
+            }
+        }
+
         notificationService.sendEmail(student.getEmail(),
-                "Course Drop Confirmation",
-                "You have dropped: " + course.getCourseName());
+                "Waitlist Confirmation",
+                "You have been placed on the waitlist for: " + course.getCourseName()
+                        + " (position " + courseWaitlist.getPosition(studentId, course.getCourseCode()) + ")");
+        return enrollment;
+    }
+
+    /**
+     * Memberikan kursi yang baru kosong ke kepala waitlist yang masih memenuhi syarat.
+     * Kepala yang tidak lagi memenuhi syarat (di-suspend, SKS penuh) ditolak (REJECTED);
+     * jika waitlist habis, kursi dilepas di bawah lock waitlist
+     * @param head Kepala waitlist yang sudah diambil, atau null untuk mengambil dengan pollOrElse
+     * @param release Melepas kursi, dijalankan di bawah lock waitlist
+     */
+    private Handover handOverSeat(Course course, CourseWaitlist.Entry head, Runnable release) {
+        while (true) {
+            if (head == null) {
+                head = courseWaitlist.pollOrElse(course.getCourseCode(), release);
+                if (head == null) {
+                    return Handover.RELEASED;
+                }
+            }
+            Handover result = promote(head, course);
+            if (result != null) {
+                return result;
+            }
+            reject(head);
+            head = null;
+        }
+    }
+
+    /**
+     * Mengulang promosi untuk kursi yang dipegang waitlist karena promosi sebelumnya gagal
+     * dicatat ke journal. Berhenti jika journal masih gagal; kursi dilepas jika waitlist sudah kosong
+     */
+    private void retryHeldSeats(Course course) {
+        String courseCode = course.getCourseCode();
+        if (courseWaitlist == null || courseWaitlist.getHeldSeats(courseCode) == 0) {
+            return;
+        }
+
+        int[] released = {0};
+        Runnable release = () -> {
+            seatInventory.release(course);
+            released[0]++;
+        };
+        CourseWaitlist.Entry head;
+        while ((head = courseWaitlist.pollHeldSeat(courseCode, release)) != null) {
+            if (handOverSeat(course, head, release) == Handover.HELD) {
+                break;
+            }
+        }
+
+        if (released[0] > 0) {
+            if (courseUpdater == null) {
+                course.setEnrolledCount(seatInventory.getEnrolledCount(courseCode));
+                courseRepository.update(course);
+            } else {
+                for (int i = 0; i < released[0]; i++) {
+                    courseUpdater.adjustEnrolledCount(course, -1);
+                }
+            }
+            refreshCapacityHint(course);
+        }
+    }
+
+    /**
+     * @return PROMOTED atau HELD jika kursi sudah ditangani, null jika kepala waitlist
+     *         tidak lagi memenuhi syarat
+     */
+    private Handover promote(CourseWaitlist.Entry head, Course course) {
+        Student student = studentRepository.findById(head.getStudentId());
+        if (student == null || student.getStatus() == AcademicStatus.SUSPENDED) {
+            return null;
+        }
+        if (enrollmentLedger != null) {
+            try {
+                enrollmentLedger.admit(student.getStudentId(), course,
+                        gradeCalculator.calculateMaxCredits(student.getGpa()));
+            } catch (EnrollmentException e) {
+                return null;
+            }
+        }
+
+        Enrollment enrollment = head.getEnrollment();
+        enrollment.setStatus(EnrollmentStatus.APPROVED);
+        if (enrollmentJournal != null) {
+            try {
+                enrollmentJournal.appendDurably(enrollment);
+            } catch (RuntimeException e) {
+                // Drop sudah tercatat; kepala waitlist dikembalikan dan kursinya tetap dipegang
+                // waitlist sampai promosi diulang, agar tidak diambil pendaftar baru
+                enrollment.setStatus(EnrollmentStatus.WAITLISTED);
+                if (enrollmentLedger != null) {
+                    enrollmentLedger.remove(student.getStudentId(), course.getCourseCode());
+                }
+                courseWaitlist.restoreWithSeat(head);
+                return Handover.HELD;
+            }
+        }
+
+        notificationService.sendEmail(student.getEmail(),
+                "Waitlist Promotion",
+                "A seat is now available, you have been enrolled in: " + course.getCourseName());
+        return Handover.PROMOTED;
+    }
+
+    private void reject(CourseWaitlist.Entry entry) {
+        Enrollment enrollment = entry.getEnrollment();
+        enrollment.setStatus(EnrollmentStatus.REJECTED);
+        if (enrollmentJournal != null) {
+            try {
+                enrollmentJournal.append(enrollment);
+            } catch (RuntimeException e) {
+                // Penolakan tidak perlu durable, record WAITLISTED lama tidak memegang kursi
+            }
+        }
+    }
+
+    private void releaseSeat(String studentId, Course course) {
+        if (enrollmentLedger != null) {
+            enrollmentLedger.cancel(studentId, course, seatInventory);
+        } else {
+            seatInventory.release(course);
+        }
+        refreshCapacityHint(course);
+    }
+
+    boolean isPrerequisiteMet(String studentId, Course course) {
+        if (prerequisiteIndex != null) {
+            return prerequisiteIndex.isPrerequisiteMet(studentId, course);
+        }
+        return courseRepository.isPrerequisiteMet(studentId, course.getCourseCode());
+    }
+
+    Set<String> findUnmetPrerequisites(String studentId, List<Course> courses) {
+        if (prerequisiteIndex == null) {
+            List<String> courseCodes = new ArrayList<>(courses.size());
+            for (Course course : courses) {
+                courseCodes.add(course.getCourseCode());
+            }
+            return courseRepository.findUnmetPrerequisites(studentId, courseCodes);
+        }
+
+        Set<String> unmet = new LinkedHashSet<>();
+        for (Course course : courses) {
+            if (!prerequisiteIndex.isPrerequisiteMet(studentId, course)) {
+                unmet.add(course.getCourseCode());
+            }
+        }
+        return unmet;
+    }
+
+    private Enrollment createEnrollment(String studentId, String courseCode) {
+        return createEnrollment(studentId, courseCode, EnrollmentStatus.APPROVED);
+    }
+
+    private Enrollment createEnrollment(String studentId, String courseCode, EnrollmentStatus status) {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setEnrollmentNumber(enrollmentIdGenerator.nextId());
+        enrollment.setStudentId(studentId);
+        enrollment.setCourseCode(courseCode);
+        enrollment.setEnrollmentDate(LocalDateTime.now());
+        enrollment.setStatus(status);
+        return enrollment;
     }
 
     /**
-     * Generate unique enrollment ID
-     * @return Enrollment ID
+     * Hasil penyerahan kursi yang kosong ke waitlist
      */
-    private String generateEnrollmentId() {
-        return "ENR-" + System.currentTimeMillis();
+    private enum Handover {
+        /** Kursi dipakai kepala waitlist */
+        PROMOTED,
+        /** Promosi gagal dicatat ke journal, kursi dipegang waitlist */
+        HELD,
+        /** Waitlist kosong, kursi dilepas */
+        RELEASED
     }
-}
\ No newline at end of file
+}
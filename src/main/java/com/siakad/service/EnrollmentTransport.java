@@ -0,0 +1,47 @@
+package com.siakad.service;
+
+import com.siakad.model.Enrollment;
+
+import java.util.List;
+
+/**
+ * Pengiriman request enrollment ke node pemilik mata kuliah
+ * Implementasi jaringan menerjemahkan kegagalan remote menjadi EnrollmentException,
+ * sedangkan exception domain (CourseFullException, dst.) diteruskan apa adanya
+ */
+
+public interface EnrollmentTransport {
+
+    /**
+     * @see EnrollmentService#enrollCourse(String, String)
+     */
+    Enrollment enrollCourse(int nodeId, String studentId, String courseCode);
+
+    /**
+     * Semua mata kuliah di courseCodes dimiliki oleh node yang sama
+     * @see EnrollmentService#enrollCourses(String, List)
+     */
+    List<Enrollment> enrollCourses(int nodeId, String studentId, List<String> courseCodes);
+
+    /**
+     * @see EnrollmentService#dropCourse(String, String)
+     */
+    void dropCourse(int nodeId, String studentId, String courseCode);
+
+    /**
+     * @see EnrollmentService#cancelEnrollment(String, String)
+     */
+    void cancelEnrollment(int nodeId, String studentId, String courseCode);
+
+    /**
+     * nodeId adalah node pemilik mahasiswa (CoursePartitioner#ownerOfStudent)
+     * @see EnrollmentService#reserveCredits(String, java.util.Collection)
+     */
+    void reserveCredits(int nodeId, String studentId, List<String> courseCodes);
+
+    /**
+     * nodeId adalah node pemilik mahasiswa (CoursePartitioner#ownerOfStudent)
+     * @see EnrollmentService#releaseCredits(String, java.util.Collection)
+     */
+    void releaseCredits(int nodeId, String studentId, List<String> courseCodes);
+}
@@ -0,0 +1,147 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+
+import java.math.BigDecimal;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Akumulator IPK inkremental untuk satu mahasiswa
+ *
+ * Nilai disimpan per kode mata kuliah beserta total (grade point × SKS) dan total SKS,
+ * sehingga add, replace, dan remove cukup menyesuaikan total tersebut dalam O(1).
+ * Setiap suku grade point × SKS dihitung dalam double seperti GradeCalculator.calculateGPA,
+ * tetapi dijumlahkan secara eksak dengan BigDecimal agar pengurangan saat replace atau
+ * remove tidak meninggalkan sisa pembulatan. Hasil getGpa() sama dengan calculateGPA untuk
+ * daftar nilai yang sama, termasuk mata kuliah ganda; perbedaan hanya mungkin jika galat
+ * pembulatan penjumlahan double di calculateGPA tepat menggeser IPK melewati batas
+ * pembulatan 2 desimal.
+ * Class ini tidak thread-safe, gunakan satu instance per mahasiswa.
+ */
+
+public class GpaAccumulator {
+    // Nilai per kode mata kuliah, sesuai urutan penambahan untuk mata kuliah ganda
+    private final Map<String, Deque<CourseGrade>> grades = new HashMap<>();
+    private BigDecimal totalPoints = BigDecimal.ZERO;
+    private long totalCredits;
+    private int size;
+
+    /**
+     * Membuat akumulator dari daftar nilai yang sudah ada
+     * @param grades Daftar nilai mahasiswa
+     * @return Akumulator yang berisi seluruh nilai
+     * @throws IllegalArgumentException jika ada grade point invalid (< 0 atau > 4.0)
+     */
+    public static GpaAccumulator of(List<CourseGrade> grades) {
+        GpaAccumulator accumulator = new GpaAccumulator();
+        if (grades != null) {
+            for (CourseGrade grade : grades) {
+                accumulator.add(grade);
+            }
+        }
+        return accumulator;
+    }
+
+    /**
+     * Menambahkan nilai
+     * @param grade Nilai mata kuliah
+     * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0)
+     */
+    public void add(CourseGrade grade) {
+        CourseGrade copy = copyOf(grade);
+        grades.computeIfAbsent(copy.getCourseCode(), code -> new ArrayDeque<>(1)).addLast(copy);
+        include(copy);
+        size++;
+    }
+
+    /**
+     * Mengganti nilai pertama dengan kode mata kuliah yang sama (misalnya setelah perbaikan
+     * nilai), atau menambahkannya jika belum tercatat
+     * @param grade Nilai mata kuliah yang baru
+     * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0)
+     */
+    public void replace(CourseGrade grade) {
+        CourseGrade copy = copyOf(grade);
+        Deque<CourseGrade> sameCourse = grades.get(copy.getCourseCode());
+        if (sameCourse == null) {
+            grades.put(copy.getCourseCode(), new ArrayDeque<>(1));
+            grades.get(copy.getCourseCode()).addLast(copy);
+            include(copy);
+            size++;
+            return;
+        }
+        exclude(sameCourse.pollFirst());
+        sameCourse.addFirst(copy);
+        include(copy);
+    }
+
+    /**
+     * Menghapus nilai pertama dengan kode mata kuliah tersebut
+     * @param courseCode Kode mata kuliah
+     * @return true jika nilai ditemukan dan dihapus
+     */
+    public boolean remove(String courseCode) {
+        Deque<CourseGrade> sameCourse = grades.get(courseCode);
+        if (sameCourse == null) {
+            return false;
+        }
+        exclude(sameCourse.pollFirst());
+        if (sameCourse.isEmpty()) {
+            grades.remove(courseCode);
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * @return IPK dengan pembulatan 2 desimal seperti calculateGPA; 0.0 jika belum ada SKS
+     */
+    public double getGpa() {
+        if (totalCredits == 0) {
+            return 0.0;
+        }
+        return Math.round((totalPoints.doubleValue() / totalCredits) * 100.0) / 100.0;
+    }
+
+    public long getTotalCredits() {
+        return totalCredits;
+    }
+
+    /**
+     * @return Jumlah nilai yang tercatat
+     */
+    public int size() {
+        return size;
+    }
+
+    private void include(CourseGrade grade) {
+        totalPoints = totalPoints.add(points(grade));
+        totalCredits += grade.getCredits();
+    }
+
+    private void exclude(CourseGrade grade) {
+        totalPoints = totalPoints.subtract(points(grade));
+        totalCredits -= grade.getCredits();
+    }
+
+    /**
+     * Suku grade point × SKS dihitung dalam double seperti calculateGPA, lalu disimpan eksak
+     */
+    private static BigDecimal points(CourseGrade grade) {
+        return new BigDecimal(grade.getGradePoint() * grade.getCredits());
+    }
+
+    /**
+     * Nilai disalin agar perubahan pada object milik pemanggil tidak membuat total basi
+     */
+    private static CourseGrade copyOf(CourseGrade grade) {
+        if (grade.getGradePoint() < 0 || grade.getGradePoint() > 4.0) {
+            throw new IllegalArgumentException("Invalid grade point: " + grade.getGradePoint());
+        }
+        return new CourseGrade(grade.getCourseCode(), grade.getCredits(), grade.getGradePoint());
+    }
+}
@@ -1,7 +1,9 @@
 package com.siakad.service;
 
+import com.siakad.model.AcademicStatus;
 import com.siakad.model.CourseGrade;
 import java.util.List;
+import java.util.stream.IntStream;
 
 /**
  * Class untuk perhitungan IPK dan status akademik mahasiswa
@@ -10,6 +12,12 @@ import java.util.List;
 
 public class GradeCalculator {
 
+    /** Jumlah mahasiswa minimal sebelum perhitungan IPK massal dipecah ke beberapa core */
+    static final int PARALLEL_THRESHOLD = 4096;
+
+    /** Jumlah mahasiswa per potongan kerja paralel */
+    private static final int CHUNK_SIZE = 1024;
+
     /**
      * Menghitung IPK (Indeks Prestasi Kumulatif) mahasiswa
      * Formula: Total (Grade Point × SKS) / Total SKS
@@ -42,6 +50,74 @@ public class GradeCalculator {
         return Math.round((totalPoints / totalCredits) * 100.0) / 100.0;
     }
 
+    /**
+     * Menghitung IPK banyak mahasiswa sekaligus dari data kolumnar
+     * Nilai seluruh mahasiswa disimpan berurutan dalam array primitif, dan
+     * nilai mahasiswa ke-i berada pada indeks offsets[i] sampai offsets[i + 1] - 1.
+     * Hasil per mahasiswa identik dengan calculateGPA (pembulatan 2 desimal).
+     * Untuk jumlah mahasiswa yang besar perhitungan dibagi per potongan ke beberapa core.
+     *
+     * @param credits SKS setiap nilai
+     * @param gradePoints Grade point setiap nilai
+     * @param offsets Indeks awal nilai setiap mahasiswa, panjang = jumlah mahasiswa + 1
+     * @return IPK setiap mahasiswa
+     * @throws IllegalArgumentException jika grade point invalid (< 0 atau > 4.0) atau array tidak konsisten
+     */
+    public double[] calculateGPAs(int[] credits, double[] gradePoints, int[] offsets) {
+        if (credits == null || gradePoints == null || offsets == null) {
+            throw new IllegalArgumentException("Arrays must not be null");
+        }
+        if (credits.length != gradePoints.length) {
+            throw new IllegalArgumentException("Credits and grade points must have the same length");
+        }
+        if (offsets.length == 0) {
+            return new double[0];
+        }
+        if (offsets[0] != 0 || offsets[offsets.length - 1] != gradePoints.length) {
+            throw new IllegalArgumentException("Offsets must start at 0 and end at the number of grades");
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            if (offsets[i] < offsets[i - 1]) {
+                throw new IllegalArgumentException("Offsets must be non-decreasing");
+            }
+        }
+
+        // Validasi dulu agar grade point invalid pertama yang dilaporkan, sama seperti calculateGPA
+        for (double gradePoint : gradePoints) {
+            if (gradePoint < 0 || gradePoint > 4.0) {
+                throw new IllegalArgumentException("Invalid grade point: " + gradePoint);
+            }
+        }
+
+        int studentCount = offsets.length - 1;
+        double[] gpas = new double[studentCount];
+        if (studentCount < PARALLEL_THRESHOLD) {
+            calculateGPARange(credits, gradePoints, offsets, gpas, 0, studentCount);
+        } else {
+            int chunks = (studentCount + CHUNK_SIZE - 1) / CHUNK_SIZE;
+            IntStream.range(0, chunks).parallel().forEach(chunk -> {
+                int from = chunk * CHUNK_SIZE;
+                calculateGPARange(credits, gradePoints, offsets, gpas, from,
+                        Math.min(from + CHUNK_SIZE, studentCount));
+            });
+        }
+        return gpas;
+    }
+
+    private static void calculateGPARange(int[] credits, double[] gradePoints, int[] offsets,
+                                          double[] gpas, int fromStudent, int toStudent) {
+        for (int student = fromStudent; student < toStudent; student++) {
+            double totalPoints = 0.0;
+            int totalCredits = 0;
+            for (int i = offsets[student]; i < offsets[student + 1]; i++) {
+                totalPoints += gradePoints[i] * credits[i];
+                totalCredits += credits[i];
+            }
+            gpas[student] = totalCredits == 0 ? 0.0
+                    : Math.round((totalPoints / totalCredits) * 100.0) / 100.0;
+        }
+    }
+
     /**
      * Menentukan status akademik mahasiswa berdasarkan IPK dan semester
      *
@@ -55,7 +131,7 @@ public class GradeCalculator {
      * @return Status akademik: ACTIVE, PROBATION, atau SUSPENDED
      * @throws IllegalArgumentException jika gpa atau semester invalid
      */
-    public String determineAcademicStatus(double gpa, int semester) {
+    public AcademicStatus determineStatus(double gpa, int semester) {
         if (gpa < 0 || gpa > 4.0) {
             throw new IllegalArgumentException("GPA must be between 0 and 4.0");
         }
@@ -66,20 +142,29 @@ public class GradeCalculator {
 
         // Semester 1-2: minimal IPK 2.0
         if (semester <= 2) {
-            return gpa >= 2.0 ? "ACTIVE" : "PROBATION";
+            return gpa >= 2.0 ? AcademicStatus.ACTIVE : AcademicStatus.PROBATION;
         }
 
         // Semester 3-4: minimal IPK 2.25
         if (semester <= 4) {
-            if (gpa >= 2.25) return "ACTIVE";
-            if (gpa >= 2.0) return "PROBATION";
-            return "SUSPENDED";
+            if (gpa >= 2.25) return AcademicStatus.ACTIVE;
+            if (gpa >= 2.0) return AcademicStatus.PROBATION;
+            return AcademicStatus.SUSPENDED;
         }
 
         // Semester 5+: minimal IPK 2.5
-        if (gpa >= 2.5) return "ACTIVE";
-        if (gpa >= 2.0) return "PROBATION";
-        return "SUSPENDED";
+        if (gpa >= 2.5) return AcademicStatus.ACTIVE;
+        if (gpa >= 2.0) return AcademicStatus.PROBATION;
+        return AcademicStatus.SUSPENDED;
+    }
+
+    /**
+     * Adapter String untuk determineStatus
+     * @return Nama status akademik: "ACTIVE", "PROBATION", atau "SUSPENDED"
+     * @throws IllegalArgumentException jika gpa atau semester invalid
+     */
+    public String determineAcademicStatus(double gpa, int semester) {
+        return determineStatus(gpa, semester).name();
     }
 
     /**
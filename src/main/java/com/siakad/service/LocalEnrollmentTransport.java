@@ -0,0 +1,82 @@
+package com.siakad.service;
+
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Enrollment;
+
+import java.util.List;
+
+/**
+ * Transport in-process: setiap node adalah EnrollmentService di JVM yang sama
+ * Dipakai untuk pengujian dan deployment satu proses dengan beberapa partisi
+ */
+
+public class LocalEnrollmentTransport implements EnrollmentTransport {
+    private final EnrollmentService[] nodes;
+
+    /**
+     * Setiap node diberi SnowflakeIdGenerator dengan node id sama dengan nomor node,
+     * sehingga nomor enrollment dari node berbeda tidak pernah bentrok
+     * @param nodes EnrollmentService per node, indeks array adalah nomor node.
+     *              Setiap node sebaiknya memakai SeatInventory sendiri
+     * @throws IllegalArgumentException jika tidak ada node, satu service dipakai untuk
+     *         beberapa node, atau jumlah node melebihi node id SnowflakeIdGenerator
+     */
+    public LocalEnrollmentTransport(EnrollmentService... nodes) {
+        if (nodes.length == 0) {
+            throw new IllegalArgumentException("At least one node is required");
+        }
+        if (nodes.length > SnowflakeIdGenerator.MAX_NODE_ID + 1) {
+            throw new IllegalArgumentException("At most " + (SnowflakeIdGenerator.MAX_NODE_ID + 1) + " nodes are supported");
+        }
+        this.nodes = nodes.clone();
+        for (int i = 0; i < this.nodes.length; i++) {
+            for (int j = 0; j < i; j++) {
+                if (this.nodes[j] == this.nodes[i]) {
+                    throw new IllegalArgumentException("Node " + i + " uses the same service as node " + j);
+                }
+            }
+            this.nodes[i].setEnrollmentIdGenerator(new SnowflakeIdGenerator(i));
+        }
+    }
+
+    @Override
+    public Enrollment enrollCourse(int nodeId, String studentId, String courseCode) {
+        return node(nodeId).enrollCourse(studentId, courseCode);
+    }
+
+    @Override
+    public List<Enrollment> enrollCourses(int nodeId, String studentId, List<String> courseCodes) {
+        return node(nodeId).enrollCourses(studentId, courseCodes);
+    }
+
+    @Override
+    public void dropCourse(int nodeId, String studentId, String courseCode) {
+        node(nodeId).dropCourse(studentId, courseCode);
+    }
+
+    @Override
+    public void cancelEnrollment(int nodeId, String studentId, String courseCode) {
+        node(nodeId).cancelEnrollment(studentId, courseCode);
+    }
+
+    @Override
+    public void reserveCredits(int nodeId, String studentId, List<String> courseCodes) {
+        node(nodeId).reserveCredits(studentId, courseCodes);
+    }
+
+    @Override
+    public void releaseCredits(int nodeId, String studentId, List<String> courseCodes) {
+        node(nodeId).releaseCredits(studentId, courseCodes);
+    }
+
+    public int getNodeCount() {
+        return nodes.length;
+    }
+
+    private EnrollmentService node(int nodeId) {
+        if (nodeId < 0 || nodeId >= nodes.length) {
+            throw new EnrollmentException("Unknown enrollment node: " + nodeId);
+        }
+        return nodes[nodeId];
+    }
+}
@@ -0,0 +1,154 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Course;
+import com.siakad.repository.CourseRepository;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongConsumer;
+
+/**
+ * Update enrolledCount dengan optimistic concurrency
+ *
+ * enrolledCount tidak lagi ditimpa dengan nilai lokal, melainkan ditambah atau dikurangi
+ * terhadap versi mata kuliah yang tersimpan lewat CourseRepository#compareAndUpdate.
+ * Jika versi sudah berubah (konflik), mata kuliah dibaca ulang lalu dicoba lagi setelah
+ * backoff eksponensial dengan jitter. Kapasitas dicek terhadap data terbaru, sehingga
+ * beberapa instance EnrollmentService yang berbagi repository tidak melakukan overbooking.
+ * Jumlah konflik dicatat per mata kuliah.
+ */
+
+public class OptimisticCourseUpdater {
+    private final CourseRepository courseRepository;
+    private final int maxAttempts;
+    private final long baseBackoffNanos;
+    private final long maxBackoffNanos;
+    private final LongConsumer sleeper;
+
+    private final ConcurrentMap<String, AtomicLong> conflictCounts = new ConcurrentHashMap<>();
+    private final AtomicLong updateCount = new AtomicLong();
+    private final AtomicLong exhaustedCount = new AtomicLong();
+
+    /**
+     * @param courseRepository Repository yang mendukung compareAndUpdate
+     * @param maxAttempts Jumlah percobaan maksimum per update
+     * @param baseBackoff Backoff setelah konflik pertama, digandakan setiap konflik berikutnya
+     * @param maxBackoff Batas atas backoff
+     */
+    public OptimisticCourseUpdater(CourseRepository courseRepository, int maxAttempts,
+                                   Duration baseBackoff, Duration maxBackoff) {
+        this(courseRepository, maxAttempts, baseBackoff, maxBackoff, LockSupport::parkNanos);
+    }
+
+    OptimisticCourseUpdater(CourseRepository courseRepository, int maxAttempts,
+                            Duration baseBackoff, Duration maxBackoff, LongConsumer sleeper) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("Max attempts must be positive");
+        }
+        if (baseBackoff.isNegative() || maxBackoff.compareTo(baseBackoff) < 0) {
+            throw new IllegalArgumentException("Backoff must be non-negative and max backoff at least base backoff");
+        }
+        this.courseRepository = courseRepository;
+        this.maxAttempts = maxAttempts;
+        this.baseBackoffNanos = baseBackoff.toNanos();
+        this.maxBackoffNanos = maxBackoff.toNanos();
+        this.sleeper = sleeper;
+    }
+
+    /**
+     * Menambah atau mengurangi enrolledCount mata kuliah secara atomik terhadap versi tersimpan
+     * @param course Mata kuliah hasil baca terakhir; enrolledCount dan versinya diperbarui
+     *               dengan nilai yang berhasil disimpan
+     * @param delta Perubahan jumlah peserta, misalnya 1 untuk enroll dan -1 untuk drop
+     * @throws CourseFullException jika delta positif dan mata kuliah sudah penuh menurut data terbaru
+     * @throws CourseNotFoundException jika mata kuliah terhapus saat dibaca ulang
+     * @throws EnrollmentException jika konflik terus terjadi sampai percobaan habis
+     */
+    public void adjustEnrolledCount(Course course, int delta) {
+        String courseCode = course.getCourseCode();
+        Course current = course;
+        for (int attempt = 1; ; attempt++) {
+            int enrolledCount = Math.max(0, current.getEnrolledCount() + delta);
+            if (delta > 0 && enrolledCount > current.getCapacity()) {
+                throw new CourseFullException("Course is full");
+            }
+
+            Course updated = new Course(current);
+            updated.setEnrolledCount(enrolledCount);
+            if (courseRepository.compareAndUpdate(current.getVersion(), updated)) {
+                course.setEnrolledCount(enrolledCount);
+                course.setVersion(updated.getVersion());
+                updateCount.incrementAndGet();
+                return;
+            }
+
+            conflictCounts.computeIfAbsent(courseCode, code -> new AtomicLong()).incrementAndGet();
+            if (attempt >= maxAttempts) {
+                exhaustedCount.incrementAndGet();
+                throw new EnrollmentException("Too many concurrent updates for course: " + courseCode);
+            }
+            backoff(attempt);
+
+            current = courseRepository.findByCourseCode(courseCode);
+            if (current == null) {
+                throw new CourseNotFoundException("Course not found: " + courseCode);
+            }
+        }
+    }
+
+    /**
+     * @return Jumlah konflik versi pada mata kuliah
+     */
+    public long getConflictCount(String courseCode) {
+        AtomicLong count = conflictCounts.get(courseCode);
+        return count == null ? 0 : count.get();
+    }
+
+    /**
+     * @return Jumlah konflik dibagi jumlah percobaan update pada seluruh mata kuliah
+     */
+    public double getConflictRate() {
+        long conflicts = 0;
+        for (AtomicLong count : conflictCounts.values()) {
+            conflicts += count.get();
+        }
+        long attempts = conflicts + updateCount.get();
+        return attempts == 0 ? 0 : (double) conflicts / attempts;
+    }
+
+    /**
+     * @return Jumlah update yang berhasil disimpan
+     */
+    public long getUpdateCount() {
+        return updateCount.get();
+    }
+
+    /**
+     * @return Jumlah update yang gagal karena percobaan habis
+     */
+    public long getExhaustedCount() {
+        return exhaustedCount.get();
+    }
+
+    /**
+     * Full jitter: lama tunggu acak antara 0 dan min(maxBackoff, baseBackoff * 2^(attempt-1))
+     */
+    private void backoff(int attempt) {
+        if (baseBackoffNanos == 0) {
+            return;
+        }
+        long ceiling = Math.min(maxBackoffNanos, baseBackoffNanos << Math.min(attempt - 1, 30));
+        if (ceiling <= 0) {
+            // Overflow pada shift
+            ceiling = maxBackoffNanos;
+        }
+        sleeper.accept(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+}
@@ -0,0 +1,274 @@
+package com.siakad.service;
+
+import com.siakad.exception.PrerequisiteCycleException;
+import com.siakad.model.Course;
+import com.siakad.repository.CourseRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Graf prasyarat seluruh katalog mata kuliah yang sudah dikompilasi
+ *
+ * Seluruh Course.prerequisites dikompilasi sekali menjadi DAG. Siklus ditolak saat
+ * kompilasi dengan PrerequisiteCycleException, lalu transitive closure setiap mata
+ * kuliah dihitung dalam urutan topologis dan disimpan sebagai bitset.
+ * Object ini immutable sehingga aman dipakai bersama oleh banyak thread.
+ */
+
+public final class PrerequisiteGraph {
+    private final String[] codes;
+    private final Map<String, Integer> ids;
+    private final boolean[] inCatalogue;
+    private final long[][] directMasks;
+    private final long[][] closures;
+    private final int[] topologicalOrder;
+
+    private PrerequisiteGraph(String[] codes, Map<String, Integer> ids, boolean[] inCatalogue,
+                              int[][] prerequisites) {
+        this.codes = codes;
+        this.ids = ids;
+        this.inCatalogue = inCatalogue;
+        this.topologicalOrder = sortTopologically(codes, prerequisites);
+
+        int words = (codes.length + 63) >>> 6;
+        this.directMasks = new long[codes.length][];
+        this.closures = new long[codes.length][];
+        for (int node : topologicalOrder) {
+            long[] direct = new long[words];
+            long[] closure = new long[words];
+            for (int prerequisite : prerequisites[node]) {
+                direct[prerequisite >>> 6] |= 1L << prerequisite;
+                closure[prerequisite >>> 6] |= 1L << prerequisite;
+                long[] inherited = closures[prerequisite];
+                for (int w = 0; w < words; w++) {
+                    closure[w] |= inherited[w];
+                }
+            }
+            directMasks[node] = direct;
+            closures[node] = closure;
+        }
+    }
+
+    /**
+     * Mengkompilasi katalog mata kuliah menjadi graf prasyarat
+     * @param courses Seluruh mata kuliah dalam katalog
+     * @return Graf prasyarat yang sudah dikompilasi
+     * @throws PrerequisiteCycleException jika rantai prasyarat membentuk siklus
+     */
+    public static PrerequisiteGraph compile(Collection<Course> courses) {
+        Map<String, Integer> ids = new HashMap<>();
+        List<String> codes = new ArrayList<>();
+        for (Course course : courses) {
+            intern(course.getCourseCode(), ids, codes);
+        }
+        int catalogueSize = codes.size();
+
+        List<int[]> edges = new ArrayList<>(Collections.nCopies(catalogueSize, (int[]) null));
+        for (Course course : courses) {
+            List<String> prerequisites = course.getPrerequisites();
+            Set<Integer> unique = new LinkedHashSet<>();
+            if (prerequisites != null) {
+                for (String prerequisite : prerequisites) {
+                    unique.add(intern(prerequisite, ids, codes));
+                }
+            }
+            edges.set(ids.get(course.getCourseCode()), unique.stream().mapToInt(Integer::intValue).toArray());
+        }
+
+        // Kode prasyarat yang tidak ada di katalog menjadi node tanpa prasyarat
+        int[][] prerequisites = new int[codes.size()][];
+        boolean[] inCatalogue = new boolean[codes.size()];
+        for (int i = 0; i < codes.size(); i++) {
+            inCatalogue[i] = i < catalogueSize;
+            prerequisites[i] = i < catalogueSize ? edges.get(i) : new int[0];
+        }
+        return new PrerequisiteGraph(codes.toArray(new String[0]), ids, inCatalogue, prerequisites);
+    }
+
+    /**
+     * Mengkompilasi seluruh katalog yang ada di repository
+     * @param courseRepository Repository yang mendukung scan
+     * @return Graf prasyarat yang sudah dikompilasi
+     * @throws PrerequisiteCycleException jika rantai prasyarat membentuk siklus
+     */
+    public static PrerequisiteGraph compile(CourseRepository courseRepository) {
+        List<Course> courses = new ArrayList<>();
+        courseRepository.scan(courses::add);
+        return compile(courses);
+    }
+
+    /**
+     * Mencari seluruh mata kuliah katalog yang bisa diambil semester berikutnya
+     * (semua prasyarat langsung sudah diselesaikan dan mata kuliah belum diselesaikan)
+     * dalam satu kali penelusuran katalog
+     *
+     * @param completedCourseCodes Kode mata kuliah yang sudah diselesaikan mahasiswa
+     * @return Kode mata kuliah yang bisa diambil, dalam urutan topologis
+     */
+    public List<String> findEligibleCourses(Collection<String> completedCourseCodes) {
+        long[] completed = toBitset(completedCourseCodes);
+        List<String> eligible = new ArrayList<>();
+        for (int node : topologicalOrder) {
+            if (inCatalogue[node] && !isSet(completed, node) && isSubset(directMasks[node], completed)) {
+                eligible.add(codes[node]);
+            }
+        }
+        return eligible;
+    }
+
+    /**
+     * Mendapatkan seluruh prasyarat (langsung maupun tidak langsung) sebuah mata kuliah
+     * @param courseCode Kode mata kuliah
+     * @return Kode prasyarat dalam urutan topologis, kosong jika mata kuliah tidak dikenal
+     */
+    public List<String> getAllPrerequisites(String courseCode) {
+        Integer id = ids.get(courseCode);
+        if (id == null) {
+            return Collections.emptyList();
+        }
+        return collect(closures[id], null);
+    }
+
+    /**
+     * Mendapatkan prasyarat (langsung maupun tidak langsung) yang belum diselesaikan
+     * @param courseCode Kode mata kuliah tujuan
+     * @param completedCourseCodes Kode mata kuliah yang sudah diselesaikan mahasiswa
+     * @return Kode prasyarat yang masih harus diambil, dalam urutan topologis
+     */
+    public List<String> getMissingPrerequisites(String courseCode, Collection<String> completedCourseCodes) {
+        Integer id = ids.get(courseCode);
+        if (id == null) {
+            return Collections.emptyList();
+        }
+        return collect(closures[id], toBitset(completedCourseCodes));
+    }
+
+    /**
+     * @return Kode seluruh mata kuliah katalog dengan prasyarat selalu mendahului mata kuliahnya
+     */
+    public List<String> getTopologicalOrder() {
+        List<String> order = new ArrayList<>(topologicalOrder.length);
+        for (int node : topologicalOrder) {
+            if (inCatalogue[node]) {
+                order.add(codes[node]);
+            }
+        }
+        return order;
+    }
+
+    public boolean contains(String courseCode) {
+        Integer id = ids.get(courseCode);
+        return id != null && inCatalogue[id];
+    }
+
+    private List<String> collect(long[] bits, long[] exclude) {
+        List<String> result = new ArrayList<>();
+        for (int node : topologicalOrder) {
+            if (isSet(bits, node) && (exclude == null || !isSet(exclude, node))) {
+                result.add(codes[node]);
+            }
+        }
+        return result;
+    }
+
+    private long[] toBitset(Collection<String> courseCodes) {
+        long[] bits = new long[(codes.length + 63) >>> 6];
+        for (String courseCode : courseCodes) {
+            Integer id = ids.get(courseCode);
+            if (id != null) {
+                bits[id >>> 6] |= 1L << id;
+            }
+        }
+        return bits;
+    }
+
+    private static boolean isSet(long[] bits, int id) {
+        return (bits[id >>> 6] & (1L << id)) != 0;
+    }
+
+    private static boolean isSubset(long[] mask, long[] bits) {
+        for (int w = 0; w < mask.length; w++) {
+            if ((mask[w] & ~bits[w]) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int intern(String courseCode, Map<String, Integer> ids, List<String> codes) {
+        Integer id = ids.get(courseCode);
+        if (id == null) {
+            id = codes.size();
+            ids.put(courseCode, id);
+            codes.add(courseCode);
+        }
+        return id;
+    }
+
+    /**
+     * DFS iteratif (aman untuk rantai prasyarat yang sangat panjang), post-order
+     * menghasilkan urutan dengan prasyarat selalu lebih dulu
+     */
+    private static int[] sortTopologically(String[] codes, int[][] prerequisites) {
+        final byte unvisited = 0;
+        final byte inProgress = 1;
+        final byte done = 2;
+        byte[] state = new byte[codes.length];
+        int[] order = new int[codes.length];
+        int orderSize = 0;
+
+        int[] stack = new int[codes.length];
+        int[] nextEdge = new int[codes.length];
+        for (int root = 0; root < codes.length; root++) {
+            if (state[root] != unvisited) {
+                continue;
+            }
+            int depth = 0;
+            stack[depth++] = root;
+            state[root] = inProgress;
+            nextEdge[root] = 0;
+
+            while (depth > 0) {
+                int node = stack[depth - 1];
+                if (nextEdge[node] < prerequisites[node].length) {
+                    int next = prerequisites[node][nextEdge[node]++];
+                    if (state[next] == inProgress) {
+                        throw new PrerequisiteCycleException("Prerequisite cycle detected: "
+                                + describeCycle(codes, stack, depth, next));
+                    }
+                    if (state[next] == unvisited) {
+                        state[next] = inProgress;
+                        nextEdge[next] = 0;
+                        stack[depth++] = next;
+                    }
+                } else {
+                    state[node] = done;
+                    order[orderSize++] = node;
+                    depth--;
+                }
+            }
+        }
+        return order;
+    }
+
+    private static String describeCycle(String[] codes, int[] stack, int depth, int repeated) {
+        int start = depth - 1;
+        while (stack[start] != repeated) {
+            start--;
+        }
+        String[] path = new String[depth - start + 1];
+        for (int i = start; i < depth; i++) {
+            path[i - start] = codes[stack[i]];
+        }
+        path[path.length - 1] = codes[repeated];
+        return String.join(" -> ", Arrays.asList(path));
+    }
+}
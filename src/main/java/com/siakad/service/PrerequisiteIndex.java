@@ -0,0 +1,121 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.repository.StudentRepository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Index prasyarat di memori sebagai pengganti CourseRepository.isPrerequisiteMet
+ *
+ * Setiap kode mata kuliah di-intern menjadi id integer. Prasyarat sebuah mata kuliah
+ * disimpan sebagai bitmask dan mata kuliah yang sudah diselesaikan mahasiswa sebagai
+ * bitset, sehingga pengecekan prasyarat cukup berupa operasi AND per word.
+ * Bitset bersifat copy-on-write sehingga pembacaan tidak memerlukan lock.
+ */
+
+public class PrerequisiteIndex {
+    private final StudentRepository studentRepository;
+    private final ConcurrentMap<String, Integer> courseIds = new ConcurrentHashMap<>();
+    private final AtomicInteger nextCourseId = new AtomicInteger();
+    private final ConcurrentMap<String, long[]> prerequisiteMasks = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, long[]> completedCourses = new ConcurrentHashMap<>();
+
+    public PrerequisiteIndex(StudentRepository studentRepository) {
+        this.studentRepository = studentRepository;
+    }
+
+    /**
+     * Mendaftarkan (atau memperbarui) bitmask prasyarat sebuah mata kuliah
+     * @param course Mata kuliah
+     */
+    public void registerCourse(Course course) {
+        prerequisiteMasks.put(course.getCourseCode(), maskOf(course.getPrerequisites()));
+    }
+
+    /**
+     * Mengecek prasyarat mata kuliah. Mata kuliah yang belum terdaftar akan didaftarkan,
+     * data mahasiswa yang belum dimuat akan diambil sekali dari StudentRepository
+     *
+     * @param studentId ID mahasiswa
+     * @param course Mata kuliah yang akan diambil
+     * @return true jika seluruh prasyarat sudah diselesaikan
+     */
+    public boolean isPrerequisiteMet(String studentId, Course course) {
+        long[] mask = prerequisiteMasks.computeIfAbsent(course.getCourseCode(),
+                code -> maskOf(course.getPrerequisites()));
+        if (mask.length == 0) {
+            return true;
+        }
+
+        long[] completed = completedCourses.computeIfAbsent(studentId, this::loadCompleted);
+        for (int i = 0; i < mask.length; i++) {
+            long done = i < completed.length ? completed[i] : 0L;
+            if ((mask[i] & ~done) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Memperbarui index secara inkremental ketika mahasiswa menyelesaikan mata kuliah
+     * @param studentId ID mahasiswa
+     * @param courseCode Kode mata kuliah yang diselesaikan
+     */
+    public void markCompleted(String studentId, String courseCode) {
+        int id = idOf(courseCode);
+        completedCourses.compute(studentId, (key, bits) -> {
+            long[] current = bits == null ? loadCompleted(key) : bits;
+            return withBit(current, id);
+        });
+    }
+
+    /**
+     * Membuang data mahasiswa dari index agar dimuat ulang pada pengecekan berikutnya
+     * @param studentId ID mahasiswa
+     */
+    public void invalidateStudent(String studentId) {
+        completedCourses.remove(studentId);
+    }
+
+    /**
+     * @return Jumlah kode mata kuliah yang sudah di-intern
+     */
+    public int getCourseCount() {
+        return courseIds.size();
+    }
+
+    private long[] loadCompleted(String studentId) {
+        long[] bits = new long[0];
+        for (Course course : studentRepository.getCompletedCourses(studentId)) {
+            bits = withBit(bits, idOf(course.getCourseCode()));
+        }
+        return bits;
+    }
+
+    private long[] maskOf(List<String> prerequisites) {
+        long[] mask = new long[0];
+        if (prerequisites != null) {
+            for (String prerequisite : prerequisites) {
+                mask = withBit(mask, idOf(prerequisite));
+            }
+        }
+        return mask;
+    }
+
+    private int idOf(String courseCode) {
+        return courseIds.computeIfAbsent(courseCode, code -> nextCourseId.getAndIncrement());
+    }
+
+    private static long[] withBit(long[] bits, int id) {
+        int word = id >>> 6;
+        long[] copy = Arrays.copyOf(bits, Math.max(bits.length, word + 1));
+        copy[word] |= 1L << id;
+        return copy;
+    }
+}
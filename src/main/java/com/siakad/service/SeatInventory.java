@@ -0,0 +1,91 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Inventori kursi per mata kuliah
+ * Pengecekan kapasitas dan penambahan jumlah peserta dilakukan dalam satu
+ * langkah atomik (CAS) sehingga tidak terjadi overbooking tanpa global lock
+ */
+
+public class SeatInventory {
+    private final ConcurrentMap<String, AtomicInteger> seats = new ConcurrentHashMap<>();
+
+    /**
+     * Mengecek apakah masih ada kursi kosong pada mata kuliah
+     * @param course Mata kuliah yang dicek
+     * @return true jika masih ada kursi kosong
+     */
+    public boolean hasAvailableSeat(Course course) {
+        return counterFor(course).get() < course.getCapacity();
+    }
+
+    /**
+     * Memesan satu kursi secara atomik
+     * @param course Mata kuliah yang dipesan
+     * @return Jumlah peserta setelah pemesanan, atau -1 jika mata kuliah sudah penuh
+     */
+    public int tryReserve(Course course) {
+        AtomicInteger counter = counterFor(course);
+        int capacity = course.getCapacity();
+        while (true) {
+            int current = counter.get();
+            if (current >= capacity) {
+                return -1;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+
+    /**
+     * Melepaskan satu kursi secara atomik (tidak pernah di bawah nol)
+     * @param course Mata kuliah yang kursinya dilepas
+     * @return Jumlah peserta setelah pelepasan
+     */
+    public int release(Course course) {
+        AtomicInteger counter = counterFor(course);
+        while (true) {
+            int current = counter.get();
+            if (current <= 0) {
+                return 0;
+            }
+            if (counter.compareAndSet(current, current - 1)) {
+                return current - 1;
+            }
+        }
+    }
+
+    /**
+     * Menyamakan jumlah peserta di inventori dengan enrolledCount mata kuliah, misalnya
+     * setelah instance lain yang berbagi repository melepas kursi
+     * @param course Mata kuliah yang baru dibaca dari repository
+     */
+    public void resync(Course course) {
+        counterFor(course).set(course.getEnrolledCount());
+    }
+
+    /**
+     * Mendapatkan jumlah peserta yang tercatat di inventori
+     * @param courseCode Kode mata kuliah
+     * @return Jumlah peserta, atau -1 jika mata kuliah belum pernah dimuat
+     */
+    public int getEnrolledCount(String courseCode) {
+        AtomicInteger counter = seats.get(courseCode);
+        return counter == null ? -1 : counter.get();
+    }
+
+    /**
+     * Counter diinisialisasi dari enrolledCount saat mata kuliah pertama kali dimuat,
+     * setelah itu inventori menjadi sumber kebenaran jumlah peserta
+     */
+    private AtomicInteger counterFor(Course course) {
+        return seats.computeIfAbsent(course.getCourseCode(),
+                code -> new AtomicInteger(course.getEnrolledCount()));
+    }
+}
@@ -0,0 +1,72 @@
+package com.siakad.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * EnrollmentIdGenerator 64-bit bergaya Snowflake
+ *
+ * Susunan bit: 41 bit milidetik sejak EPOCH | 10 bit node id | 12 bit sequence per milidetik.
+ * Timestamp dan sequence terakhir disimpan dalam satu AtomicLong dan dinaikkan dengan CAS,
+ * sehingga generator lock-free dan nomor per node selalu naik. Jika sequence satu milidetik
+ * habis, atau jam sistem mundur, generator meminjam milidetik berikutnya alih-alih menunggu.
+ * Nomor dari node berbeda tidak pernah sama selama setiap node memakai node id berbeda.
+ */
+
+public class SnowflakeIdGenerator implements EnrollmentIdGenerator {
+    /** 2024-01-01T00:00:00Z dalam epoch millis */
+    static final long EPOCH = 1704067200000L;
+    static final int NODE_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final int MAX_NODE_ID = (1 << NODE_BITS) - 1;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+    // (milidetik sejak EPOCH << SEQUENCE_BITS) | sequence, dari nomor terakhir yang dibuat
+    private final AtomicLong lastState = new AtomicLong();
+
+    /**
+     * @param nodeId ID node, 0 sampai 1023
+     */
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(int nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("Node id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    @Override
+    public long nextId() {
+        long now = clock.getAsLong() - EPOCH;
+        long candidate = now << SEQUENCE_BITS;
+        while (true) {
+            long previous = lastState.get();
+            // Sequence yang meluap otomatis pindah ke milidetik berikutnya
+            long next = candidate > previous ? candidate : previous + 1;
+            if (lastState.compareAndSet(previous, next)) {
+                long timestamp = next >>> SEQUENCE_BITS;
+                long sequence = next & ((1L << SEQUENCE_BITS) - 1);
+                return (timestamp << (NODE_BITS + SEQUENCE_BITS)) | nodeBits | sequence;
+            }
+        }
+    }
+
+    /**
+     * @return Waktu pembuatan nomor dalam epoch millis
+     */
+    public static long timestampOf(long id) {
+        return (id >>> (NODE_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    /**
+     * @return Node id pembuat nomor
+     */
+    public static int nodeOf(long id) {
+        return (int) ((id >>> SEQUENCE_BITS) & MAX_NODE_ID);
+    }
+}
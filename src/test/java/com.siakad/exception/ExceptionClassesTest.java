@@ -70,5 +70,32 @@ class ExceptionClassesTest {
         assertEquals("Student not found", exception2.getMessage());
         assertEquals(cause, exception2.getCause());
     }
-}
 
+    @Test
+    void testPrerequisiteCycleException() {
+        // Test constructor with message
+        PrerequisiteCycleException exception1 = new PrerequisiteCycleException("Prerequisite cycle detected: CS101 -> CS102 -> CS101");
+        assertEquals("Prerequisite cycle detected: CS101 -> CS102 -> CS101", exception1.getMessage());
+
+        // Test constructor with message and cause
+        Throwable cause = new RuntimeException("Catalogue load failed");
+        PrerequisiteCycleException exception2 = new PrerequisiteCycleException("Prerequisite cycle detected", cause);
+        assertEquals("Prerequisite cycle detected", exception2.getMessage());
+        assertEquals(cause, exception2.getCause());
+    }
+
+    @Test
+    void testAdmissionRejectedException() {
+        // Test constructor with message
+        AdmissionRejectedException exception1 = new AdmissionRejectedException("Too many requests", 250);
+        assertEquals("Too many requests", exception1.getMessage());
+        assertEquals(250, exception1.getRetryAfterMillis());
+
+        // Test constructor with message and cause
+        Throwable cause = new RuntimeException("Limiter overloaded");
+        AdmissionRejectedException exception2 = new AdmissionRejectedException("Too many requests", 10, cause);
+        assertEquals("Too many requests", exception2.getMessage());
+        assertEquals(10, exception2.getRetryAfterMillis());
+        assertEquals(cause, exception2.getCause());
+    }
+}
@@ -0,0 +1,284 @@
+package com.siakad.journal;
+
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentJournalTest {
+
+    @TempDir
+    Path directory;
+
+    private EnrollmentJournal journal;
+
+    @AfterEach
+    void tearDown() {
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private static Enrollment enrollment(int i) {
+        return new Enrollment("ENR-" + i, "0909", "CS" + i,
+                LocalDateTime.of(2024, 8, 1, 9, 30, 15), "APPROVED");
+    }
+
+    private List<JournalRecord> replayAll(EnrollmentJournal target, long afterSequence) {
+        List<JournalRecord> records = new ArrayList<>();
+        target.replay(afterSequence, records::add);
+        return records;
+    }
+
+    @Test
+    void constructor_RejectsTinySegment() {
+        assertThrows(IllegalArgumentException.class, () -> new EnrollmentJournal(directory, 512));
+    }
+
+    @Test
+    void appendAndReplay_RoundTrip() {
+        journal = new EnrollmentJournal(directory, 4096);
+
+        assertEquals(1, journal.appendDurably(enrollment(1)));
+        assertEquals(2, journal.appendDrop("0909", "CS1", LocalDateTime.of(2024, 8, 2, 10, 0)));
+
+        List<JournalRecord> records = replayAll(journal, 0);
+        assertEquals(2, records.size());
+
+        Enrollment replayed = records.get(0).toEnrollment();
+        assertEquals("ENR-1", replayed.getEnrollmentId());
+        assertEquals("0909", replayed.getStudentId());
+        assertEquals("CS1", replayed.getCourseCode());
+        assertEquals(LocalDateTime.of(2024, 8, 1, 9, 30, 15), replayed.getEnrollmentDate());
+        assertEquals(EnrollmentStatus.APPROVED, replayed.getStatus());
+
+        assertNull(records.get(1).getEnrollmentId());
+        assertEquals(EnrollmentStatus.DROPPED, records.get(1).getStatus());
+        assertEquals(2, records.get(1).getSequence());
+    }
+
+    @Test
+    void append_RollsSegmentsAndReplayKeepsOrder() {
+        journal = new EnrollmentJournal(directory, 1024);
+        for (int i = 1; i <= 100; i++) {
+            journal.append(enrollment(i));
+        }
+
+        assertTrue(journal.getSegmentCount() > 1);
+        List<JournalRecord> records = replayAll(journal, 0);
+        assertEquals(100, records.size());
+        for (int i = 0; i < records.size(); i++) {
+            assertEquals(i + 1, records.get(i).getSequence());
+            assertEquals("ENR-" + (i + 1), records.get(i).getEnrollmentId());
+        }
+    }
+
+    @Test
+    void replay_SkipsRecordsUpToAfterSequence() {
+        journal = new EnrollmentJournal(directory, 1024);
+        for (int i = 1; i <= 100; i++) {
+            journal.append(enrollment(i));
+        }
+
+        List<JournalRecord> records = replayAll(journal, 90);
+
+        assertEquals(10, records.size());
+        assertEquals(91, records.get(0).getSequence());
+        assertTrue(replayAll(journal, 100).isEmpty());
+    }
+
+    @Test
+    void reopen_ContinuesSequence() {
+        journal = new EnrollmentJournal(directory, 1024);
+        for (int i = 1; i <= 30; i++) {
+            journal.append(enrollment(i));
+        }
+        journal.close();
+
+        journal = new EnrollmentJournal(directory, 1024);
+        assertEquals(30, journal.getLastSequence());
+        assertEquals(30, journal.getDurableSequence());
+        assertEquals(31, journal.append(enrollment(31)));
+        assertEquals(31, replayAll(journal, 0).size());
+    }
+
+    @Test
+    void reopen_WithDifferentSegmentSizeKeepsExistingSegment() throws IOException {
+        journal = new EnrollmentJournal(directory, 4096);
+        for (int i = 1; i <= 40; i++) {
+            journal.append(enrollment(i));
+        }
+        journal.close();
+        Path first = EnrollmentJournal.listSegments(directory).get(0);
+
+        // Segment lama lebih besar dari segmentSize baru dan tidak boleh terpotong
+        journal = new EnrollmentJournal(directory, 1024);
+        assertEquals(40, journal.getLastSequence());
+        assertEquals(41, journal.append(enrollment(41)));
+        journal.close();
+        assertEquals(4096, Files.size(first));
+
+        // Segment 1024 byte tidak boleh diperbesar saat dibuka dengan segmentSize lebih besar
+        journal = new EnrollmentJournal(directory, 8192);
+        assertEquals(42, journal.append(enrollment(42)));
+        assertEquals(3, journal.getSegmentCount());
+        List<Path> segments = EnrollmentJournal.listSegments(directory);
+        assertEquals(1024, Files.size(segments.get(1)));
+
+        List<JournalRecord> records = replayAll(journal, 0);
+        assertEquals(42, records.size());
+        assertEquals("ENR-42", records.get(41).getEnrollmentId());
+    }
+
+    @Test
+    void reopen_ReplacesSegmentWithoutHeader() throws IOException {
+        Files.createDirectories(directory);
+        Files.write(directory.resolve(String.format("segment-%020d.log", 1)), new byte[0]);
+
+        journal = new EnrollmentJournal(directory, 1024);
+        assertEquals(1, journal.append(enrollment(1)));
+        assertEquals(1, journal.getSegmentCount());
+        assertEquals(1, replayAll(journal, 0).size());
+    }
+
+    @Test
+    void reopen_ReinitializesFullSizeSegmentWithZeroHeader() throws IOException {
+        journal = new EnrollmentJournal(directory, 4096);
+        for (int i = 1; i <= 3; i++) {
+            journal.append(enrollment(i));
+        }
+        journal.close();
+        journal = null;
+
+        // Crash tepat setelah roll: segment baru sudah berukuran penuh tetapi header masih nol
+        Path rolled = directory.resolve(String.format("segment-%020d.log", 4));
+        Files.write(rolled, new byte[4096]);
+
+        journal = new EnrollmentJournal(directory, 4096);
+        assertEquals(3, journal.getLastSequence());
+        assertEquals(4, journal.append(enrollment(4)));
+        assertEquals(2, journal.getSegmentCount());
+
+        List<JournalRecord> records = replayAll(journal, 0);
+        assertEquals(4, records.size());
+        assertEquals("ENR-4", records.get(3).getEnrollmentId());
+    }
+
+    @Test
+    void reopen_DiscardsTornTail() throws IOException {
+        journal = new EnrollmentJournal(directory, 4096);
+        for (int i = 1; i <= 3; i++) {
+            journal.append(enrollment(i));
+        }
+        journal.close();
+
+        // Rusak satu byte payload record ketiga seolah-olah write terputus
+        Path segment = EnrollmentJournal.listSegments(directory).get(0);
+        byte[] bytes = Files.readAllBytes(segment);
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        int position = EnrollmentJournal.SEGMENT_HEADER_SIZE;
+        for (int i = 0; i < 2; i++) {
+            position += EnrollmentJournal.RECORD_HEADER_SIZE + buffer.getInt(position);
+        }
+        bytes[position + EnrollmentJournal.RECORD_HEADER_SIZE + 20] ^= 0x7F;
+        Files.write(segment, bytes);
+
+        journal = new EnrollmentJournal(directory, 4096);
+        assertEquals(2, journal.getLastSequence());
+        assertEquals(3, journal.append(enrollment(4)));
+
+        List<JournalRecord> records = replayAll(journal, 0);
+        assertEquals(3, records.size());
+        assertEquals("ENR-4", records.get(2).getEnrollmentId());
+    }
+
+    @Test
+    void awaitDurable_GroupCommitsConcurrentWriters() throws InterruptedException {
+        journal = new EnrollmentJournal(directory, 1 << 16);
+        int writers = 8;
+        ExecutorService executor = Executors.newFixedThreadPool(writers);
+        CountDownLatch done = new CountDownLatch(writers * 20);
+        for (int w = 0; w < writers; w++) {
+            int writer = w;
+            executor.execute(() -> {
+                for (int i = 0; i < 20; i++) {
+                    journal.appendDurably(enrollment(writer * 100 + i));
+                    done.countDown();
+                }
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(160, journal.getLastSequence());
+        assertEquals(160, journal.getDurableSequence());
+        assertEquals(160, replayAll(journal, 0).size());
+    }
+
+    @Test
+    void append_AfterClose_Throws() {
+        journal = new EnrollmentJournal(directory, 1024);
+        journal.close();
+
+        assertThrows(IllegalStateException.class, () -> journal.append(enrollment(1)));
+    }
+
+    @Test
+    void enrollmentService_RecordsEnrollAndDrop() {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+        studentRepository.save(new Student("0909", "Nabila", "Nabila@email.com",
+                "Computer Science", 3, 3.2, "ACTIVE"));
+        courseRepository.save(new Course("CS101", "Programming", 3, 30, 0, "Dr. Smith"));
+        courseRepository.save(new Course("CS102", "Data Structures", 3, 30, 0, "Dr. Smith"));
+        NotificationService notificationService = new NotificationService() {
+            @Override
+            public void sendEmail(String email, String subject, String message) {
+            }
+
+            @Override
+            public void sendSMS(String phone, String message) {
+            }
+        };
+
+        journal = new EnrollmentJournal(directory, 4096);
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                notificationService, new GradeCalculator());
+        service.setEnrollmentJournal(journal);
+
+        Enrollment enrollment = service.enrollCourse("0909", "CS101");
+        service.dropCourse("0909", "CS101");
+
+        assertEquals(2, journal.getDurableSequence());
+        List<JournalRecord> records = replayAll(journal, 0);
+        assertEquals(enrollment.getEnrollmentId(), records.get(0).getEnrollmentId());
+        assertEquals(EnrollmentStatus.DROPPED, records.get(1).getStatus());
+
+        journal.close();
+        assertThrows(EnrollmentException.class, () -> service.enrollCourse("0909", "CS102"));
+        assertEquals(0, courseRepository.findByCourseCode("CS102").getEnrolledCount());
+    }
+}
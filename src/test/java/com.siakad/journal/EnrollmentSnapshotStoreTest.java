@@ -0,0 +1,200 @@
+package com.siakad.journal;
+
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentSnapshotStoreTest {
+
+    @TempDir
+    Path directory;
+
+    private EnrollmentJournal journal;
+    private EnrollmentSnapshotStore snapshotStore;
+    private List<Course> catalog;
+
+    @BeforeEach
+    void setUp() {
+        journal = new EnrollmentJournal(directory.resolve("journal"), 1024);
+        snapshotStore = new EnrollmentSnapshotStore(directory.resolve("snapshots"), 2);
+        catalog = Arrays.asList(
+                new Course("CS101", "Programming", 3, 30, 15, "Dr. Smith"),
+                new Course("CS102", "Data Structures", 3, 30, 0, "Dr. Smith"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        journal.close();
+    }
+
+    private void enroll(String studentId, String courseCode) {
+        journal.append(new Enrollment("ENR-" + studentId + courseCode, studentId, courseCode,
+                LocalDateTime.of(2024, 8, 1, 9, 0), "APPROVED"));
+    }
+
+    @Test
+    void recover_WithoutSnapshot_ReplaysWholeJournalOnCatalog() {
+        enroll("0909", "CS101");
+        enroll("0909", "CS102");
+        enroll("099", "CS102");
+        journal.appendDrop("0909", "CS102", LocalDateTime.of(2024, 8, 2, 9, 0));
+
+        EnrollmentState state = snapshotStore.recover(journal, catalog);
+
+        assertEquals(16, state.getEnrolledCount("CS101"));
+        assertEquals(1, state.getEnrolledCount("CS102"));
+        assertEquals(Set.of("CS101"), state.getEnrolledCourses("0909"));
+        assertEquals("ENR-099CS102", state.getEnrollments("099").get(0).getEnrollmentId());
+        assertEquals(4, state.getLastSequence());
+    }
+
+    @Test
+    void apply_WaitlistedRecordsDoNotTakeSeats() {
+        journal.append(new Enrollment("ENR-1", "099", "CS102", LocalDateTime.of(2024, 8, 1, 9, 0), "WAITLISTED"));
+        enroll("0909", "CS102");
+        journal.append(new Enrollment("ENR-2", "0909", "CS102", LocalDateTime.of(2024, 8, 1, 9, 0), "WAITLISTED"));
+        journal.appendDrop("099", "CS102", LocalDateTime.of(2024, 8, 2, 9, 0));
+
+        EnrollmentState state = snapshotStore.recover(journal, catalog);
+
+        assertEquals(1, state.getEnrolledCount("CS102"));
+        assertEquals(EnrollmentStatus.APPROVED, state.getEnrollments("0909").get(0).getStatus());
+        assertTrue(state.getEnrolledCourses("099").isEmpty());
+    }
+
+    @Test
+    void getEnrolledCourses_OnlyApprovedEnrollments() {
+        enroll("0909", "CS101");
+        journal.append(new Enrollment("ENR-1", "0909", "CS102", LocalDateTime.of(2024, 8, 1, 9, 0), "WAITLISTED"));
+        journal.append(new Enrollment("ENR-2", "099", "CS102", LocalDateTime.of(2024, 8, 1, 9, 0), "REJECTED"));
+
+        EnrollmentState state = snapshotStore.recover(journal, catalog);
+
+        assertEquals(Set.of("CS101"), state.getEnrolledCourses("0909"));
+        assertTrue(state.getEnrolledCourses("099").isEmpty());
+        assertEquals(2, state.getEnrollments("0909").size());
+        snapshotStore.write(state);
+        assertEquals(Set.of("CS101"), snapshotStore.loadLatest().getEnrolledCourses("0909"));
+    }
+
+    @Test
+    void writeAndLoad_RoundTrip() {
+        enroll("0909", "CS101");
+        enroll("099", "CS102");
+        EnrollmentState state = snapshotStore.recover(journal, catalog);
+
+        snapshotStore.write(state);
+        EnrollmentState loaded = snapshotStore.loadLatest();
+
+        assertEquals(2, loaded.getLastSequence());
+        assertEquals(16, loaded.getEnrolledCount("CS101"));
+        assertEquals(1, loaded.getEnrolledCount("CS102"));
+        assertEquals(2, loaded.getEnrollmentCount());
+        Enrollment enrollment = loaded.getEnrollments("0909").get(0);
+        assertEquals("ENR-0909CS101", enrollment.getEnrollmentId());
+        assertEquals(LocalDateTime.of(2024, 8, 1, 9, 0), enrollment.getEnrollmentDate());
+    }
+
+    @Test
+    void recover_AppliesOnlyJournalTailAfterSnapshot() {
+        enroll("0909", "CS101");
+        snapshotStore.write(snapshotStore.recover(journal, catalog));
+        enroll("099", "CS101");
+
+        EnrollmentState state = snapshotStore.recover(journal, catalog);
+
+        assertEquals(17, state.getEnrolledCount("CS101"));
+        assertEquals(0, state.catchUp(journal));
+        assertEquals(2, state.getLastSequence());
+    }
+
+    @Test
+    void loadLatest_SkipsCorruptSnapshot() throws IOException {
+        enroll("0909", "CS101");
+        snapshotStore.write(snapshotStore.recover(journal, catalog));
+        enroll("099", "CS101");
+        Path latest = snapshotStore.write(snapshotStore.recover(journal, catalog));
+
+        byte[] bytes = Files.readAllBytes(latest);
+        bytes[bytes.length / 2] ^= 0x7F;
+        Files.write(latest, bytes);
+
+        assertEquals(1, snapshotStore.loadLatest().getLastSequence());
+        assertEquals(17, snapshotStore.recover(journal, catalog).getEnrolledCount("CS101"));
+    }
+
+    @Test
+    void write_KeepsOnlyRetainedSnapshots() {
+        for (int i = 0; i < 4; i++) {
+            enroll("S" + i, "CS102");
+            snapshotStore.write(snapshotStore.recover(journal, catalog));
+        }
+
+        assertEquals(2, snapshotStore.getSnapshotCount());
+        assertEquals(4, snapshotStore.loadLatest().getLastSequence());
+    }
+
+    @Test
+    void restoreTo_UpdatesChangedCourses() {
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(new InMemoryStudentRepository());
+        for (Course course : catalog) {
+            courseRepository.save(course);
+        }
+        enroll("0909", "CS102");
+
+        EnrollmentState state = snapshotStore.recover(journal, catalog);
+
+        assertEquals(1, state.restoreTo(courseRepository));
+        assertEquals(15, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(1, courseRepository.findByCourseCode("CS102").getEnrolledCount());
+    }
+
+    @Test
+    void checkpoint_WritesSnapshotAndDeletesCoveredSegments() throws IOException {
+        EnrollmentState state = snapshotStore.recover(journal, catalog);
+        try (EnrollmentCheckpointer checkpointer = new EnrollmentCheckpointer(journal, snapshotStore,
+                state, Duration.ofHours(1))) {
+            for (int i = 0; i < 40; i++) {
+                enroll("S" + i, "CS102");
+            }
+            assertEquals(40, checkpointer.checkpoint());
+            for (int i = 40; i < 80; i++) {
+                enroll("S" + i, "CS102");
+            }
+            int segmentsBefore = journal.getSegmentCount();
+            assertEquals(80, checkpointer.checkpoint());
+            assertEquals(80, checkpointer.checkpoint());
+
+            assertEquals(2, checkpointer.getCheckpointCount());
+            assertTrue(journal.getSegmentCount() < segmentsBefore);
+        }
+
+        // Segment yang tersisa masih cukup untuk pulih dari snapshot sebelumnya
+        try (Stream<Path> files = Files.list(directory.resolve("snapshots"))) {
+            Path latest = files.sorted().collect(Collectors.toList()).get(1);
+            Files.delete(latest);
+        }
+        EnrollmentState recovered = snapshotStore.recover(journal, catalog);
+        assertEquals(80, recovered.getEnrolledCount("CS102"));
+        assertEquals(80, recovered.getLastSequence());
+    }
+}
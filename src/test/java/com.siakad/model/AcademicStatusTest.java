@@ -0,0 +1,48 @@
+package com.siakad.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcademicStatusTest {
+
+    @Test
+    void fromString_MapsNamesAndNull() {
+        for (AcademicStatus status : AcademicStatus.values()) {
+            assertSame(status, AcademicStatus.fromString(status.name()));
+        }
+        assertNull(AcademicStatus.fromString(null));
+        assertThrows(IllegalArgumentException.class, () -> AcademicStatus.fromString("GRADUATED"));
+    }
+
+    @Test
+    void fromCode_RoundTrip() {
+        for (AcademicStatus status : AcademicStatus.values()) {
+            assertSame(status, AcademicStatus.fromCode(status.getCode()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> AcademicStatus.fromCode((byte) 4));
+    }
+
+    @Test
+    void student_StringAdapter() {
+        Student student = new Student("0909", "Nabila", "nabila@email.com",
+                "Computer Science", 3, 3.2, "SUSPENDED");
+        assertSame(AcademicStatus.SUSPENDED, student.getStatus());
+
+        student.setStatus(AcademicStatus.PROBATION);
+        assertEquals("PROBATION", student.getAcademicStatus());
+
+        student.setAcademicStatus(null);
+        assertNull(student.getStatus());
+        assertThrows(IllegalArgumentException.class, () -> student.setAcademicStatus("GRADUATED"));
+    }
+
+    @Test
+    void student_StringConstructorRejectsUnknownStatus() {
+        // Sebelum enum, status bebas seperti "active" atau "GRADUATED" diterima apa adanya
+        assertThrows(IllegalArgumentException.class, () -> new Student("0909", "Nabila",
+                "nabila@email.com", "Computer Science", 3, 3.2, "active"));
+        assertNull(new Student("0909", "Nabila", "nabila@email.com",
+                "Computer Science", 3, 3.2, (String) null).getAcademicStatus());
+    }
+}
@@ -86,4 +86,25 @@ class CourseTest {
         assertTrue(course.getCredits() > 0);
         assertTrue(course.getCapacity() > 0);
     }
+
+    @Test
+    void testCopyConstructor() {
+        Course course = new Course("CS101", "Programming", 3, 30, 15, "Dr. Smith");
+        course.addPrerequisite("CS100");
+        course.setVersion(7);
+
+        Course copy = new Course(course);
+        copy.setEnrolledCount(16);
+        copy.addPrerequisite("MATH101");
+
+        assertEquals("CS101", copy.getCourseCode());
+        assertEquals("Programming", copy.getCourseName());
+        assertEquals(3, copy.getCredits());
+        assertEquals(30, copy.getCapacity());
+        assertEquals("Dr. Smith", copy.getLecturer());
+        assertEquals(15, course.getEnrolledCount());
+        assertEquals(1, course.getPrerequisites().size());
+        assertEquals(2, copy.getPrerequisites().size());
+        assertEquals(7, copy.getVersion());
+    }
 }
@@ -0,0 +1,57 @@
+package com.siakad.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentStatusTest {
+
+    @Test
+    void fromString_MapsNamesAndNull() {
+        for (EnrollmentStatus status : EnrollmentStatus.values()) {
+            assertSame(status, EnrollmentStatus.fromString(status.name()));
+        }
+        assertNull(EnrollmentStatus.fromString(null));
+        assertThrows(IllegalArgumentException.class, () -> EnrollmentStatus.fromString("approved"));
+    }
+
+    @Test
+    void fromCode_RoundTrip() {
+        for (EnrollmentStatus status : EnrollmentStatus.values()) {
+            assertSame(status, EnrollmentStatus.fromCode(status.getCode()));
+        }
+        assertThrows(IllegalArgumentException.class, () -> EnrollmentStatus.fromCode((byte) -1));
+        assertThrows(IllegalArgumentException.class, () -> EnrollmentStatus.fromCode((byte) 5));
+    }
+
+    @Test
+    void mask_IsDistinctPerStatus() {
+        int combined = 0;
+        for (EnrollmentStatus status : EnrollmentStatus.values()) {
+            assertEquals(0, combined & status.mask());
+            combined |= status.mask();
+        }
+    }
+
+    @Test
+    void enrollment_StringAdapter() {
+        Enrollment enrollment = new Enrollment();
+        enrollment.setStatus(EnrollmentStatus.WAITLISTED);
+        assertEquals("WAITLISTED", enrollment.getStatusName());
+
+        enrollment.setStatus("DROPPED");
+        assertSame(EnrollmentStatus.DROPPED, enrollment.getStatus());
+        assertThrows(IllegalArgumentException.class, () -> enrollment.setStatus("CANCELLED"));
+    }
+
+    @Test
+    void enrollment_StringConstructorRejectsUnknownStatus() {
+        // Sebelum enum, status bebas seperti "approved" atau "CANCELLED" diterima apa adanya
+        assertThrows(IllegalArgumentException.class, () -> new Enrollment("ENR-1", "0909",
+                "CS101", LocalDateTime.of(2024, 8, 1, 9, 0), "approved"));
+        assertNull(new Enrollment("ENR-1", "0909", "CS101",
+                LocalDateTime.of(2024, 8, 1, 9, 0), (String) null).getStatus());
+    }
+}
@@ -27,7 +27,7 @@ class EnrollmentTest {
         assertEquals("STU001", enrollment.getStudentId());
         assertEquals("CS101", enrollment.getCourseCode());
         assertEquals(now, enrollment.getEnrollmentDate());
-        assertEquals("APPROVED", enrollment.getStatus());
+        assertEquals("APPROVED", enrollment.getStatusName());
     }
 
     @Test
@@ -45,7 +45,7 @@ class EnrollmentTest {
         assertEquals("STU002", enrollment.getStudentId());
         assertEquals("CS102", enrollment.getCourseCode());
         assertEquals(now, enrollment.getEnrollmentDate());
-        assertEquals("PENDING", enrollment.getStatus());
+        assertEquals("PENDING", enrollment.getStatusName());
     }
 
     @Test
@@ -53,13 +53,27 @@ class EnrollmentTest {
         Enrollment enrollment = new Enrollment();
 
         enrollment.setStatus("APPROVED");
-        assertEquals("APPROVED", enrollment.getStatus());
+        assertEquals("APPROVED", enrollment.getStatusName());
 
         enrollment.setStatus("REJECTED");
-        assertEquals("REJECTED", enrollment.getStatus());
+        assertEquals("REJECTED", enrollment.getStatusName());
 
         enrollment.setStatus("PENDING");
-        assertEquals("PENDING", enrollment.getStatus());
+        assertEquals("PENDING", enrollment.getStatusName());
     }
-}
 
+    @Test
+    void testEnrollmentNumberRendersIdLazily() {
+        Enrollment enrollment = new Enrollment();
+
+        enrollment.setEnrollmentNumber(12345L);
+        assertEquals(12345L, enrollment.getEnrollmentNumber());
+        assertEquals("ENR-12345", enrollment.getEnrollmentId());
+
+        enrollment.setEnrollmentNumber(678L);
+        assertEquals("ENR-678", enrollment.getEnrollmentId());
+
+        enrollment.setEnrollmentId("ENR003");
+        assertEquals("ENR003", enrollment.getEnrollmentId());
+    }
+}
@@ -0,0 +1,166 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CachingCourseRepositoryTest {
+
+    private InMemoryCourseRepository backingRepository;
+    private CachingCourseRepository cachingRepository;
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        backingRepository = new InMemoryCourseRepository(new InMemoryStudentRepository());
+        backingRepository.save(new Course("CS101", "Programming", 3, 30, 15, "Dr. Smith"));
+        backingRepository.save(new Course("CS102", "Database", 3, 30, 10, "Dr. Lee"));
+        backingRepository.save(new Course("CS103", "Networks", 3, 30, 5, "Dr. Kim"));
+
+        clock = new AtomicLong();
+        cachingRepository = new CachingCourseRepository(backingRepository, 2,
+                Duration.ofMinutes(5), clock::get);
+    }
+
+    @Test
+    void findByCourseCode_HitAfterMiss() {
+        assertEquals("Programming", cachingRepository.findByCourseCode("CS101").getCourseName());
+        assertEquals("Programming", cachingRepository.findByCourseCode("CS101").getCourseName());
+
+        assertEquals(1, cachingRepository.getMissCount());
+        assertEquals(1, cachingRepository.getHitCount());
+    }
+
+    @Test
+    void findByCourseCode_UnknownCourseNotCached() {
+        assertNull(cachingRepository.findByCourseCode("UNKNOWN"));
+        assertEquals(0, cachingRepository.size());
+    }
+
+    @Test
+    void findByCourseCode_ReturnsCopy() {
+        Course course = cachingRepository.findByCourseCode("CS101");
+        course.setEnrolledCount(99);
+
+        assertEquals(15, cachingRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void update_WritesThroughAndRefreshesEntry() {
+        Course course = cachingRepository.findByCourseCode("CS101");
+        course.setEnrolledCount(16);
+        cachingRepository.update(course);
+
+        assertEquals(16, backingRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(16, cachingRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(1, cachingRepository.getHitCount());
+    }
+
+    @Test
+    void update_OlderVersionFinishingLastDoesNotOverwriteCache() throws InterruptedException {
+        CountDownLatch firstWritten = new CountDownLatch(1);
+        CountDownLatch secondCached = new CountDownLatch(1);
+        InMemoryCourseRepository slowRepository = new InMemoryCourseRepository(new InMemoryStudentRepository()) {
+            @Override
+            public void update(Course course) {
+                super.update(course);
+                if (course.getEnrolledCount() == 16) {
+                    // Update pertama sudah tersimpan tetapi belum sempat memperbarui cache
+                    firstWritten.countDown();
+                    awaitQuietly(secondCached);
+                }
+            }
+        };
+        slowRepository.save(new Course("CS101", "Programming", 3, 30, 15, "Dr. Smith"));
+        CachingCourseRepository repository = new CachingCourseRepository(slowRepository, 2,
+                Duration.ofMinutes(5), clock::get);
+
+        Course first = repository.findByCourseCode("CS101");
+        first.setEnrolledCount(16);
+        Thread writer = new Thread(() -> repository.update(first));
+        writer.start();
+        firstWritten.await();
+
+        Course second = repository.findByCourseCode("CS101");
+        second.setEnrolledCount(17);
+        repository.update(second);
+        secondCached.countDown();
+        writer.join();
+
+        assertEquals(17, slowRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(17, repository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Test
+    void lruEviction_WhenFull() {
+        cachingRepository.findByCourseCode("CS101");
+        cachingRepository.findByCourseCode("CS102");
+        cachingRepository.findByCourseCode("CS101");
+        cachingRepository.findByCourseCode("CS103");
+
+        assertEquals(2, cachingRepository.size());
+        assertEquals(1, cachingRepository.getEvictionCount());
+
+        // CS102 adalah entry yang paling lama tidak diakses
+        cachingRepository.findByCourseCode("CS102");
+        assertEquals(4, cachingRepository.getMissCount());
+    }
+
+    @Test
+    void ttlExpiry_ReloadsFromDelegate() {
+        cachingRepository.findByCourseCode("CS101");
+        clock.addAndGet(Duration.ofMinutes(5).toNanos());
+
+        cachingRepository.findByCourseCode("CS101");
+
+        assertEquals(2, cachingRepository.getMissCount());
+        assertEquals(1, cachingRepository.getEvictionCount());
+    }
+
+    @Test
+    void findAllByCourseCodes_LoadsOnlyMisses() {
+        cachingRepository.findByCourseCode("CS101");
+
+        Map<String, Course> result = cachingRepository.findAllByCourseCodes(Arrays.asList("CS101", "CS102", "UNKNOWN"));
+
+        assertEquals(2, result.size());
+        assertEquals(1, cachingRepository.getHitCount());
+        assertEquals(3, cachingRepository.getMissCount());
+    }
+
+    @Test
+    void invalidate_RemovesEntries() {
+        cachingRepository.findByCourseCode("CS101");
+        cachingRepository.findByCourseCode("CS102");
+
+        cachingRepository.invalidate("CS101");
+        assertEquals(1, cachingRepository.size());
+
+        cachingRepository.invalidateAll();
+        assertEquals(0, cachingRepository.size());
+    }
+
+    @Test
+    void constructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new CachingCourseRepository(backingRepository, 0, Duration.ofMinutes(1)));
+        assertThrows(IllegalArgumentException.class, () ->
+                new CachingCourseRepository(backingRepository, 10, Duration.ZERO));
+    }
+}
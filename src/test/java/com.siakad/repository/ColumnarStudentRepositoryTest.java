@@ -0,0 +1,182 @@
+package com.siakad.repository;
+
+import com.siakad.model.AcademicStatus;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ColumnarStudentRepositoryTest {
+
+    private ColumnarStudentRepository studentRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new ColumnarStudentRepository(2);
+        studentRepository.save(new Student("0909", "Nabila", "Nabila@email.com",
+                "Computer Science", 3, 3.2, "ACTIVE"));
+        studentRepository.save(new Student("099", "Seol", "seol@email.com",
+                "Computer Science", 3, 1.5, "SUSPENDED"));
+    }
+
+    @Test
+    void findById_MaterializesCopy() {
+        Student student = studentRepository.findById("0909");
+
+        assertEquals("0909", student.getStudentId());
+        assertEquals("Nabila", student.getName());
+        assertEquals("Nabila@email.com", student.getEmail());
+        assertEquals("Computer Science", student.getMajor());
+        assertEquals(3, student.getSemester());
+        assertEquals(3.2, student.getGpa());
+        assertEquals("ACTIVE", student.getAcademicStatus());
+        assertNull(studentRepository.findById("UNKNOWN"));
+        assertNull(studentRepository.findById(null));
+
+        // Perubahan baru tersimpan setelah update
+        student.setGpa(3.9);
+        assertEquals(3.2, studentRepository.findById("0909").getGpa());
+        studentRepository.update(student);
+        assertEquals(3.9, studentRepository.findById("0909").getGpa());
+        assertEquals(2, studentRepository.size());
+    }
+
+    @Test
+    void update_ReusesUnchangedTextAndAppendsChangedText() {
+        int arenaSize = studentRepository.getArenaSize();
+        Student student = studentRepository.findById("099");
+
+        student.setAcademicStatus("ACTIVE");
+        studentRepository.update(student);
+        assertEquals(arenaSize, studentRepository.getArenaSize());
+
+        student.setEmail("seol@campus.ac.id");
+        student.setName(null);
+        studentRepository.update(student);
+        Student updated = studentRepository.findById("099");
+        assertEquals("seol@campus.ac.id", updated.getEmail());
+        assertNull(updated.getName());
+        assertEquals(arenaSize + "seol@campus.ac.id".length(), studentRepository.getArenaSize());
+    }
+
+    @Test
+    void update_ReusesSlotWhenNewTextFits() {
+        int arenaSize = studentRepository.getArenaSize();
+        Student student = studentRepository.findById("099");
+
+        student.setEmail("s@email.com");
+        studentRepository.update(student);
+        student.setEmail("seol@email.ac");
+        student.setName(null);
+        studentRepository.update(student);
+        student.setName("Seo");
+        studentRepository.update(student);
+
+        Student updated = studentRepository.findById("099");
+        assertEquals("seol@email.ac", updated.getEmail());
+        assertEquals("Seo", updated.getName());
+        assertEquals(arenaSize, studentRepository.getArenaSize());
+        assertEquals(0, studentRepository.getDeadChars());
+    }
+
+    @Test
+    void update_CompactsArenaWhenDeadSpaceGrows() {
+        Student student = studentRepository.findById("099");
+        for (int i = 0; i < 2000; i++) {
+            // Setiap nama lebih panjang dari kapasitas tempatnya, sehingga selalu ditulis ulang
+            student.setName("n".repeat(1 + i % 300));
+            studentRepository.update(student);
+        }
+
+        assertTrue(studentRepository.getArenaSize() < 4096, "arena " + studentRepository.getArenaSize());
+        assertEquals("n".repeat(1 + 1999 % 300), studentRepository.findById("099").getName());
+        Student other = studentRepository.findById("0909");
+        assertEquals("Nabila", other.getName());
+        assertEquals("Nabila@email.com", other.getEmail());
+        assertEquals("seol@email.com", studentRepository.findById("099").getEmail());
+    }
+
+    @Test
+    void save_GrowsColumnsAndIndex() {
+        for (int i = 0; i < 5000; i++) {
+            studentRepository.save(new Student("S" + i, "Student " + i, "s" + i + "@email.com",
+                    "Major " + (i % 7), 1 + i % 8, (i % 40) / 10.0, i % 10 == 0 ? "PROBATION" : "ACTIVE"));
+        }
+
+        assertEquals(5002, studentRepository.size());
+        Student student = studentRepository.findById("S4321");
+        assertEquals("Student 4321", student.getName());
+        assertEquals("Major 2", student.getMajor());
+        assertEquals(2, student.getSemester());
+        assertEquals(0.1, student.getGpa());
+        assertEquals(500, studentRepository.countByAcademicStatus("PROBATION"));
+        assertEquals(1, studentRepository.countByAcademicStatus("SUSPENDED"));
+        assertEquals(0, studentRepository.countByAcademicStatus("GRADUATED"));
+    }
+
+    @Test
+    void findAllByIdsAndScan() {
+        Map<String, Student> found = studentRepository.findAllByIds(Arrays.asList("099", "UNKNOWN", "0909"));
+        assertEquals(Arrays.asList("099", "0909"), new ArrayList<>(found.keySet()));
+
+        List<String> scanned = new ArrayList<>();
+        studentRepository.scan(student -> scanned.add(student.getStudentId()));
+        assertEquals(Arrays.asList("0909", "099"), scanned);
+
+        Student first = found.get("0909");
+        Student second = found.get("099");
+        first.setSemester(4);
+        second.setSemester(5);
+        studentRepository.updateAll(Arrays.asList(first, second));
+        assertEquals(4, studentRepository.findById("0909").getSemester());
+        assertEquals(5, studentRepository.findById("099").getSemester());
+    }
+
+    @Test
+    void countByAcademicStatus_StatusSet() {
+        studentRepository.save(new Student("077", "Probation", null, null, 3, 1.8, AcademicStatus.PROBATION));
+        studentRepository.save(new Student("066", "Unknown", null, null, 1, 0, (AcademicStatus) null));
+
+        assertEquals(2, studentRepository.countByAcademicStatus(
+                EnumSet.of(AcademicStatus.PROBATION, AcademicStatus.SUSPENDED)));
+        assertEquals(0, studentRepository.countByAcademicStatus(EnumSet.noneOf(AcademicStatus.class)));
+        assertEquals(AcademicStatus.PROBATION, studentRepository.findById("077").getStatus());
+        assertNull(studentRepository.findById("066").getStatus());
+        assertThrows(IllegalArgumentException.class, () -> studentRepository.save(new Student()));
+    }
+
+    @Test
+    void getCompletedCourses() {
+        studentRepository.addCompletedCourse("0909", new Course("CS101", "Programming", 3, 30, 15, "Dr. Smith"));
+
+        assertEquals(1, studentRepository.getCompletedCourses("0909").size());
+        assertTrue(studentRepository.getCompletedCourses("099").isEmpty());
+    }
+
+    @Test
+    void addCompletedCourse_StoresCourseCodeReferencesInOrder() {
+        Course programming = new Course("CS101", "Programming", 3, 30, 15, "Dr. Smith");
+        studentRepository.addCompletedCourse("0909", programming);
+        studentRepository.addCompletedCourse("0909", new Course("MATH101", "Calculus", 3, 30, 0, "Dr. Lee"));
+        studentRepository.addCompletedCourse("099", programming);
+
+        List<Course> completed = studentRepository.getCompletedCourses("0909");
+        assertEquals("CS101", completed.get(0).getCourseCode());
+        assertEquals("MATH101", completed.get(1).getCourseCode());
+        assertEquals("Programming", studentRepository.getCompletedCourses("099").get(0).getCourseName());
+
+        // Salinan: perubahan pada hasil tidak mengubah data tersimpan
+        completed.get(0).setCourseName("Changed");
+        assertEquals("Programming", studentRepository.getCompletedCourses("0909").get(0).getCourseName());
+        assertTrue(studentRepository.getCompletedCourses("UNKNOWN").isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> studentRepository.addCompletedCourse("UNKNOWN", programming));
+    }
+}
@@ -0,0 +1,165 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryRepositoryTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+    private Course courseBasic;
+    private Course courseAdvanced;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+
+        studentRepository.save(new Student("0909", "Nabila", "Nabila@email.com",
+                "Computer Science", 3, 3.2, "ACTIVE"));
+        studentRepository.save(new Student("099", "Seol", "seol@email.com",
+                "Computer Science", 3, 1.5, "SUSPENDED"));
+
+        courseBasic = new Course("CS101", "Programming", 3, 30, 15, "Dr. Smith");
+        courseAdvanced = new Course("CS201", "Algorithms", 3, 30, 0, "Dr. Smith");
+        courseAdvanced.addPrerequisite("CS101");
+        courseRepository.save(courseBasic);
+        courseRepository.save(courseAdvanced);
+    }
+
+    @Test
+    void findById_ReturnsCopy() {
+        Student student = studentRepository.findById("0909");
+        student.setGpa(4.0);
+
+        assertEquals(3.2, studentRepository.findById("0909").getGpa());
+
+        studentRepository.update(student);
+        assertEquals(4.0, studentRepository.findById("0909").getGpa());
+    }
+
+    @Test
+    void findAllByIds_SkipsUnknownIds() {
+        Map<String, Student> result = studentRepository.findAllByIds(Arrays.asList("0909", "999", "099"));
+
+        assertEquals(2, result.size());
+        assertEquals("Nabila", result.get("0909").getName());
+        assertEquals("Seol", result.get("099").getName());
+    }
+
+    @Test
+    void scan_VisitsAllStudents() {
+        List<String> ids = new ArrayList<>();
+        studentRepository.scan(student -> ids.add(student.getStudentId()));
+
+        assertEquals(2, ids.size());
+        assertTrue(ids.containsAll(Arrays.asList("0909", "099")));
+        assertEquals(2, studentRepository.size());
+    }
+
+    @Test
+    void findAllByCourseCodes_SkipsUnknownCodes() {
+        Map<String, Course> result = courseRepository.findAllByCourseCodes(Arrays.asList("CS101", "UNKNOWN"));
+
+        assertEquals(1, result.size());
+        assertEquals("Programming", result.get("CS101").getCourseName());
+    }
+
+    @Test
+    void update_PersistsEnrolledCount() {
+        Course course = courseRepository.findByCourseCode("CS101");
+        course.setEnrolledCount(16);
+
+        assertEquals(15, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        courseRepository.update(course);
+        assertEquals(16, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void isPrerequisiteMet_UsesCompletedCourses() {
+        assertTrue(courseRepository.isPrerequisiteMet("0909", "CS101"));
+        assertFalse(courseRepository.isPrerequisiteMet("0909", "CS201"));
+        assertFalse(courseRepository.isPrerequisiteMet("0909", "UNKNOWN"));
+
+        studentRepository.addCompletedCourse("0909", courseBasic);
+
+        assertTrue(courseRepository.isPrerequisiteMet("0909", "CS201"));
+        assertEquals(1, studentRepository.getCompletedCourses("0909").size());
+    }
+
+    @Test
+    void findUnmetPrerequisites_SingleLookup() {
+        Set<String> unmet = courseRepository.findUnmetPrerequisites("0909",
+                Arrays.asList("CS101", "CS201", "UNKNOWN"));
+
+        assertEquals(2, unmet.size());
+        assertTrue(unmet.contains("CS201"));
+        assertTrue(unmet.contains("UNKNOWN"));
+    }
+
+    @Test
+    void scan_VisitsAllCourses() {
+        List<String> codes = new ArrayList<>();
+        courseRepository.scan(course -> codes.add(course.getCourseCode()));
+
+        assertEquals(2, codes.size());
+        assertEquals(2, courseRepository.size());
+    }
+
+    @Test
+    void compareAndUpdate_RejectsStaleVersion() {
+        Course first = courseRepository.findByCourseCode("CS101");
+        Course second = courseRepository.findByCourseCode("CS101");
+        long version = first.getVersion();
+
+        first.setEnrolledCount(first.getEnrolledCount() + 1);
+        assertTrue(courseRepository.compareAndUpdate(version, first));
+        assertEquals(version + 1, first.getVersion());
+
+        second.setEnrolledCount(second.getEnrolledCount() + 1);
+        assertFalse(courseRepository.compareAndUpdate(version, second));
+        assertEquals(version + 1, courseRepository.findByCourseCode("CS101").getVersion());
+
+        // update biasa tetap menaikkan versi sehingga compareAndUpdate setelahnya mendeteksi konflik
+        courseRepository.update(second);
+        assertFalse(courseRepository.compareAndUpdate(version + 1, first));
+        assertEquals(version + 2, courseRepository.findByCourseCode("CS101").getVersion());
+    }
+
+    @Test
+    void defaultFindAllByIds_UsesFindById() {
+        StudentRepository minimal = new StudentRepository() {
+            @Override
+            public Student findById(String studentId) {
+                return "0909".equals(studentId) ? new Student() : null;
+            }
+
+            @Override
+            public void update(Student student) {
+            }
+
+            @Override
+            public List<Course> getCompletedCourses(String studentId) {
+                return new ArrayList<>();
+            }
+
+            @Override
+            public void scan(Consumer<? super Student> action) {
+            }
+        };
+
+        assertEquals(Arrays.asList("0909"),
+                new ArrayList<>(minimal.findAllByIds(Arrays.asList("0909", "UNKNOWN")).keySet()));
+    }
+}
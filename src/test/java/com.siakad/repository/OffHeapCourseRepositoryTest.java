@@ -0,0 +1,158 @@
+package com.siakad.repository;
+
+import com.siakad.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class OffHeapCourseRepositoryTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private OffHeapCourseRepository courseRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new OffHeapCourseRepository(studentRepository, 16);
+
+        Course advanced = new Course("CS201", "Algoritma & Struktur Data", 3, 30, 0, "Dr. Smith");
+        advanced.addPrerequisite("CS101");
+        courseRepository.save(new Course("CS101", "Programming", 3, 30, 15, "Dr. Smith"));
+        courseRepository.save(advanced);
+    }
+
+    @Test
+    void constructor_RejectsInvalidSize() {
+        assertThrows(IllegalArgumentException.class, () -> new OffHeapCourseRepository(studentRepository, 0));
+    }
+
+    @Test
+    void findByCourseCode_MaterializesCopy() {
+        Course course = courseRepository.findByCourseCode("CS201");
+
+        assertEquals("CS201", course.getCourseCode());
+        assertEquals("Algoritma & Struktur Data", course.getCourseName());
+        assertEquals(3, course.getCredits());
+        assertEquals(30, course.getCapacity());
+        assertEquals(0, course.getEnrolledCount());
+        assertEquals("Dr. Smith", course.getLecturer());
+        assertEquals(Collections.singletonList("CS101"), course.getPrerequisites());
+        assertNull(courseRepository.findByCourseCode("CS999"));
+        assertEquals(2, courseRepository.size());
+
+        course.setEnrolledCount(5);
+        assertEquals(0, courseRepository.findByCourseCode("CS201").getEnrolledCount());
+    }
+
+    @Test
+    void update_ChangesFieldsAndVersion() {
+        Course course = courseRepository.findByCourseCode("CS101");
+        long version = course.getVersion();
+        course.setCourseName(null);
+        course.setLecturer("Dr. Jones");
+        course.addPrerequisite("MATH101");
+        course.setEnrolledCount(16);
+
+        courseRepository.update(course);
+
+        Course stored = courseRepository.findByCourseCode("CS101");
+        assertNull(stored.getCourseName());
+        assertEquals("Dr. Jones", stored.getLecturer());
+        assertEquals(Collections.singletonList("MATH101"), stored.getPrerequisites());
+        assertEquals(16, stored.getEnrolledCount());
+        assertEquals(version + 1, stored.getVersion());
+        assertEquals(version + 1, course.getVersion());
+    }
+
+    @Test
+    void compareAndUpdate_RejectsStaleVersion() {
+        Course first = courseRepository.findByCourseCode("CS101");
+        Course second = courseRepository.findByCourseCode("CS101");
+
+        first.setEnrolledCount(16);
+        assertTrue(courseRepository.compareAndUpdate(first.getVersion(), first));
+        second.setEnrolledCount(16);
+        assertFalse(courseRepository.compareAndUpdate(second.getVersion(), second));
+        assertFalse(courseRepository.compareAndUpdate(0, new Course("CS999", "Unknown", 3, 1, 0, null)));
+    }
+
+    @Test
+    void adjustEnrolledCount_InPlaceWithCapacityAndVersion() {
+        long version = courseRepository.findByCourseCode("CS101").getVersion();
+
+        assertEquals(16, courseRepository.adjustEnrolledCount("CS101", 1));
+        assertEquals(15, courseRepository.adjustEnrolledCount("CS101", -1));
+        assertEquals(-1, courseRepository.adjustEnrolledCount("CS101", 16));
+        assertEquals(0, courseRepository.adjustEnrolledCount("CS101", -100));
+
+        Course course = courseRepository.findByCourseCode("CS101");
+        assertEquals(0, course.getEnrolledCount());
+        assertEquals(version + 3, course.getVersion());
+        assertThrows(IllegalArgumentException.class, () -> courseRepository.adjustEnrolledCount("CS999", 1));
+    }
+
+    @Test
+    void adjustEnrolledCount_ConcurrentNeverExceedsCapacity() throws InterruptedException {
+        courseRepository.save(new Course("CS300", "Capstone", 3, 500, 0, "Dr. Smith"));
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread worker = new Thread(() -> {
+                for (int i = 0; i < 200; i++) {
+                    courseRepository.adjustEnrolledCount("CS300", 1);
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        Course course = courseRepository.findByCourseCode("CS300");
+        assertEquals(500, course.getEnrolledCount());
+        assertEquals(500, course.getVersion());
+    }
+
+    @Test
+    void prerequisites_CheckedAgainstCompletedCourses() {
+        assertFalse(courseRepository.isPrerequisiteMet("0909", "CS201"));
+        assertFalse(courseRepository.isPrerequisiteMet("0909", "CS999"));
+        Set<String> unmet = courseRepository.findUnmetPrerequisites("0909", Arrays.asList("CS101", "CS201"));
+        assertEquals(Collections.singleton("CS201"), unmet);
+
+        studentRepository.addCompletedCourse("0909", new Course("CS101", "Programming", 3, 30, 15, "Dr. Smith"));
+        assertTrue(courseRepository.isPrerequisiteMet("0909", "CS201"));
+    }
+
+    @Test
+    void save_GrowsTextRegionUntilCatalogueFull() {
+        OffHeapCourseRepository small = new OffHeapCourseRepository(studentRepository, 4);
+        long initialBytes = small.getOffHeapBytes();
+        StringBuilder longName = new StringBuilder();
+        for (int i = 0; i < 500; i++) {
+            longName.append("Topik ").append(i).append(' ');
+        }
+        for (int i = 0; i < 4; i++) {
+            small.save(new Course("C" + i, longName.toString(), 2, 10, 0, "Lecturer " + i));
+        }
+
+        assertTrue(small.getOffHeapBytes() > initialBytes);
+        assertEquals(longName.toString(), small.findByCourseCode("C3").getCourseName());
+        assertThrows(IllegalStateException.class,
+                () -> small.save(new Course("C4", "Overflow", 2, 10, 0, null)));
+
+        Map<String, Course> found = small.findAllByCourseCodes(Arrays.asList("C1", "CX", "C0"));
+        assertEquals(Arrays.asList("C1", "C0"), new ArrayList<>(found.keySet()));
+        List<String> scanned = new ArrayList<>();
+        small.scan(course -> scanned.add(course.getCourseCode()));
+        assertEquals(Arrays.asList("C0", "C1", "C2", "C3"), scanned);
+    }
+}
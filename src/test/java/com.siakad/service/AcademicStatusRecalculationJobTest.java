@@ -0,0 +1,134 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import com.siakad.model.Student;
+import com.siakad.repository.GradeRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AcademicStatusRecalculationJobTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private Map<String, List<CourseGrade>> grades;
+    private GradeRepository gradeRepository;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        grades = new HashMap<>();
+        gradeRepository = studentId -> grades.getOrDefault(studentId, Collections.emptyList());
+    }
+
+    @Test
+    void run_UpdatesOnlyChangedStudents() {
+        studentRepository.save(new Student("0909", "Nabila", "Nabila@email.com",
+                "Computer Science", 3, 3.5, "ACTIVE"));
+        grades.put("0909", Arrays.asList(new CourseGrade("CS101", 3, 4.0), new CourseGrade("CS102", 3, 3.0)));
+
+        studentRepository.save(new Student("099", "Seol", "seol@email.com",
+                "Computer Science", 5, 3.0, "ACTIVE"));
+        grades.put("099", Arrays.asList(new CourseGrade("CS101", 3, 2.0), new CourseGrade("CS102", 3, 1.0)));
+
+        AcademicStatusRecalculationJob job = new AcademicStatusRecalculationJob(
+                studentRepository, gradeRepository, new GradeCalculator(), 2, 1);
+
+        AcademicStatusRecalculationJob.Result result = job.run();
+
+        assertEquals(2, result.getProcessed());
+        assertEquals(1, result.getChanged());
+        assertEquals(0, result.getFailed());
+        assertEquals(1, result.getBatchesWritten());
+        assertEquals(3.5, studentRepository.findById("0909").getGpa());
+        assertEquals(1.5, studentRepository.findById("099").getGpa());
+        assertEquals("SUSPENDED", studentRepository.findById("099").getAcademicStatus());
+        assertEquals(2, job.getProcessedCount());
+    }
+
+    @Test
+    void run_SkipsInvalidStudentsWithoutFailingBatch() {
+        studentRepository.save(new Student("0909", "Nabila", "Nabila@email.com",
+                "Computer Science", 1, 0.0, "ACTIVE"));
+        grades.put("0909", Collections.singletonList(new CourseGrade("CS101", 3, 4.0)));
+        studentRepository.save(new Student("077", "Invalid", "invalid@email.com",
+                "Computer Science", 1, 0.0, "ACTIVE"));
+        grades.put("077", Collections.singletonList(new CourseGrade("CS101", 3, 5.0)));
+        studentRepository.save(new Student("088", "NoSemester", "nosemester@email.com",
+                "Computer Science", 0, 0.0, "ACTIVE"));
+
+        AcademicStatusRecalculationJob.Result result = new AcademicStatusRecalculationJob(
+                studentRepository, gradeRepository, new GradeCalculator(), 4, 10).run();
+
+        assertEquals(3, result.getProcessed());
+        assertEquals(1, result.getChanged());
+        assertEquals(2, result.getFailed());
+        assertEquals(4.0, studentRepository.findById("0909").getGpa());
+        assertEquals(0.0, studentRepository.findById("077").getGpa());
+    }
+
+    @Test
+    void run_LeavesStudentsWithoutGradesUnchanged() {
+        studentRepository.save(new Student("0909", "Nabila", "Nabila@email.com",
+                "Computer Science", 5, 3.4, "ACTIVE"));
+
+        AcademicStatusRecalculationJob.Result result = new AcademicStatusRecalculationJob(
+                studentRepository, gradeRepository, new GradeCalculator(), 2, 10).run();
+
+        assertEquals(1, result.getProcessed());
+        assertEquals(0, result.getChanged());
+        assertEquals(3.4, studentRepository.findById("0909").getGpa());
+        assertEquals("ACTIVE", studentRepository.findById("0909").getAcademicStatus());
+    }
+
+    @Test
+    void run_LeavesInactiveStudentsUnchanged() {
+        studentRepository.save(new Student("0909", "Nabila", "Nabila@email.com",
+                "Computer Science", 5, 3.4, "INACTIVE"));
+        grades.put("0909", Arrays.asList(new CourseGrade("CS101", 3, 4.0), new CourseGrade("CS102", 3, 3.0)));
+
+        AcademicStatusRecalculationJob.Result result = new AcademicStatusRecalculationJob(
+                studentRepository, gradeRepository, new GradeCalculator(), 2, 10).run();
+
+        assertEquals(1, result.getProcessed());
+        assertEquals(0, result.getChanged());
+        assertEquals(3.4, studentRepository.findById("0909").getGpa());
+        assertEquals("INACTIVE", studentRepository.findById("0909").getAcademicStatus());
+    }
+
+    @Test
+    void run_ManyStudentsAcrossBatches() {
+        for (int i = 0; i < 10_000; i++) {
+            String id = "S" + i;
+            studentRepository.save(new Student(id, "Student " + i, id + "@email.com",
+                    "Computer Science", 1 + i % 8, 0.0, "ACTIVE"));
+            grades.put(id, Arrays.asList(new CourseGrade("CS101", 3, i % 5),
+                    new CourseGrade("CS102", 2, 3.0)));
+        }
+
+        AcademicStatusRecalculationJob.Result result = new AcademicStatusRecalculationJob(
+                studentRepository, gradeRepository, new GradeCalculator(), 4, 256).run();
+
+        assertEquals(10_000, result.getProcessed());
+        assertEquals(0, result.getFailed());
+        Student sample = studentRepository.findById("S7");
+        assertEquals(2.4, sample.getGpa());
+        assertEquals(new GradeCalculator().determineAcademicStatus(2.4, 8), sample.getAcademicStatus());
+    }
+
+    @Test
+    void constructor_InvalidArguments() {
+        GradeCalculator calculator = new GradeCalculator();
+        assertThrows(IllegalArgumentException.class, () ->
+                new AcademicStatusRecalculationJob(studentRepository, gradeRepository, calculator, 0, 10));
+        assertThrows(IllegalArgumentException.class, () ->
+                new AcademicStatusRecalculationJob(studentRepository, gradeRepository, calculator, 2, 0));
+    }
+}
@@ -0,0 +1,132 @@
+package com.siakad.service;
+
+import com.siakad.exception.AdmissionRejectedException;
+import com.siakad.exception.CourseFullException;
+import com.siakad.model.Enrollment;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AdmissionControllerTest {
+
+    private static final long MILLIS = 1_000_000L;
+
+    @Mock
+    private EnrollmentService enrollmentService;
+
+    private AtomicLong clock;
+
+    @BeforeEach
+    void setUp() {
+        clock = new AtomicLong(1_000_000_000L);
+    }
+
+    private AdmissionController controller(double studentRate, int studentBurst,
+                                           double globalRate, int globalBurst, int maxConcurrent) {
+        return new AdmissionController(enrollmentService, studentRate, studentBurst,
+                globalRate, globalBurst, maxConcurrent, clock::get);
+    }
+
+    @Test
+    void constructor_RejectsInvalidLimits() {
+        assertThrows(IllegalArgumentException.class, () -> controller(0, 1, 10, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> controller(1, 0, 10, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> controller(1, 1, 10, 1, 0));
+    }
+
+    @Test
+    void enrollCourse_StudentBurstThenRetryAfter() {
+        AdmissionController controller = controller(10, 2, 1000, 100, 10);
+        Enrollment enrollment = new Enrollment();
+        when(enrollmentService.enrollCourse("0909", "CS101")).thenReturn(enrollment);
+
+        assertSame(enrollment, controller.enrollCourse("0909", "CS101"));
+        assertSame(enrollment, controller.enrollCourse("0909", "CS101"));
+        AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class,
+                () -> controller.enrollCourse("0909", "CS101"));
+
+        assertEquals("Too many requests for student: 0909", exception.getMessage());
+        assertEquals(100, exception.getRetryAfterMillis());
+        assertEquals(1, controller.getStudentRejectedCount());
+
+        clock.addAndGet(100 * MILLIS);
+        assertSame(enrollment, controller.enrollCourse("0909", "CS101"));
+        verify(enrollmentService, times(3)).enrollCourse("0909", "CS101");
+    }
+
+    @Test
+    void enrollCourse_OtherStudentsNotAffectedByStudentLimit() {
+        AdmissionController controller = controller(1, 1, 1000, 100, 10);
+
+        controller.enrollCourse("0909", "CS101");
+        assertThrows(AdmissionRejectedException.class, () -> controller.enrollCourse("0909", "CS101"));
+        controller.enrollCourse("099", "CS101");
+
+        assertEquals(2, controller.getAdmittedCount());
+    }
+
+    @Test
+    void enrollCourse_GlobalLimitRefundsStudentToken() {
+        AdmissionController controller = controller(1, 1, 10, 1, 10);
+
+        controller.enrollCourse("0909", "CS101");
+        AdmissionRejectedException exception = assertThrows(AdmissionRejectedException.class,
+                () -> controller.enrollCourse("099", "CS101"));
+        assertEquals("Enrollment is busy, please retry", exception.getMessage());
+        assertEquals(100, exception.getRetryAfterMillis());
+        assertEquals(1, controller.getGlobalRejectedCount());
+
+        // Token mahasiswa 099 dikembalikan sehingga ia bisa langsung mencoba lagi
+        clock.addAndGet(100 * MILLIS);
+        controller.enrollCourse("099", "CS101");
+        verify(enrollmentService).enrollCourse("099", "CS101");
+    }
+
+    @Test
+    void enrollCourse_CourseFullIsPenalized() {
+        AdmissionController controller = controller(10, 2, 1000, 100, 10);
+        when(enrollmentService.enrollCourse("0909", "CS101")).thenThrow(new CourseFullException("Course is full"));
+
+        assertThrows(CourseFullException.class, () -> controller.enrollCourse("0909", "CS101"));
+        // Penalti memakai sisa burst, request berikutnya langsung ditolak
+        assertThrows(AdmissionRejectedException.class, () -> controller.enrollCourse("0909", "CS101"));
+
+        assertEquals(1, controller.getCourseFullPenaltyCount());
+        assertEquals(1, controller.getStudentRejectedCount());
+        verify(enrollmentService, times(1)).enrollCourse("0909", "CS101");
+    }
+
+    @Test
+    void dropCourse_ConcurrencyLimitRejectsWhileBusy() throws InterruptedException {
+        AdmissionController controller = controller(1000, 100, 1000, 100, 1);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(5, TimeUnit.SECONDS);
+            return null;
+        }).when(enrollmentService).dropCourse("0909", "CS101");
+
+        Thread worker = new Thread(() -> controller.dropCourse("0909", "CS101"));
+        worker.start();
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        assertThrows(AdmissionRejectedException.class, () -> controller.dropCourse("099", "CS101"));
+        assertEquals(1, controller.getConcurrencyRejectedCount());
+        assertEquals(1, controller.getInFlight());
+
+        release.countDown();
+        worker.join();
+        assertEquals(0, controller.getInFlight());
+    }
+}
@@ -0,0 +1,220 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncNotificationServiceTest {
+
+    private AsyncNotificationService asyncService;
+
+    /**
+     * Delegate yang menahan worker thread sampai gate dibuka,
+     * pengiriman dari thread pemanggil (CALLER_RUNS) tidak ditahan
+     */
+    static class GatedNotificationService implements NotificationService {
+        final List<String> recipients = Collections.synchronizedList(new ArrayList<>());
+        final List<String> threads = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch gate = new CountDownLatch(1);
+        final CountDownLatch firstTaken = new CountDownLatch(1);
+        volatile boolean failing;
+
+        @Override
+        public void sendEmail(String email, String subject, String message) {
+            record(email);
+        }
+
+        @Override
+        public void sendSMS(String phone, String message) {
+            record(phone);
+        }
+
+        private void record(String recipient) {
+            if (Thread.currentThread().getName().startsWith("notification-dispatcher")) {
+                firstTaken.countDown();
+                try {
+                    gate.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            if (failing) {
+                throw new IllegalStateException("SMTP unavailable");
+            }
+            recipients.add(recipient);
+            threads.add(Thread.currentThread().getName());
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (asyncService != null) {
+            asyncService.close();
+        }
+    }
+
+    private void fillWhileWorkerBlocked(GatedNotificationService delegate) throws InterruptedException {
+        asyncService.sendEmail("m1@email.com", "s", "m");
+        assertTrue(delegate.firstTaken.await(5, TimeUnit.SECONDS));
+        asyncService.sendEmail("m2@email.com", "s", "m");
+        asyncService.sendEmail("m3@email.com", "s", "m");
+        assertEquals(2, asyncService.getQueueDepth());
+    }
+
+    @Test
+    void sendEmail_DeliveredInBackground() {
+        GatedNotificationService delegate = new GatedNotificationService();
+        delegate.gate.countDown();
+        asyncService = new AsyncNotificationService(delegate, 16, 2, 4,
+                AsyncNotificationService.OverflowPolicy.BLOCK);
+
+        for (int i = 0; i < 10; i++) {
+            asyncService.sendEmail("student" + i + "@email.com", "Enrollment Confirmation", "Enrolled");
+        }
+        asyncService.sendSMS("0812", "Enrolled");
+        asyncService.close();
+
+        assertEquals(11, delegate.recipients.size());
+        assertEquals(11, asyncService.getSentCount());
+        assertEquals(0, asyncService.getQueueDepth());
+        assertTrue(asyncService.getMaxSendLatencyNanos() >= asyncService.getAverageSendLatencyNanos());
+    }
+
+    @Test
+    void dropNewest_WhenFull() throws InterruptedException {
+        GatedNotificationService delegate = new GatedNotificationService();
+        asyncService = new AsyncNotificationService(delegate, 2, 1, 8,
+                AsyncNotificationService.OverflowPolicy.DROP_NEWEST);
+        fillWhileWorkerBlocked(delegate);
+
+        asyncService.sendEmail("m4@email.com", "s", "m");
+        delegate.gate.countDown();
+        asyncService.close();
+
+        assertEquals(1, asyncService.getDroppedCount());
+        assertEquals(Arrays.asList("m1@email.com", "m2@email.com", "m3@email.com"), delegate.recipients);
+    }
+
+    @Test
+    void dropOldest_WhenFull() throws InterruptedException {
+        GatedNotificationService delegate = new GatedNotificationService();
+        asyncService = new AsyncNotificationService(delegate, 2, 1, 8,
+                AsyncNotificationService.OverflowPolicy.DROP_OLDEST);
+        fillWhileWorkerBlocked(delegate);
+
+        asyncService.sendEmail("m4@email.com", "s", "m");
+        delegate.gate.countDown();
+        asyncService.close();
+
+        assertEquals(1, asyncService.getDroppedCount());
+        assertEquals(Arrays.asList("m1@email.com", "m3@email.com", "m4@email.com"), delegate.recipients);
+    }
+
+    @Test
+    void callerRuns_WhenFull() throws InterruptedException {
+        GatedNotificationService delegate = new GatedNotificationService();
+        asyncService = new AsyncNotificationService(delegate, 2, 1, 8,
+                AsyncNotificationService.OverflowPolicy.CALLER_RUNS);
+        fillWhileWorkerBlocked(delegate);
+
+        asyncService.sendEmail("m4@email.com", "s", "m");
+
+        assertEquals(Collections.singletonList("m4@email.com"), delegate.recipients);
+        assertEquals(Thread.currentThread().getName(), delegate.threads.get(0));
+        delegate.gate.countDown();
+        asyncService.close();
+        assertEquals(4, asyncService.getSentCount());
+    }
+
+    @Test
+    void deliveryFailure_CountedAndWorkerKeepsRunning() {
+        GatedNotificationService delegate = new GatedNotificationService();
+        delegate.gate.countDown();
+        delegate.failing = true;
+        asyncService = new AsyncNotificationService(delegate, 8, 1, 8,
+                AsyncNotificationService.OverflowPolicy.BLOCK);
+
+        asyncService.sendEmail("m1@email.com", "s", "m");
+        asyncService.sendEmail("m2@email.com", "s", "m");
+        asyncService.close();
+
+        assertEquals(2, asyncService.getFailedCount());
+        assertEquals(0, asyncService.getSentCount());
+    }
+
+    @Test
+    void sendAfterClose_CountedAsDropped() {
+        GatedNotificationService delegate = new GatedNotificationService();
+        asyncService = new AsyncNotificationService(delegate, 8, 1, 8,
+                AsyncNotificationService.OverflowPolicy.BLOCK);
+        asyncService.close();
+
+        asyncService.sendEmail("m1@email.com", "s", "m");
+        asyncService.sendSMS("0812", "m");
+
+        assertEquals(2, asyncService.getDroppedCount());
+        assertEquals(0, asyncService.getQueueDepth());
+        assertTrue(delegate.recipients.isEmpty());
+    }
+
+    @Test
+    void close_InterruptsStuckDelegateAfterTimeout() throws InterruptedException {
+        GatedNotificationService delegate = new GatedNotificationService();
+        asyncService = new AsyncNotificationService(delegate, 2, 1, 1,
+                AsyncNotificationService.OverflowPolicy.BLOCK);
+        fillWhileWorkerBlocked(delegate);
+
+        assertFalse(asyncService.close(100, TimeUnit.MILLISECONDS));
+
+        assertEquals(0, asyncService.getQueueDepth());
+        assertEquals(3, asyncService.getSentCount() + asyncService.getFailedCount()
+                + asyncService.getDroppedCount());
+        assertTrue(asyncService.getDroppedCount() >= 2);
+    }
+
+    @Test
+    void closeDuringConcurrentSends_EveryMessageAccounted() throws InterruptedException {
+        GatedNotificationService delegate = new GatedNotificationService();
+        delegate.gate.countDown();
+        asyncService = new AsyncNotificationService(delegate, 4, 2, 2,
+                AsyncNotificationService.OverflowPolicy.BLOCK);
+
+        int senders = 4;
+        int perSender = 500;
+        CountDownLatch started = new CountDownLatch(senders);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < senders; t++) {
+            Thread thread = new Thread(() -> {
+                started.countDown();
+                for (int i = 0; i < perSender; i++) {
+                    asyncService.sendEmail("m@email.com", "s", "m");
+                }
+            });
+            threads.add(thread);
+            thread.start();
+        }
+        started.await();
+        assertTrue(asyncService.close(5, TimeUnit.SECONDS));
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(senders * perSender, asyncService.getSentCount() + asyncService.getDroppedCount());
+        assertEquals(asyncService.getSentCount(), delegate.recipients.size());
+    }
+
+    @Test
+    void constructor_InvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new AsyncNotificationService(new GatedNotificationService(), 0, 1, 1,
+                        AsyncNotificationService.OverflowPolicy.BLOCK));
+    }
+}
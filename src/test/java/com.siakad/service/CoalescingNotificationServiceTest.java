@@ -0,0 +1,171 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CoalescingNotificationServiceTest {
+
+    @Mock
+    private NotificationService notificationService;
+
+    private CoalescingNotificationService coalescingService;
+
+    @BeforeEach
+    void setUp() {
+        coalescingService = new CoalescingNotificationService(notificationService, Duration.ofHours(1),
+                email -> "Nabila@email.com".equals(email) ? "0812" : null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescingService.close();
+    }
+
+    @Test
+    void flush_MultipleMessagesBecomeOneDigest() {
+        coalescingService.sendEmail("Nabila@email.com", "Enrollment Confirmation", "You have been enrolled in: Programming");
+        coalescingService.sendEmail("Nabila@email.com", "Enrollment Confirmation", "You have been enrolled in: Database");
+        coalescingService.sendEmail("Nabila@email.com", "Enrollment Confirmation", "You have been enrolled in: Networks");
+
+        verifyNoInteractions(notificationService);
+        assertEquals(1, coalescingService.getPendingRecipientCount());
+
+        coalescingService.flush("Nabila@email.com");
+
+        ArgumentCaptor<String> body = ArgumentCaptor.forClass(String.class);
+        verify(notificationService).sendEmail(eq("Nabila@email.com"),
+                eq("Notification Digest (3 messages)"), body.capture());
+        assertTrue(body.getValue().contains("Programming"));
+        assertTrue(body.getValue().contains("Networks"));
+        verify(notificationService).sendSMS(eq("0812"), anyString());
+        assertEquals(3, coalescingService.getReceivedCount());
+        assertEquals(1, coalescingService.getSentCount());
+    }
+
+    @Test
+    void flush_SingleMessageSentUnchanged() {
+        coalescingService.sendEmail("seol@email.com", "Course Drop Confirmation", "You have dropped: Programming");
+
+        coalescingService.flushAll();
+
+        verify(notificationService).sendEmail("seol@email.com",
+                "Course Drop Confirmation", "You have dropped: Programming");
+        verify(notificationService, never()).sendSMS(anyString(), anyString());
+    }
+
+    @Test
+    void flush_GroupsPerRecipient() {
+        coalescingService.sendEmail("a@email.com", "s1", "m1");
+        coalescingService.sendEmail("b@email.com", "s2", "m2");
+        coalescingService.sendEmail("a@email.com", "s3", "m3");
+
+        coalescingService.close();
+
+        verify(notificationService).sendEmail(eq("a@email.com"), startsWith("Notification Digest"), anyString());
+        verify(notificationService).sendEmail("b@email.com", "s2", "m2");
+        assertEquals(0, coalescingService.getPendingRecipientCount());
+    }
+
+    @Test
+    void windowExpiry_FlushesAutomatically() {
+        CoalescingNotificationService shortWindow = new CoalescingNotificationService(
+                notificationService, Duration.ofMillis(20));
+        try {
+            shortWindow.sendEmail("a@email.com", "s1", "m1");
+            shortWindow.sendEmail("a@email.com", "s2", "m2");
+
+            verify(notificationService, timeout(2000)).sendEmail(eq("a@email.com"),
+                    eq("Notification Digest (2 messages)"), anyString());
+        } finally {
+            shortWindow.close();
+        }
+    }
+
+    @Test
+    void windowExpiry_DelegateFailureCounted() {
+        doThrow(new RuntimeException("SMTP down")).when(notificationService)
+                .sendEmail(eq("a@email.com"), anyString(), anyString());
+        CoalescingNotificationService shortWindow = new CoalescingNotificationService(
+                notificationService, Duration.ofMillis(20));
+        try {
+            shortWindow.sendEmail("a@email.com", "s1", "m1");
+
+            verify(notificationService, timeout(2000)).sendEmail("a@email.com", "s1", "m1");
+            long deadline = System.currentTimeMillis() + 2000;
+            while (shortWindow.getFailedCount() == 0 && System.currentTimeMillis() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertEquals(1, shortWindow.getFailedCount());
+            assertEquals(0, shortWindow.getSentCount());
+        } finally {
+            shortWindow.close();
+        }
+    }
+
+    @Test
+    void close_DelegateFailureDoesNotDropOtherDigests() {
+        doThrow(new RuntimeException("SMTP down")).when(notificationService)
+                .sendEmail(eq("a@email.com"), anyString(), anyString());
+        coalescingService.sendEmail("a@email.com", "s1", "m1");
+        coalescingService.sendEmail("b@email.com", "s2", "m2");
+        coalescingService.sendEmail("c@email.com", "s3", "m3");
+
+        coalescingService.close();
+
+        verify(notificationService).sendEmail("b@email.com", "s2", "m2");
+        verify(notificationService).sendEmail("c@email.com", "s3", "m3");
+        assertEquals(1, coalescingService.getFailedCount());
+        assertEquals(2, coalescingService.getSentCount());
+        assertEquals(0, coalescingService.getPendingRecipientCount());
+    }
+
+    @Test
+    void flush_CancelsWindowTimer() {
+        coalescingService.sendEmail("a@email.com", "s1", "m1");
+        assertEquals(1, coalescingService.getScheduledWindowCount());
+
+        coalescingService.flush("a@email.com");
+        assertEquals(0, coalescingService.getScheduledWindowCount());
+
+        coalescingService.sendEmail("a@email.com", "s2", "m2");
+        assertEquals(1, coalescingService.getScheduledWindowCount());
+        assertEquals(1, coalescingService.getPendingRecipientCount());
+    }
+
+    @Test
+    void sendEmail_AfterCloseSentDirectly() {
+        coalescingService.close();
+
+        coalescingService.sendEmail("seol@email.com", "Enrollment Confirmation", "You have been enrolled in: Database");
+
+        verify(notificationService).sendEmail("seol@email.com",
+                "Enrollment Confirmation", "You have been enrolled in: Database");
+        assertEquals(0, coalescingService.getPendingRecipientCount());
+        assertEquals(1, coalescingService.getSentCount());
+    }
+
+    @Test
+    void sendSMS_PassesThrough() {
+        coalescingService.sendSMS("0812", "Registration opens tomorrow");
+
+        verify(notificationService).sendSMS("0812", "Registration opens tomorrow");
+    }
+
+    @Test
+    void constructor_InvalidWindow() {
+        assertThrows(IllegalArgumentException.class, () ->
+                new CoalescingNotificationService(notificationService, Duration.ZERO));
+    }
+}
@@ -0,0 +1,166 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.model.Course;
+import com.siakad.model.EnrollmentStatus;
+import com.siakad.model.Student;
+import com.siakad.repository.CourseRepository;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import com.siakad.repository.StudentRepository;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CourseCapacityHintTest {
+
+    @Test
+    void constructor_RejectsNonPositiveSize() {
+        assertThrows(IllegalArgumentException.class, () -> new CourseCapacityHint(0));
+    }
+
+    @Test
+    void update_SetsAndClearsFullBit() {
+        CourseCapacityHint hint = new CourseCapacityHint(8);
+        Course course = new Course("CS101", "Programming", 3, 2, 2, "Dr. Smith");
+
+        assertFalse(hint.isFull("CS101"));
+        hint.update(course);
+        assertTrue(hint.isFull("CS101"));
+
+        course.setEnrolledCount(1);
+        hint.update(course);
+        assertFalse(hint.isFull("CS101"));
+        assertFalse(hint.isFull("CS999"));
+    }
+
+    @Test
+    void refresh_RewritesBitWhenLiveStateChangesMeanwhile() {
+        CourseCapacityHint hint = new CourseCapacityHint(8);
+        // Bacaan pertama masih penuh, lalu kursi dilepas sebelum pengecekan ulang
+        AtomicInteger reads = new AtomicInteger();
+        hint.refresh("CS101", () -> reads.getAndIncrement() == 0);
+
+        assertFalse(hint.isFull("CS101"));
+        assertEquals(4, reads.get());
+    }
+
+    @Test
+    void markFull_IgnoresCoursesBeyondCapacity() {
+        CourseCapacityHint hint = new CourseCapacityHint(2);
+        hint.markFull("A", true);
+        hint.markFull("B", true);
+        hint.markFull("C", true);
+        // Mata kuliah yang belum pernah penuh tidak memakai slot
+        hint.markFull("D", false);
+
+        assertTrue(hint.isFull("A"));
+        assertTrue(hint.isFull("B"));
+        assertFalse(hint.isFull("C"));
+        assertEquals(2, hint.getCourseCount());
+    }
+
+    @Test
+    void enrollCourse_FullCourseRejectedWithoutRepositoryAccess() {
+        StudentRepository studentRepository = mock(StudentRepository.class);
+        CourseRepository courseRepository = mock(CourseRepository.class);
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        CourseCapacityHint hint = new CourseCapacityHint(8);
+        hint.markFull("CS101", true);
+        service.setCourseCapacityHint(hint);
+
+        assertThrows(CourseFullException.class, () -> service.enrollCourse("0909", "CS101"));
+        CourseFullException exception = assertThrows(CourseFullException.class,
+                () -> service.enrollCourses("0909", Arrays.asList("CS102", "CS101")));
+        assertEquals("Course is full: CS101", exception.getMessage());
+
+        verifyNoInteractions(studentRepository, courseRepository);
+    }
+
+    @Test
+    void enrollmentService_HintFollowsEnrollAndDrop() {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+        studentRepository.save(new Student("S1", "Nabila", "s1@email.com", "Computer Science", 3, 3.2, "ACTIVE"));
+        courseRepository.save(new Course("CS101", "Programming", 3, 1, 0, "Dr. Smith"));
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        CourseCapacityHint hint = new CourseCapacityHint(8);
+        service.setCourseCapacityHint(hint);
+
+        service.enrollCourse("S1", "CS101");
+        assertTrue(hint.isFull("CS101"));
+
+        service.dropCourse("S1", "CS101");
+        assertFalse(hint.isFull("CS101"));
+    }
+
+    @Test
+    void enrollCourse_HintBypassedWhenWaitlistEnabled() {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+        studentRepository.save(new Student("S1", "Nabila", "s1@email.com", "Computer Science", 3, 3.2, "ACTIVE"));
+        courseRepository.save(new Course("CS101", "Programming", 3, 0, 0, "Dr. Smith"));
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        CourseCapacityHint hint = new CourseCapacityHint(8);
+        hint.markFull("CS101", true);
+        service.setCourseCapacityHint(hint);
+        service.setCourseWaitlist(new CourseWaitlist());
+
+        assertEquals(EnrollmentStatus.WAITLISTED, service.enrollCourse("S1", "CS101").getStatus());
+    }
+
+    @Test
+    void enrollmentService_ConcurrentEnrollAndDropLeaveHintClear() throws Exception {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+        courseRepository.save(new Course("CS101", "Programming", 3, 1, 0, "Dr. Smith"));
+        int threads = 8;
+        for (int t = 0; t < threads; t++) {
+            studentRepository.save(new Student("S" + t, "Student " + t, "s" + t + "@email.com",
+                    "Computer Science", 3, 3.2, "ACTIVE"));
+        }
+        EnrollmentService service = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        CourseCapacityHint hint = new CourseCapacityHint(8);
+        service.setCourseCapacityHint(hint);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                String studentId = "S" + t;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < 500; i++) {
+                        try {
+                            service.enrollCourse(studentId, "CS101");
+                        } catch (CourseFullException e) {
+                            continue;
+                        }
+                        service.dropCourse(studentId, "CS101");
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Semua kursi sudah dilepas, bit penuh tidak boleh tertinggal
+        assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertFalse(hint.isFull("CS101"));
+    }
+}
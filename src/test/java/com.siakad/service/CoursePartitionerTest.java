@@ -0,0 +1,40 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoursePartitionerTest {
+
+    @Test
+    void constructor_RejectsNonPositiveNodeCount() {
+        assertThrows(IllegalArgumentException.class, () -> new CoursePartitioner(0));
+    }
+
+    @Test
+    void ownerOf_DeterministicAndInRange() {
+        CoursePartitioner partitioner = new CoursePartitioner(3);
+        CoursePartitioner other = new CoursePartitioner(3);
+
+        for (int i = 0; i < 100; i++) {
+            String courseCode = "CS" + i;
+            int owner = partitioner.ownerOf(courseCode);
+            assertTrue(owner >= 0 && owner < 3);
+            assertEquals(owner, other.ownerOf(courseCode));
+        }
+        assertEquals(0, new CoursePartitioner(1).ownerOf("CS101"));
+    }
+
+    @Test
+    void ownerOf_SequentialCodesSpreadEvenly() {
+        CoursePartitioner partitioner = new CoursePartitioner(4);
+        int[] owned = new int[4];
+        for (int i = 0; i < 1000; i++) {
+            owned[partitioner.ownerOf("CS" + (100 + i))]++;
+        }
+
+        for (int count : owned) {
+            assertTrue(count > 200 && count < 300, "count " + count);
+        }
+    }
+}
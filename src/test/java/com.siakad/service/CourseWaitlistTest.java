@@ -0,0 +1,243 @@
+package com.siakad.service;
+
+import com.siakad.exception.EnrollmentException;
+import com.siakad.journal.EnrollmentJournal;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CourseWaitlistTest {
+
+    @TempDir
+    Path directory;
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+    private List<String> subjects;
+    private EnrollmentService enrollmentService;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+        studentRepository.save(new Student("S1", "Nabila", "s1@email.com", "Computer Science", 3, 3.2, "ACTIVE"));
+        studentRepository.save(new Student("S2", "Seol", "s2@email.com", "Computer Science", 5, 3.0, "ACTIVE"));
+        studentRepository.save(new Student("S3", "Dewi", "s3@email.com", "Computer Science", 5, 3.8, "ACTIVE"));
+        courseRepository.save(new Course("CS101", "Programming", 3, 1, 0, "Dr. Smith"));
+
+        subjects = new ArrayList<>();
+        NotificationService notificationService = new NotificationService() {
+            @Override
+            public void sendEmail(String email, String subject, String message) {
+                subjects.add(email + ":" + subject);
+            }
+
+            @Override
+            public void sendSMS(String phone, String message) {
+            }
+        };
+        enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                notificationService, new GradeCalculator());
+    }
+
+    private static Enrollment waitlisted(String studentId) {
+        return new Enrollment(null, studentId, "CS101", null, "WAITLISTED");
+    }
+
+    private static Student student(String studentId, int semester, double gpa) {
+        return new Student(studentId, studentId, studentId + "@email.com", "Computer Science",
+                semester, gpa, "ACTIVE");
+    }
+
+    @Test
+    void pollOrElse_FifoOrder() {
+        CourseWaitlist waitlist = new CourseWaitlist();
+        waitlist.enqueueIfFull(student("A", 7, 2.0), waitlisted("A"), () -> true);
+        waitlist.enqueueIfFull(student("B", 1, 4.0), waitlisted("B"), () -> true);
+
+        assertEquals(2, waitlist.getPosition("B", "CS101"));
+        assertEquals("A", waitlist.pollOrElse("CS101", Assertions::fail).getStudentId());
+        assertEquals("B", waitlist.pollOrElse("CS101", Assertions::fail).getStudentId());
+
+        boolean[] emptyCalled = {false};
+        assertNull(waitlist.pollOrElse("CS101", () -> emptyCalled[0] = true));
+        assertTrue(emptyCalled[0]);
+    }
+
+    @Test
+    void pollOrElse_PriorityOrderWithFifoTieBreak() {
+        CourseWaitlist waitlist = new CourseWaitlist(CourseWaitlist.BY_SEMESTER_THEN_GPA);
+        waitlist.enqueueIfFull(student("A", 3, 3.9), waitlisted("A"), () -> true);
+        waitlist.enqueueIfFull(student("B", 5, 3.0), waitlisted("B"), () -> true);
+        waitlist.enqueueIfFull(student("C", 5, 3.5), waitlisted("C"), () -> true);
+        waitlist.enqueueIfFull(student("D", 5, 3.5), waitlisted("D"), () -> true);
+
+        assertEquals(1, waitlist.getPosition("C", "CS101"));
+        assertEquals("C", waitlist.pollOrElse("CS101", () -> { }).getStudentId());
+        assertEquals("D", waitlist.pollOrElse("CS101", () -> { }).getStudentId());
+        assertEquals("B", waitlist.pollOrElse("CS101", () -> { }).getStudentId());
+        assertEquals("A", waitlist.pollOrElse("CS101", () -> { }).getStudentId());
+    }
+
+    @Test
+    void enqueueIfFull_RejectsDuplicateAndFreeSeat() {
+        CourseWaitlist waitlist = new CourseWaitlist();
+
+        assertFalse(waitlist.enqueueIfFull(student("A", 3, 3.0), waitlisted("A"), () -> false));
+        assertTrue(waitlist.enqueueIfFull(student("A", 3, 3.0), waitlisted("A"), () -> true));
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> waitlist.enqueueIfFull(student("A", 3, 3.0), waitlisted("A"), () -> true));
+        assertEquals("Already on waitlist for course: CS101", exception.getMessage());
+    }
+
+    @Test
+    void removeAndRestore_KeepOriginalPosition() {
+        CourseWaitlist waitlist = new CourseWaitlist();
+        waitlist.enqueueIfFull(student("A", 3, 3.0), waitlisted("A"), () -> true);
+        waitlist.enqueueIfFull(student("B", 3, 3.0), waitlisted("B"), () -> true);
+
+        CourseWaitlist.Entry head = waitlist.remove("A", "CS101");
+        assertNotNull(head);
+        assertNull(waitlist.remove("A", "CS101"));
+        assertEquals(1, waitlist.size("CS101"));
+
+        waitlist.restore(head);
+        assertEquals(1, waitlist.getPosition("A", "CS101"));
+        assertEquals(-1, waitlist.getPosition("Z", "CS101"));
+    }
+
+    @Test
+    void enrollmentService_WaitlistsAndPromotesOnDrop() {
+        enrollmentService.setCourseWaitlist(new CourseWaitlist());
+
+        Enrollment first = enrollmentService.enrollCourse("S1", "CS101");
+        Enrollment second = enrollmentService.enrollCourse("S2", "CS101");
+        Enrollment third = enrollmentService.enrollCourse("S3", "CS101");
+
+        assertEquals(EnrollmentStatus.APPROVED, first.getStatus());
+        assertEquals(EnrollmentStatus.WAITLISTED, second.getStatus());
+        assertEquals(EnrollmentStatus.WAITLISTED, third.getStatus());
+        assertTrue(subjects.contains("s2@email.com:Waitlist Confirmation"));
+
+        enrollmentService.dropCourse("S1", "CS101");
+
+        assertEquals(EnrollmentStatus.APPROVED, second.getStatus());
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertTrue(subjects.contains("s2@email.com:Waitlist Promotion"));
+
+        // Mahasiswa di waitlist keluar tanpa mengubah kursi
+        enrollmentService.dropCourse("S3", "CS101");
+        assertEquals(EnrollmentStatus.DROPPED, third.getStatus());
+        assertTrue(subjects.contains("s3@email.com:Waitlist Cancellation"));
+
+        enrollmentService.dropCourse("S2", "CS101");
+        assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void enrollmentService_SkipsSuspendedHead() {
+        enrollmentService.setCourseWaitlist(new CourseWaitlist());
+        enrollmentService.enrollCourse("S1", "CS101");
+        Enrollment second = enrollmentService.enrollCourse("S2", "CS101");
+        Enrollment third = enrollmentService.enrollCourse("S3", "CS101");
+
+        Student suspended = studentRepository.findById("S2");
+        suspended.setAcademicStatus("SUSPENDED");
+        studentRepository.update(suspended);
+        enrollmentService.dropCourse("S1", "CS101");
+
+        assertEquals(EnrollmentStatus.REJECTED, second.getStatus());
+        assertEquals(EnrollmentStatus.APPROVED, third.getStatus());
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void pollHeldSeat_ReleasesSeatWhenWaitlistIsEmpty() {
+        CourseWaitlist waitlist = new CourseWaitlist();
+        waitlist.enqueueIfFull(student("A", 3, 3.0), waitlisted("A"), () -> true);
+        waitlist.enqueueIfFull(student("B", 3, 3.0), waitlisted("B"), () -> true);
+        AtomicInteger released = new AtomicInteger();
+
+        CourseWaitlist.Entry head = waitlist.pollOrElse("CS101", released::incrementAndGet);
+        waitlist.restoreWithSeat(head);
+        assertEquals(1, waitlist.getHeldSeats("CS101"));
+        assertEquals(1, waitlist.getPosition("A", "CS101"));
+
+        assertSame(head, waitlist.pollHeldSeat("CS101", released::incrementAndGet));
+        assertNull(waitlist.pollHeldSeat("CS101", released::incrementAndGet));
+
+        waitlist.restoreWithSeat(head);
+        waitlist.remove("A", "CS101");
+        waitlist.remove("B", "CS101");
+        assertNull(waitlist.pollHeldSeat("CS101", released::incrementAndGet));
+        assertEquals(1, released.get());
+        assertEquals(0, waitlist.getHeldSeats("CS101"));
+    }
+
+    @Test
+    void enrollmentService_FailedPromotionKeepsSeatForWaitlist() {
+        FailingJournal journal = new FailingJournal(directory);
+        enrollmentService.setEnrollmentJournal(journal);
+        CourseWaitlist waitlist = new CourseWaitlist();
+        enrollmentService.setCourseWaitlist(waitlist);
+        try {
+            enrollmentService.enrollCourse("S1", "CS101");
+            Enrollment second = enrollmentService.enrollCourse("S2", "CS101");
+
+            journal.failing = true;
+            enrollmentService.dropCourse("S1", "CS101");
+
+            // Kursi tidak dilepas: pendaftar baru tetap masuk waitlist di belakang S2
+            assertEquals(EnrollmentStatus.WAITLISTED, second.getStatus());
+            assertEquals(1, waitlist.getHeldSeats("CS101"));
+            assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+            // Selama journal masih gagal, promosi tetap tertahan dan S3 tidak mendapat kursi
+            assertThrows(EnrollmentException.class, () -> enrollmentService.enrollCourse("S3", "CS101"));
+            assertEquals(1, waitlist.getPosition("S2", "CS101"));
+
+            // Promosi diulang setelah journal pulih
+            journal.failing = false;
+            Enrollment third = enrollmentService.enrollCourse("S3", "CS101");
+            assertEquals(EnrollmentStatus.APPROVED, second.getStatus());
+            assertEquals(EnrollmentStatus.WAITLISTED, third.getStatus());
+            assertEquals(0, waitlist.getHeldSeats("CS101"));
+            assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+            assertTrue(subjects.contains("s2@email.com:Waitlist Promotion"));
+        } finally {
+            journal.close();
+        }
+    }
+
+    /**
+     * Journal yang appendDurably-nya bisa dibuat gagal, drop tetap tercatat
+     */
+    private static final class FailingJournal extends EnrollmentJournal {
+        private volatile boolean failing;
+
+        private FailingJournal(Path directory) {
+            super(directory, 4096);
+        }
+
+        @Override
+        public long appendDurably(Enrollment enrollment) {
+            if (failing) {
+                throw new IllegalStateException("Journal unavailable");
+            }
+            return super.appendDurably(enrollment);
+        }
+    }
+}
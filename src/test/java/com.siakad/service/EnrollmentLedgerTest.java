@@ -0,0 +1,255 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.journal.EnrollmentJournal;
+import com.siakad.journal.EnrollmentSnapshotStore;
+import com.siakad.journal.EnrollmentState;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentLedgerTest {
+
+    @TempDir
+    Path directory;
+
+    private EnrollmentLedger ledger;
+    private SeatInventory seatInventory;
+    private Course programming;
+    private Course algorithms;
+    private Course database;
+
+    @BeforeEach
+    void setUp() {
+        ledger = new EnrollmentLedger();
+        seatInventory = new SeatInventory();
+        programming = new Course("CS101", "Programming", 3, 30, 0, "Dr. Smith");
+        algorithms = new Course("CS201", "Algorithms", 4, 30, 0, "Dr. Smith");
+        database = new Course("CS301", "Database", 3, 1, 0, "Dr. Smith");
+    }
+
+    @Test
+    void reserve_TracksCoursesAndCredits() {
+        assertEquals(1, ledger.reserve("0909", programming, 24, seatInventory));
+        assertEquals(1, ledger.reserve("0909", algorithms, 24, seatInventory));
+
+        assertEquals(7, ledger.getTotalCredits("0909"));
+        assertEquals(Set.of("CS101", "CS201"), ledger.getEnrolledCourses("0909"));
+        assertTrue(ledger.isEnrolled("0909", "CS101"));
+        assertFalse(ledger.isEnrolled("099", "CS101"));
+    }
+
+    @Test
+    void reserve_RejectsDuplicateWithoutTakingSeat() {
+        ledger.reserve("0909", programming, 24, seatInventory);
+
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> ledger.reserve("0909", programming, 24, seatInventory));
+        assertEquals("Already enrolled in course: CS101", exception.getMessage());
+        assertEquals(1, seatInventory.getEnrolledCount("CS101"));
+    }
+
+    @Test
+    void reserve_RejectsCreditOverflow() {
+        ledger.reserve("0909", programming, 6, seatInventory);
+
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> ledger.reserve("0909", algorithms, 6, seatInventory));
+        assertEquals("Credit limit exceeded: 7 of 6 SKS", exception.getMessage());
+        assertEquals(-1, seatInventory.getEnrolledCount("CS201"));
+        assertEquals(3, ledger.getTotalCredits("0909"));
+    }
+
+    @Test
+    void reserveAll_RollsBackWhenCourseIsFull() {
+        ledger.reserve("099", database, 24, seatInventory);
+
+        CourseFullException exception = assertThrows(CourseFullException.class,
+                () -> ledger.reserveAll("0909", Arrays.asList(programming, database), 24, seatInventory));
+        assertEquals("Course is full: CS301", exception.getMessage());
+        assertEquals(0, seatInventory.getEnrolledCount("CS101"));
+        assertEquals(0, ledger.getTotalCredits("0909"));
+    }
+
+    @Test
+    void cancelAndRemove_ReleaseCredits() {
+        ledger.reserve("0909", programming, 24, seatInventory);
+        ledger.reserve("0909", algorithms, 24, seatInventory);
+
+        ledger.cancel("0909", programming, seatInventory);
+        assertEquals(0, seatInventory.getEnrolledCount("CS101"));
+        assertTrue(ledger.remove("0909", "CS201"));
+        assertFalse(ledger.remove("0909", "CS201"));
+        assertEquals(1, seatInventory.getEnrolledCount("CS201"));
+        assertEquals(0, ledger.getTotalCredits("0909"));
+
+        ledger.record("0909", algorithms);
+        assertEquals(4, ledger.getTotalCredits("0909"));
+    }
+
+    @Test
+    void reserve_ConcurrentRequestsNeverExceedCreditLimit() throws InterruptedException {
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            courses.add(new Course("C" + i, "Course " + i, 3, 100, 0, "Dr. Smith"));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(courses.size() * 2);
+        AtomicInteger accepted = new AtomicInteger();
+        for (int round = 0; round < 2; round++) {
+            for (Course course : courses) {
+                executor.execute(() -> {
+                    try {
+                        ledger.reserve("0909", course, 24, seatInventory);
+                        accepted.incrementAndGet();
+                    } catch (EnrollmentException e) {
+                        // duplikat atau SKS penuh
+                    } finally {
+                        done.countDown();
+                    }
+                });
+            }
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(8, accepted.get());
+        assertEquals(24, ledger.getTotalCredits("0909"));
+        int seatsTaken = 0;
+        for (Course course : courses) {
+            seatsTaken += Math.max(0, seatInventory.getEnrolledCount(course.getCourseCode()));
+        }
+        assertEquals(8, seatsTaken);
+    }
+
+    @Test
+    void enrollmentService_RejectsDuplicateEnrollAndUnknownDrop() {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+        studentRepository.save(new Student("0909", "Nabila", "Nabila@email.com",
+                "Computer Science", 3, 3.2, "ACTIVE"));
+        courseRepository.save(programming);
+        courseRepository.save(algorithms);
+        EnrollmentService service = newService(studentRepository, courseRepository);
+        service.setEnrollmentLedger(ledger);
+
+        service.enrollCourse("0909", "CS101");
+        EnrollmentException duplicate = assertThrows(EnrollmentException.class,
+                () -> service.enrollCourses("0909", Arrays.asList("CS201", "CS101")));
+        assertEquals("Already enrolled in course: CS101", duplicate.getMessage());
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(0, courseRepository.findByCourseCode("CS201").getEnrolledCount());
+
+        EnrollmentException notEnrolled = assertThrows(EnrollmentException.class,
+                () -> service.dropCourse("0909", "CS201"));
+        assertEquals("Student is not enrolled in course: CS201", notEnrolled.getMessage());
+
+        service.dropCourse("0909", "CS101");
+        assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(0, ledger.getTotalCredits("0909"));
+    }
+
+    @Test
+    void restore_RecordsApprovedEnrollmentsFromJournalState() {
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(new InMemoryStudentRepository());
+        courseRepository.save(programming);
+        courseRepository.save(algorithms);
+        try (EnrollmentJournal journal = new EnrollmentJournal(directory, 4096)) {
+            LocalDateTime date = LocalDateTime.of(2024, 8, 1, 9, 0);
+            journal.append(new Enrollment("ENR-1", "0909", "CS101", date, "APPROVED"));
+            journal.append(new Enrollment("ENR-2", "0909", "CS201", date, "APPROVED"));
+            journal.append(new Enrollment("ENR-3", "099", "CS101", date, "WAITLISTED"));
+            journal.append(new Enrollment("ENR-4", "099", "CS999", date, "APPROVED"));
+            journal.appendDrop("0909", "CS201", date.plusDays(1));
+
+            EnrollmentState state = new EnrollmentSnapshotStore(directory.resolve("snapshots"), 1)
+                    .recover(journal, Collections.<Course>emptyList());
+
+            // CS999 tidak ada di repository, enrollment WAITLISTED tidak dicatat
+            assertEquals(1, ledger.restore(state, courseRepository));
+        }
+
+        assertEquals(Set.of("CS101"), ledger.getEnrolledCourses("0909"));
+        assertEquals(3, ledger.getTotalCredits("0909"));
+        assertTrue(ledger.getEnrolledCourses("099").isEmpty());
+        assertThrows(EnrollmentException.class, () -> ledger.reserve("0909", programming, 24, seatInventory));
+        assertThrows(EnrollmentException.class, () -> ledger.reserve("0909", algorithms, 6, seatInventory));
+    }
+
+    @Test
+    void enrollmentService_AfterRestartUsesRestoredLedger() {
+        InMemoryStudentRepository studentRepository = new InMemoryStudentRepository();
+        InMemoryCourseRepository courseRepository = new InMemoryCourseRepository(studentRepository);
+        // IPK 1.8: batas 15 SKS
+        studentRepository.save(new Student("0909", "Nabila", "Nabila@email.com",
+                "Computer Science", 3, 1.8, "ACTIVE"));
+        courseRepository.save(programming);
+        courseRepository.save(algorithms);
+        courseRepository.save(new Course("CS401", "Compilers", 9, 30, 0, "Dr. Smith"));
+
+        try (EnrollmentJournal journal = new EnrollmentJournal(directory, 4096)) {
+            EnrollmentService service = newService(studentRepository, courseRepository);
+            service.setEnrollmentJournal(journal);
+            service.setEnrollmentLedger(ledger);
+            service.enrollCourses("0909", Arrays.asList("CS101", "CS201"));
+        }
+
+        // Restart: ledger baru diisi dari journal
+        try (EnrollmentJournal journal = new EnrollmentJournal(directory, 4096)) {
+            EnrollmentState state = new EnrollmentSnapshotStore(directory.resolve("snapshots"), 1)
+                    .recover(journal, Collections.<Course>emptyList());
+            EnrollmentLedger restored = new EnrollmentLedger();
+            restored.restore(state, courseRepository);
+            EnrollmentService service = newService(studentRepository, courseRepository);
+            service.setEnrollmentJournal(journal);
+            service.setEnrollmentLedger(restored);
+
+            EnrollmentException duplicate = assertThrows(EnrollmentException.class,
+                    () -> service.enrollCourse("0909", "CS101"));
+            assertEquals("Already enrolled in course: CS101", duplicate.getMessage());
+            EnrollmentException overflow = assertThrows(EnrollmentException.class,
+                    () -> service.enrollCourse("0909", "CS401"));
+            assertEquals("Credit limit exceeded: 16 of 15 SKS", overflow.getMessage());
+
+            service.dropCourse("0909", "CS201");
+            assertEquals(0, courseRepository.findByCourseCode("CS201").getEnrolledCount());
+            assertEquals(Set.of("CS101"), restored.getEnrolledCourses("0909"));
+        }
+    }
+
+    private static EnrollmentService newService(InMemoryStudentRepository studentRepository,
+                                                InMemoryCourseRepository courseRepository) {
+        NotificationService notificationService = new NotificationService() {
+            @Override
+            public void sendEmail(String email, String subject, String message) {
+            }
+
+            @Override
+            public void sendSMS(String phone, String message) {
+            }
+        };
+        return new EnrollmentService(studentRepository, courseRepository,
+                notificationService, new GradeCalculator());
+    }
+}
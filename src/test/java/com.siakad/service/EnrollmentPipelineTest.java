@@ -0,0 +1,245 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.CourseNotFoundException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.exception.PrerequisiteNotMetException;
+import com.siakad.exception.StudentNotFoundException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EnrollmentPipelineTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+    private List<String> subjects;
+    private EnrollmentService enrollmentService;
+    private EnrollmentPipeline pipeline;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+        studentRepository.save(new Student("S1", "Nabila", "s1@email.com", "Computer Science", 3, 3.2, "ACTIVE"));
+        studentRepository.save(new Student("S2", "Seol", "s2@email.com", "Computer Science", 5, 3.0, "SUSPENDED"));
+        courseRepository.save(new Course("CS101", "Programming", 3, 2, 0, "Dr. Smith"));
+        courseRepository.save(new Course("CS102", "Data Structures", 3, 40, 0, "Dr. Smith"));
+
+        subjects = Collections.synchronizedList(new ArrayList<>());
+        NotificationService notificationService = new NotificationService() {
+            @Override
+            public void sendEmail(String email, String subject, String message) {
+                subjects.add(email + ":" + subject);
+            }
+
+            @Override
+            public void sendSMS(String phone, String message) {
+            }
+        };
+        enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                notificationService, new GradeCalculator());
+        pipeline = new EnrollmentPipeline(enrollmentService, 16, 8);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pipeline.close();
+    }
+
+    private static Throwable failure(CompletableFuture<Enrollment> future) throws Exception {
+        ExecutionException exception = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        return exception.getCause();
+    }
+
+    @Test
+    void constructor_RejectsInvalidSizes() {
+        assertThrows(IllegalArgumentException.class, () -> new EnrollmentPipeline(enrollmentService, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new EnrollmentPipeline(enrollmentService, 1, 0));
+    }
+
+    @Test
+    void submit_EnrollsThroughAllStages() throws Exception {
+        Enrollment enrollment = pipeline.submit("S1", "CS101").get(5, TimeUnit.SECONDS);
+
+        assertEquals(EnrollmentStatus.APPROVED, enrollment.getStatus());
+        assertEquals("S1", enrollment.getStudentId());
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertTrue(subjects.contains("s1@email.com:Enrollment Confirmation"));
+        for (EnrollmentPipeline.Stage stage : EnrollmentPipeline.Stage.values()) {
+            assertEquals(1, pipeline.getLatencyHistogram(stage).getCount(), stage.name());
+        }
+    }
+
+    @Test
+    void submit_FailuresUseSameExceptionsAsEnrollCourse() throws Exception {
+        Course algorithms = new Course("CS201", "Algorithms", 3, 40, 0, "Dr. Smith");
+        algorithms.addPrerequisite("CS101");
+        courseRepository.save(algorithms);
+
+        CompletableFuture<Enrollment> unknownStudent = pipeline.submit("S9", "CS101");
+        CompletableFuture<Enrollment> suspended = pipeline.submit("S2", "CS101");
+        CompletableFuture<Enrollment> unknownCourse = pipeline.submit("S1", "CS999");
+        CompletableFuture<Enrollment> prerequisite = pipeline.submit("S1", "CS201");
+
+        assertInstanceOf(StudentNotFoundException.class, failure(unknownStudent));
+        Throwable suspendedFailure = failure(suspended);
+        assertInstanceOf(EnrollmentException.class, suspendedFailure);
+        assertEquals("Student is suspended", suspendedFailure.getMessage());
+        assertInstanceOf(CourseNotFoundException.class, failure(unknownCourse));
+        assertInstanceOf(PrerequisiteNotMetException.class, failure(prerequisite));
+
+        // Request yang gagal di stage awal tidak sampai ke commit
+        assertEquals(0, pipeline.getLatencyHistogram(EnrollmentPipeline.Stage.COMMIT).getCount());
+        assertTrue(subjects.isEmpty());
+    }
+
+    @Test
+    void submit_ConcurrentRequestsNeverOverbook() throws Exception {
+        List<CompletableFuture<Enrollment>> futures = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            String studentId = "P" + i;
+            studentRepository.save(new Student(studentId, studentId, studentId + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+            futures.add(pipeline.submit(studentId, i % 2 == 0 ? "CS101" : "CS102"));
+        }
+
+        int approved = 0;
+        int full = 0;
+        for (CompletableFuture<Enrollment> future : futures) {
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                approved++;
+            } catch (ExecutionException e) {
+                assertInstanceOf(CourseFullException.class, e.getCause());
+                full++;
+            }
+        }
+
+        assertEquals(27, approved);
+        assertEquals(23, full);
+        assertEquals(2, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(25, courseRepository.findByCourseCode("CS102").getEnrolledCount());
+    }
+
+    @Test
+    void close_DrainsInFlightRequestsThenRejectsNewOnes() throws Exception {
+        CompletableFuture<Enrollment> future = pipeline.submit("S1", "CS102");
+        pipeline.close();
+
+        assertTrue(future.isDone());
+        assertEquals(EnrollmentStatus.APPROVED, future.get().getStatus());
+        assertThrows(IllegalStateException.class, () -> pipeline.submit("S1", "CS101"));
+    }
+
+    @Test
+    void close_DuringConcurrentSubmitsCompletesEveryAcceptedRequest() throws Exception {
+        pipeline.close();
+        // Antrean kecil agar submit sering menunggu di put saat close dipanggil
+        pipeline = new EnrollmentPipeline(enrollmentService, 1, 1);
+        int threads = 4;
+        List<CompletableFuture<Enrollment>> accepted = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch started = new CountDownLatch(threads);
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread submitter = new Thread(() -> {
+                started.countDown();
+                while (true) {
+                    try {
+                        accepted.add(pipeline.submit("S1", "CS999"));
+                    } catch (IllegalStateException e) {
+                        return;
+                    }
+                }
+            });
+            submitters.add(submitter);
+            submitter.start();
+        }
+
+        started.await();
+        Thread.sleep(20);
+        pipeline.close();
+        for (Thread submitter : submitters) {
+            submitter.join(5000);
+            assertFalse(submitter.isAlive());
+        }
+
+        for (CompletableFuture<Enrollment> future : accepted) {
+            assertInstanceOf(CourseNotFoundException.class, failure(future));
+        }
+    }
+
+    @Test
+    void commit_UsesCurrentCourseFromRepository() throws Exception {
+        pipeline.close();
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        NotificationService notificationService = new NotificationService() {
+            @Override
+            public void sendEmail(String email, String subject, String message) {
+                subjects.add(email + ":" + message);
+            }
+
+            @Override
+            public void sendSMS(String phone, String message) {
+            }
+        };
+        enrollmentService = new EnrollmentService(studentRepository, courseRepository,
+                notificationService, new GradeCalculator()) {
+            @Override
+            Enrollment commitEnrollment(Student student, Course course) {
+                if ("CS101".equals(course.getCourseCode())) {
+                    blocked.countDown();
+                    awaitQuietly(release);
+                }
+                return super.commitEnrollment(student, course);
+            }
+        };
+        pipeline = new EnrollmentPipeline(enrollmentService, 16, 8);
+
+        // Request pertama menahan stage COMMIT, request kedua menunggu di antrean COMMIT
+        CompletableFuture<Enrollment> first = pipeline.submit("S1", "CS101");
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        CompletableFuture<Enrollment> second = pipeline.submit("S1", "CS102");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (pipeline.getQueueDepth(EnrollmentPipeline.Stage.COMMIT) == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        assertEquals(1, pipeline.getQueueDepth(EnrollmentPipeline.Stage.COMMIT));
+
+        // Perubahan setelah VALIDATE_COURSE tetap terlihat oleh COMMIT
+        Course renamed = courseRepository.findByCourseCode("CS102");
+        renamed.setCourseName("Advanced Data Structures");
+        courseRepository.update(renamed);
+        release.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertTrue(subjects.contains("s1@email.com:You have been enrolled in: Advanced Data Structures"));
+        assertEquals("Advanced Data Structures", courseRepository.findByCourseCode("CS102").getCourseName());
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
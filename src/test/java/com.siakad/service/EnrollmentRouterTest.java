@@ -0,0 +1,236 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Course;
+import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class EnrollmentRouterTest {
+
+    private static final int NODES = 3;
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+    private NotificationService notificationService;
+    private CoursePartitioner partitioner;
+    private EnrollmentRouter router;
+    private String first;
+    private String second;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+        studentRepository.save(new Student("S1", "Nabila", "s1@email.com", "Computer Science", 3, 3.2, "ACTIVE"));
+        studentRepository.save(new Student("S2", "Seol", "s2@email.com", "Computer Science", 5, 3.0, "ACTIVE"));
+
+        partitioner = new CoursePartitioner(NODES);
+        // Dua mata kuliah milik node yang berbeda
+        first = "CS101";
+        int code = 102;
+        while (partitioner.ownerOf("CS" + code) == partitioner.ownerOf(first)) {
+            code++;
+        }
+        second = "CS" + code;
+        courseRepository.save(new Course(first, "Programming", 3, 40, 0, "Dr. Smith"));
+        courseRepository.save(new Course(second, "Data Structures", 3, 1, 0, "Dr. Smith"));
+
+        notificationService = mock(NotificationService.class);
+        EnrollmentService[] nodes = new EnrollmentService[NODES];
+        for (int i = 0; i < NODES; i++) {
+            nodes[i] = new EnrollmentService(studentRepository, courseRepository,
+                    notificationService, new GradeCalculator());
+            nodes[i].setEnrollmentLedger(new EnrollmentLedger());
+        }
+        router = new EnrollmentRouter(partitioner, new LocalEnrollmentTransport(nodes));
+    }
+
+    @Test
+    void enrollCourse_RoutedToOwner() {
+        Enrollment enrollment = router.enrollCourse("S1", first);
+
+        assertEquals(EnrollmentStatus.APPROVED, enrollment.getStatus());
+        assertEquals(1, router.getRoutedCount(partitioner.ownerOf(first)));
+        assertEquals(1, courseRepository.findByCourseCode(first).getEnrolledCount());
+
+        router.dropCourse("S1", first);
+        assertEquals(2, router.getRoutedCount(partitioner.ownerOf(first)));
+        assertEquals(0, courseRepository.findByCourseCode(first).getEnrolledCount());
+    }
+
+    @Test
+    void enrollCourse_OwnerHoldsSeatCounter() {
+        router.enrollCourse("S1", second);
+
+        assertThrows(CourseFullException.class, () -> router.enrollCourse("S2", second));
+        assertEquals(2, router.getRoutedCount(partitioner.ownerOf(second)));
+        assertEquals(0, router.getRoutedCount(partitioner.ownerOf(first)));
+    }
+
+    @Test
+    void enrollCourses_AcrossNodesKeepsBasketOrder() {
+        List<Enrollment> enrollments = router.enrollCourses("S1", Arrays.asList(second, first));
+
+        assertEquals(second, enrollments.get(0).getCourseCode());
+        assertEquals(first, enrollments.get(1).getCourseCode());
+        assertEquals(1, courseRepository.findByCourseCode(first).getEnrolledCount());
+        assertEquals(1, courseRepository.findByCourseCode(second).getEnrolledCount());
+    }
+
+    @Test
+    void enrollCourses_FailedNodeCompensatesOthers() {
+        router.enrollCourse("S2", second);
+
+        assertThrows(CourseFullException.class, () -> router.enrollCourses("S1", Arrays.asList(first, second)));
+
+        assertEquals(1, router.getCompensationCount());
+        assertEquals(0, courseRepository.findByCourseCode(first).getEnrolledCount());
+        // Mahasiswa tidak meminta drop, jadi tidak ada email konfirmasi drop
+        verify(notificationService, never()).sendEmail(anyString(), eq("Course Drop Confirmation"), anyString());
+    }
+
+    @Test
+    void enrollCourses_CreditLimitCheckedAcrossNodesBeforeRouting() {
+        // IPK 3.2: batas 24 SKS
+        String third = courseOnOtherNode(first, second);
+        courseRepository.save(new Course(third, "Capstone", 22, 40, 0, "Dr. Smith"));
+
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> router.enrollCourses("S1", Arrays.asList(first, third, second)));
+        assertEquals("Credit limit exceeded: 28 of 24 SKS", exception.getMessage());
+        for (int node = 0; node < NODES; node++) {
+            assertEquals(0, router.getRoutedCount(node));
+        }
+
+        // SKS yang sudah diambil di node lain ikut dihitung
+        router.enrollCourse("S1", third);
+        EnrollmentException single = assertThrows(EnrollmentException.class,
+                () -> router.enrollCourses("S1", Arrays.asList(first, second)));
+        assertEquals("Credit limit exceeded: 28 of 24 SKS", single.getMessage());
+        assertThrows(EnrollmentException.class, () -> router.enrollCourse("S1", first));
+        assertEquals(0, courseRepository.findByCourseCode(first).getEnrolledCount());
+    }
+
+    @Test
+    void enrollCourse_ConcurrentRequestsOnDifferentNodesShareCreditLimit() throws InterruptedException {
+        // IPK 3.2: batas 24 SKS, dua mata kuliah 13 SKS di node berbeda tidak boleh sama-sama diterima
+        String third = courseOnOtherNode(first, second);
+        courseRepository.save(new Course(first, "Programming", 13, 40, 0, "Dr. Smith"));
+        courseRepository.save(new Course(third, "Capstone", 13, 40, 0, "Dr. Smith"));
+
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger approved = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (String courseCode : Arrays.asList(first, third)) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    router.enrollCourse("S1", courseCode);
+                    approved.incrementAndGet();
+                } catch (EnrollmentException e) {
+                    rejected.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(1, approved.get());
+        assertEquals(1, rejected.get());
+        assertEquals(1, courseRepository.findByCourseCode(first).getEnrolledCount()
+                + courseRepository.findByCourseCode(third).getEnrolledCount());
+    }
+
+    @Test
+    void enrollCourse_CreditLedgerOnlyOnStudentOwner() {
+        List<Integer> creditNodes = new ArrayList<>();
+        EnrollmentService[] nodes = new EnrollmentService[NODES];
+        for (int i = 0; i < NODES; i++) {
+            nodes[i] = new EnrollmentService(studentRepository, courseRepository,
+                    notificationService, new GradeCalculator());
+        }
+        EnrollmentRouter recording = new EnrollmentRouter(partitioner, new LocalEnrollmentTransport(nodes) {
+            @Override
+            public void reserveCredits(int nodeId, String studentId, List<String> courseCodes) {
+                creditNodes.add(nodeId);
+                super.reserveCredits(nodeId, studentId, courseCodes);
+            }
+
+            @Override
+            public void releaseCredits(int nodeId, String studentId, List<String> courseCodes) {
+                creditNodes.add(nodeId);
+                super.releaseCredits(nodeId, studentId, courseCodes);
+            }
+        });
+
+        recording.enrollCourses("S1", Arrays.asList(first, second));
+        recording.dropCourse("S1", second);
+        recording.enrollCourse("S1", second);
+
+        int owner = partitioner.ownerOfStudent("S1");
+        assertEquals(Arrays.asList(owner, owner, owner), creditNodes);
+        assertEquals(1, courseRepository.findByCourseCode(second).getEnrolledCount());
+    }
+
+    @Test
+    void localTransport_AssignsDistinctIdGeneratorNodes() {
+        Enrollment firstEnrollment = router.enrollCourse("S1", first);
+        Enrollment secondEnrollment = router.enrollCourse("S1", second);
+
+        assertEquals(partitioner.ownerOf(first), SnowflakeIdGenerator.nodeOf(firstEnrollment.getEnrollmentNumber()));
+        assertEquals(partitioner.ownerOf(second), SnowflakeIdGenerator.nodeOf(secondEnrollment.getEnrollmentNumber()));
+        assertNotEquals(firstEnrollment.getEnrollmentNumber(), secondEnrollment.getEnrollmentNumber());
+
+        EnrollmentService shared = new EnrollmentService(null, null, null, null);
+        assertThrows(IllegalArgumentException.class, () -> new LocalEnrollmentTransport(shared, shared));
+    }
+
+    /**
+     * @return Kode mata kuliah yang pemiliknya berbeda dari kedua mata kuliah lain
+     */
+    private String courseOnOtherNode(String a, String b) {
+        int code = 300;
+        while (partitioner.ownerOf("CS" + code) == partitioner.ownerOf(a)
+                || partitioner.ownerOf("CS" + code) == partitioner.ownerOf(b)) {
+            code++;
+        }
+        return "CS" + code;
+    }
+
+    @Test
+    void localTransport_UnknownNode() {
+        LocalEnrollmentTransport transport = new LocalEnrollmentTransport(
+                new EnrollmentService(null, null, null, null));
+
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> transport.dropCourse(1, "S1", first));
+        assertEquals("Unknown enrollment node: 1", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, LocalEnrollmentTransport::new);
+    }
+}
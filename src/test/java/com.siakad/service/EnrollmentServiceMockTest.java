@@ -1,14 +1,15 @@
 package com.siakad.service;
 
-import com.siakad.service.EnrollmentService;
-import com.siakad.service.GradeCalculator;
-import com.siakad.service.NotificationService;
 import com.siakad.exception.*;
 import com.siakad.model.Course;
 import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
 import com.siakad.model.Student;
 import com.siakad.repository.CourseRepository;
 import com.siakad.repository.StudentRepository;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,6 +17,12 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -62,11 +69,24 @@ class EnrollmentServiceMockTest {
         assertNotNull(enrollment);
         assertEquals("0909", enrollment.getStudentId());
         assertEquals("CS101", enrollment.getCourseCode());
-        assertEquals("APPROVED", enrollment.getStatus());
+        assertEquals(EnrollmentStatus.APPROVED, enrollment.getStatus());
         verify(courseRepository).update(any(Course.class));
         verify(notificationService).sendEmail(anyString(), anyString(), anyString());
     }
 
+    @Test
+    void enrollCourse_UsesEnrollmentIdGenerator() {
+        when(studentRepository.findById("0909")).thenReturn(studentNabila);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(courseProgramming);
+        when(courseRepository.isPrerequisiteMet("0909", "CS101")).thenReturn(true);
+        enrollmentService.setEnrollmentIdGenerator(() -> 42L);
+
+        Enrollment enrollment = enrollmentService.enrollCourse("0909", "CS101");
+
+        assertEquals(42L, enrollment.getEnrollmentNumber());
+        assertEquals("ENR-42", enrollment.getEnrollmentId());
+    }
+
     @Test
     void enrollCourse_StudentSuspended() {
         when(studentRepository.findById("099")).thenReturn(studentSeol);
@@ -224,4 +244,95 @@ class EnrollmentServiceMockTest {
         });
         assertEquals("Course not found", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void enrollCourses_Success() {
+        Course courseDatabase = new Course("CS102", "Database", 3, 30, 10, "Dr. Lee");
+        Map<String, Course> courses = new HashMap<>();
+        courses.put("CS101", courseProgramming);
+        courses.put("CS102", courseDatabase);
+
+        when(studentRepository.findById("0909")).thenReturn(studentNabila);
+        when(courseRepository.findAllByCourseCodes(anyCollection())).thenReturn(courses);
+        when(gradeCalculator.calculateMaxCredits(3.2)).thenReturn(24);
+        when(courseRepository.findUnmetPrerequisites(eq("0909"), anyCollection()))
+                .thenReturn(Collections.emptySet());
+
+        List<Enrollment> enrollments = enrollmentService.enrollCourses("0909", Arrays.asList("CS101", "CS102"));
+
+        assertEquals(2, enrollments.size());
+        assertEquals("CS101", enrollments.get(0).getCourseCode());
+        assertEquals("CS102", enrollments.get(1).getCourseCode());
+        assertEquals(16, courseProgramming.getEnrolledCount());
+        assertEquals(11, courseDatabase.getEnrolledCount());
+        verify(studentRepository, times(1)).findById("0909");
+        verify(courseRepository, times(1)).findAllByCourseCodes(anyCollection());
+        verify(courseRepository, times(1)).updateAll(anyCollection());
+        verify(courseRepository, never()).findByCourseCode(anyString());
+        verify(courseRepository, never()).isPrerequisiteMet(anyString(), anyString());
+        verify(notificationService, times(2)).sendEmail(eq("Nabila@email.com"), anyString(), anyString());
+    }
+
+    @Test
+    void enrollCourses_CreditLimitExceeded() {
+        Course courseDatabase = new Course("CS102", "Database", 3, 30, 10, "Dr. Lee");
+        Map<String, Course> courses = new HashMap<>();
+        courses.put("CS101", courseProgramming);
+        courses.put("CS102", courseDatabase);
+
+        when(studentRepository.findById("0909")).thenReturn(studentNabila);
+        when(courseRepository.findAllByCourseCodes(anyCollection())).thenReturn(courses);
+        when(gradeCalculator.calculateMaxCredits(3.2)).thenReturn(5);
+
+        EnrollmentException exception = assertThrows(EnrollmentException.class, () ->
+                enrollmentService.enrollCourses("0909", Arrays.asList("CS101", "CS102")));
+        assertEquals("Credit limit exceeded: 6 of 5 SKS", exception.getMessage());
+        verify(courseRepository, never()).updateAll(anyCollection());
+    }
+
+    @Test
+    void enrollCourses_OneCourseFull_NothingCommitted() {
+        Course fullCourse = new Course("CS102", "Database", 3, 30, 30, "Dr. Lee");
+        Map<String, Course> courses = new HashMap<>();
+        courses.put("CS101", courseProgramming);
+        courses.put("CS102", fullCourse);
+
+        when(studentRepository.findById("0909")).thenReturn(studentNabila);
+        when(courseRepository.findAllByCourseCodes(anyCollection())).thenReturn(courses);
+
+        assertThrows(CourseFullException.class, () ->
+                enrollmentService.enrollCourses("0909", Arrays.asList("CS101", "CS102")));
+        assertEquals(15, courseProgramming.getEnrolledCount());
+        verify(courseRepository, never()).updateAll(anyCollection());
+        verify(notificationService, never()).sendEmail(anyString(), anyString(), anyString());
+    }
+
+    @Test
+    void enrollCourses_DuplicateCourse() {
+        EnrollmentException exception = assertThrows(EnrollmentException.class, () ->
+                enrollmentService.enrollCourses("0909", Arrays.asList("CS101", "CS101")));
+        assertEquals("Duplicate course in request: CS101", exception.getMessage());
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    void enrollCourses_EmptyList() {
+        assertTrue(enrollmentService.enrollCourses("0909", Collections.emptyList()).isEmpty());
+        verifyNoInteractions(studentRepository, courseRepository);
+    }
+
+    @Test
+    void enrollCourse_WithPrerequisiteIndex_SkipsRepositoryCheck() {
+        courseProgramming.addPrerequisite("CS100");
+        when(studentRepository.findById("0909")).thenReturn(studentNabila);
+        when(courseRepository.findByCourseCode("CS101")).thenReturn(courseProgramming);
+        when(studentRepository.getCompletedCourses("0909"))
+                .thenReturn(Collections.singletonList(new Course("CS100", "Intro", 2, 30, 0, "Dr. Smith")));
+        enrollmentService.setPrerequisiteIndex(new PrerequisiteIndex(studentRepository));
+
+        Enrollment enrollment = enrollmentService.enrollCourse("0909", "CS101");
+
+        assertEquals(EnrollmentStatus.APPROVED, enrollment.getStatus());
+        verify(courseRepository, never()).isPrerequisiteMet(anyString(), anyString());
+    }
+}
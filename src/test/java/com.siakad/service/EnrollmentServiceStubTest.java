@@ -1,19 +1,21 @@
 package com.siakad.service;
 
-import com.siakad.service.EnrollmentService;
-import com.siakad.service.GradeCalculator;
-import com.siakad.service.NotificationService;
 import com.siakad.exception.*;
 import com.siakad.model.Course;
 import com.siakad.model.Enrollment;
+import com.siakad.model.EnrollmentStatus;
 import com.siakad.model.Student;
 import com.siakad.repository.CourseRepository;
 import com.siakad.repository.StudentRepository;
+import com.siakad.service.EnrollmentService;
+import com.siakad.service.GradeCalculator;
+import com.siakad.service.NotificationService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -41,6 +43,13 @@ class EnrollmentServiceStubTest {
             return Collections.emptyList();
         }
 
+        @Override
+        public void scan(Consumer<? super Student> action) {
+            if (studentToReturn != null) {
+                action.accept(studentToReturn);
+            }
+        }
+
         public void setStudentToReturn(Student student) {
             this.studentToReturn = student;
         }
@@ -63,6 +72,23 @@ class EnrollmentServiceStubTest {
             return prerequisiteMet;
         }
 
+        @Override
+        public boolean compareAndUpdate(long expectedVersion, Course course) {
+            if (courseToReturn == null || courseToReturn.getVersion() != expectedVersion) {
+                return false;
+            }
+            course.setVersion(expectedVersion + 1);
+            courseToReturn = course;
+            return true;
+        }
+
+        @Override
+        public void scan(Consumer<? super Course> action) {
+            if (courseToReturn != null) {
+                action.accept(courseToReturn);
+            }
+        }
+
         public void setCourseToReturn(Course course) {
             this.courseToReturn = course;
         }
@@ -133,7 +159,7 @@ class EnrollmentServiceStubTest {
         assertNotNull(enrollment);
         assertEquals("0909", enrollment.getStudentId());
         assertEquals("CS101", enrollment.getCourseCode());
-        assertEquals("APPROVED", enrollment.getStatus());
+        assertEquals(EnrollmentStatus.APPROVED, enrollment.getStatus());
         assertEquals("Nabila@email.com", notificationServiceStub.lastEmail);
     }
 
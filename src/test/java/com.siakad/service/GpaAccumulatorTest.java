@@ -0,0 +1,199 @@
+package com.siakad.service;
+
+import com.siakad.model.CourseGrade;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GpaAccumulatorTest {
+
+    private GradeCalculator gradeCalculator;
+
+    @BeforeEach
+    void setUp() {
+        gradeCalculator = new GradeCalculator();
+    }
+
+    @Test
+    void getGpa_MatchesCalculateGPA() {
+        List<CourseGrade> grades = Arrays.asList(
+                new CourseGrade("CS101", 3, 4.0),
+                new CourseGrade("CS102", 3, 3.0),
+                new CourseGrade("CS103", 2, 2.0)
+        );
+
+        GpaAccumulator accumulator = GpaAccumulator.of(grades);
+
+        assertEquals(gradeCalculator.calculateGPA(grades), accumulator.getGpa());
+        assertEquals(3.13, accumulator.getGpa());
+        assertEquals(8, accumulator.getTotalCredits());
+        assertEquals(3, accumulator.size());
+    }
+
+    @Test
+    void getGpa_EmptyOrZeroCredits() {
+        assertEquals(0.0, GpaAccumulator.of(null).getGpa());
+        assertEquals(0.0, GpaAccumulator.of(Arrays.asList(new CourseGrade("CS101", 0, 4.0))).getGpa());
+    }
+
+    @Test
+    void add_DuplicateCourseCountsLikeCalculateGPA() {
+        List<CourseGrade> grades = Arrays.asList(
+                new CourseGrade("CS101", 3, 2.0),
+                new CourseGrade("CS101", 3, 3.7),
+                new CourseGrade("CS102", 2, 2.9));
+
+        GpaAccumulator accumulator = GpaAccumulator.of(grades);
+
+        assertEquals(gradeCalculator.calculateGPA(grades), accumulator.getGpa());
+        assertEquals(3, accumulator.size());
+        assertEquals(8, accumulator.getTotalCredits());
+    }
+
+    @Test
+    void add_InvalidGradePoint() {
+        GpaAccumulator accumulator = new GpaAccumulator();
+
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                accumulator.add(new CourseGrade("CS101", 3, 4.5)));
+        assertEquals("Invalid grade point: 4.5", exception.getMessage());
+        assertThrows(IllegalArgumentException.class, () ->
+                accumulator.add(new CourseGrade("CS102", 3, -0.5)));
+        assertEquals(0, accumulator.size());
+
+        accumulator.add(new CourseGrade("CS103", 3, 3.333));
+        assertEquals(3.33, accumulator.getGpa());
+    }
+
+    @Test
+    void replace_UpdatesRunningTotals() {
+        GpaAccumulator accumulator = GpaAccumulator.of(Arrays.asList(
+                new CourseGrade("CS101", 3, 2.0),
+                new CourseGrade("CS102", 3, 4.0)));
+        assertEquals(3.0, accumulator.getGpa());
+
+        accumulator.replace(new CourseGrade("CS101", 3, 4.0));
+        assertEquals(4.0, accumulator.getGpa());
+
+        accumulator.replace(new CourseGrade("CS103", 2, 1.0));
+        assertEquals(3.25, accumulator.getGpa());
+        assertEquals(3, accumulator.size());
+    }
+
+    @Test
+    void remove_UpdatesRunningTotals() {
+        GpaAccumulator accumulator = GpaAccumulator.of(Arrays.asList(
+                new CourseGrade("CS101", 3, 2.0),
+                new CourseGrade("CS102", 3, 4.0)));
+
+        assertTrue(accumulator.remove("CS101"));
+        assertFalse(accumulator.remove("CS101"));
+        assertEquals(4.0, accumulator.getGpa());
+
+        assertTrue(accumulator.remove("CS102"));
+        assertEquals(0.0, accumulator.getGpa());
+    }
+
+    @Test
+    void add_CopiesGrade() {
+        CourseGrade grade = new CourseGrade("CS101", 3, 2.0);
+        GpaAccumulator accumulator = GpaAccumulator.of(Arrays.asList(grade));
+
+        grade.setGradePoint(4.0);
+        assertEquals(2.0, accumulator.getGpa());
+    }
+
+    @Test
+    void getGpa_HalfwayValueMatchesCalculateGPA() {
+        List<CourseGrade> grades = new ArrayList<>();
+        for (int i = 0; i < 9; i++) {
+            grades.add(new CourseGrade("C" + i, 1, 2.3));
+        }
+
+        assertEquals(gradeCalculator.calculateGPA(grades), GpaAccumulator.of(grades).getGpa());
+    }
+
+    @Test
+    void randomOperations_MatchExactReference() {
+        Random random = new Random(7);
+        double[] scale = {0.0, 1.0, 2.0, 2.3, 2.7, 3.0, 3.3, 3.7, 4.0};
+
+        for (int run = 0; run < 200; run++) {
+            GpaAccumulator accumulator = new GpaAccumulator();
+            List<CourseGrade> reference = new ArrayList<>();
+            for (int step = 0; step < 60; step++) {
+                // Grade point dari skala huruf atau sembarang double di [0, 4], SKS boleh 0
+                double gradePoint = random.nextBoolean() ? scale[random.nextInt(scale.length)]
+                        : random.nextDouble() * 4.0;
+                CourseGrade grade = new CourseGrade("C" + random.nextInt(15), random.nextInt(5), gradePoint);
+                int operation = random.nextInt(4);
+                if (operation == 0) {
+                    reference.add(grade);
+                    accumulator.add(grade);
+                } else if (operation == 1) {
+                    int index = indexOf(reference, grade.getCourseCode());
+                    if (index < 0) {
+                        reference.add(grade);
+                    } else {
+                        reference.set(index, grade);
+                    }
+                    accumulator.replace(grade);
+                } else if (operation == 2) {
+                    int index = indexOf(reference, grade.getCourseCode());
+                    if (index >= 0) {
+                        reference.remove(index);
+                    }
+                    assertEquals(index >= 0, accumulator.remove(grade.getCourseCode()));
+                }
+                assertEquals(exactGpa(reference), accumulator.getGpa());
+                // calculateGPA menjumlahkan double berurutan, bedanya paling banyak satu digit terakhir
+                assertEquals(gradeCalculator.calculateGPA(reference), accumulator.getGpa(), 0.0100001);
+                assertEquals(reference.size(), accumulator.size());
+            }
+        }
+    }
+
+    @Test
+    void replaceAndRemove_LeaveNoRoundingResidue() {
+        GpaAccumulator accumulator = new GpaAccumulator();
+        accumulator.add(new CourseGrade("CS101", 3, 3.3));
+        for (int i = 0; i < 10_000; i++) {
+            accumulator.add(new CourseGrade("TMP", 3, 0.1 + (i % 39) * 0.1));
+            accumulator.replace(new CourseGrade("TMP", 2, 2.7));
+            assertTrue(accumulator.remove("TMP"));
+        }
+
+        assertEquals(3.3, accumulator.getGpa());
+        assertEquals(3, accumulator.getTotalCredits());
+        assertEquals(1, accumulator.size());
+    }
+
+    /**
+     * IPK dengan suku grade point × SKS yang sama seperti calculateGPA, tetapi dijumlahkan eksak
+     */
+    private static double exactGpa(List<CourseGrade> grades) {
+        BigDecimal points = BigDecimal.ZERO;
+        long credits = 0;
+        for (CourseGrade grade : grades) {
+            points = points.add(new BigDecimal(grade.getGradePoint() * grade.getCredits()));
+            credits += grade.getCredits();
+        }
+        return credits == 0 ? 0.0 : Math.round((points.doubleValue() / credits) * 100.0) / 100.0;
+    }
+
+    private static int indexOf(List<CourseGrade> grades, String courseCode) {
+        for (int i = 0; i < grades.size(); i++) {
+            if (grades.get(i).getCourseCode().equals(courseCode)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
@@ -9,7 +9,9 @@ import org.junit.jupiter.params.provider.CsvSource;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -129,6 +131,73 @@ class GradeCalculatorTest {
         assertTrue(exception.getMessage().contains("Invalid grade point"));
     }
 
+    @Test
+    void calculateGPAs_MatchesCalculateGPAPerStudent() {
+        int[] credits = {3, 3, 2, 4, 0, 3};
+        double[] gradePoints = {4.0, 3.0, 2.0, 3.7, 4.0, 2.3};
+        int[] offsets = {0, 3, 3, 5, 6};
+
+        double[] result = gradeCalculator.calculateGPAs(credits, gradePoints, offsets);
+
+        assertEquals(4, result.length);
+        assertEquals(3.13, result[0]);
+        assertEquals(0.0, result[1]);
+        assertEquals(3.7, result[2]);
+        assertEquals(2.3, result[3]);
+    }
+
+    @Test
+    void calculateGPAs_LargeInputUsesParallelPathWithSameResults() {
+        Random random = new Random(42);
+        int students = GradeCalculator.PARALLEL_THRESHOLD * 2 + 17;
+        int gradesPerStudent = 12;
+        int[] credits = new int[students * gradesPerStudent];
+        double[] gradePoints = new double[credits.length];
+        int[] offsets = new int[students + 1];
+        double[] scale = {0.0, 1.0, 2.0, 2.3, 2.7, 3.0, 3.3, 3.7, 4.0};
+        for (int i = 0; i < credits.length; i++) {
+            credits[i] = 1 + random.nextInt(4);
+            gradePoints[i] = scale[random.nextInt(scale.length)];
+        }
+        for (int s = 0; s <= students; s++) {
+            offsets[s] = s * gradesPerStudent;
+        }
+
+        double[] result = gradeCalculator.calculateGPAs(credits, gradePoints, offsets);
+
+        for (int s = 0; s < students; s++) {
+            List<CourseGrade> grades = new ArrayList<>();
+            for (int i = offsets[s]; i < offsets[s + 1]; i++) {
+                grades.add(new CourseGrade("C" + i, credits[i], gradePoints[i]));
+            }
+            assertEquals(gradeCalculator.calculateGPA(grades), result[s]);
+        }
+    }
+
+    @Test
+    void calculateGPAs_EmptyOffsets_ReturnsEmpty() {
+        assertEquals(0, gradeCalculator.calculateGPAs(new int[0], new double[0], new int[0]).length);
+    }
+
+    @Test
+    void calculateGPAs_WithInvalidGradePoint() {
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () ->
+                gradeCalculator.calculateGPAs(new int[]{3, 3}, new double[]{4.0, 4.5}, new int[]{0, 1, 2}));
+        assertEquals("Invalid grade point: 4.5", exception.getMessage());
+    }
+
+    @Test
+    void calculateGPAs_WithInconsistentArrays() {
+        assertThrows(IllegalArgumentException.class, () ->
+                gradeCalculator.calculateGPAs(null, new double[0], new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () ->
+                gradeCalculator.calculateGPAs(new int[]{3}, new double[0], new int[]{0}));
+        assertThrows(IllegalArgumentException.class, () ->
+                gradeCalculator.calculateGPAs(new int[]{3}, new double[]{3.0}, new int[]{0, 2}));
+        assertThrows(IllegalArgumentException.class, () ->
+                gradeCalculator.calculateGPAs(new int[]{3, 3}, new double[]{3.0, 3.0}, new int[]{0, 2, 1, 2}));
+    }
+
     @ParameterizedTest
     @CsvSource({
             "1, 2.0, ACTIVE",
@@ -0,0 +1,203 @@
+package com.siakad.service;
+
+import com.siakad.exception.CourseFullException;
+import com.siakad.exception.EnrollmentException;
+import com.siakad.model.Course;
+import com.siakad.model.Student;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class OptimisticCourseUpdaterTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private InMemoryCourseRepository courseRepository;
+    private List<Long> sleeps;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        courseRepository = new InMemoryCourseRepository(studentRepository);
+        courseRepository.save(new Course("CS101", "Programming", 3, 2, 0, "Dr. Smith"));
+        sleeps = new ArrayList<>();
+    }
+
+    private OptimisticCourseUpdater updater(int maxAttempts) {
+        return new OptimisticCourseUpdater(courseRepository, maxAttempts,
+                Duration.ofMillis(1), Duration.ofMillis(8), sleeps::add);
+    }
+
+    @Test
+    void constructor_RejectsInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> updater(0));
+        assertThrows(IllegalArgumentException.class, () -> new OptimisticCourseUpdater(courseRepository, 1,
+                Duration.ofMillis(5), Duration.ofMillis(1)));
+    }
+
+    @Test
+    void adjustEnrolledCount_RetriesOnConflictAgainstLatestVersion() {
+        OptimisticCourseUpdater updater = updater(3);
+        Course stale = courseRepository.findByCourseCode("CS101");
+
+        // Penulis lain menyimpan lebih dulu
+        Course other = courseRepository.findByCourseCode("CS101");
+        other.setEnrolledCount(1);
+        courseRepository.update(other);
+
+        updater.adjustEnrolledCount(stale, 1);
+
+        assertEquals(2, stale.getEnrolledCount());
+        assertEquals(2, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertEquals(1, updater.getConflictCount("CS101"));
+        assertEquals(0.5, updater.getConflictRate());
+        assertEquals(1, sleeps.size());
+        assertTrue(sleeps.get(0) <= Duration.ofMillis(1).toNanos());
+    }
+
+    @Test
+    void adjustEnrolledCount_CapacityCheckedOnLatestData() {
+        OptimisticCourseUpdater updater = updater(3);
+        Course stale = courseRepository.findByCourseCode("CS101");
+        Course other = courseRepository.findByCourseCode("CS101");
+        other.setEnrolledCount(2);
+        courseRepository.update(other);
+
+        assertThrows(CourseFullException.class, () -> updater.adjustEnrolledCount(stale, 1));
+
+        updater.adjustEnrolledCount(stale, -1);
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void adjustEnrolledCount_GivesUpAfterMaxAttempts() {
+        InMemoryCourseRepository contended = new InMemoryCourseRepository(studentRepository) {
+            @Override
+            public boolean compareAndUpdate(long expectedVersion, Course course) {
+                return false;
+            }
+        };
+        contended.save(new Course("CS101", "Programming", 3, 2, 0, "Dr. Smith"));
+        OptimisticCourseUpdater updater = new OptimisticCourseUpdater(contended, 3,
+                Duration.ofMillis(1), Duration.ofMillis(2), sleeps::add);
+
+        EnrollmentException exception = assertThrows(EnrollmentException.class,
+                () -> updater.adjustEnrolledCount(contended.findByCourseCode("CS101"), 1));
+
+        assertEquals("Too many concurrent updates for course: CS101", exception.getMessage());
+        assertEquals(3, updater.getConflictCount("CS101"));
+        assertEquals(1, updater.getExhaustedCount());
+        // Backoff bertambah: 1 ms lalu 2 ms (dibatasi maxBackoff)
+        assertEquals(2, sleeps.size());
+        assertTrue(sleeps.get(1) <= Duration.ofMillis(2).toNanos());
+    }
+
+    @Test
+    void enrollmentService_InstancesSharingRepositoryNeverOverbook() throws InterruptedException {
+        OptimisticCourseUpdater updater = new OptimisticCourseUpdater(courseRepository, 50,
+                Duration.ofNanos(1000), Duration.ofMillis(1));
+        // Setiap instance punya SeatInventory sendiri, seperti dua proses terpisah
+        EnrollmentService[] services = new EnrollmentService[2];
+        for (int i = 0; i < services.length; i++) {
+            services[i] = new EnrollmentService(studentRepository, courseRepository,
+                    mock(NotificationService.class), new GradeCalculator());
+            services[i].setOptimisticCourseUpdater(updater);
+        }
+
+        int threads = 8;
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger approved = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            String studentId = "S" + i;
+            studentRepository.save(new Student(studentId, studentId, studentId + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+            EnrollmentService service = services[i % services.length];
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                    service.enrollCourse(studentId, "CS101");
+                    approved.incrementAndGet();
+                } catch (CourseFullException | InterruptedException e) {
+                    // Kalah berebut kursi
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+
+        assertEquals(2, approved.get());
+        assertEquals(2, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+
+        services[0].dropCourse("S0", "CS101");
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void enrollmentService_ResyncsSeatInventoryAfterDropOnOtherInstance() {
+        EnrollmentService first = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        EnrollmentService second = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        first.setOptimisticCourseUpdater(updater(3));
+        second.setOptimisticCourseUpdater(updater(3));
+        for (int i = 0; i < 4; i++) {
+            String studentId = "S" + i;
+            studentRepository.save(new Student(studentId, studentId, studentId + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+        }
+        second.enrollCourse("S0", "CS101");
+        second.enrollCourse("S1", "CS101");
+
+        // Drop di instance lain tidak terlihat oleh SeatInventory milik second
+        first.dropCourse("S0", "CS101");
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+
+        second.enrollCourse("S2", "CS101");
+        assertEquals(2, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+        assertThrows(CourseFullException.class, () -> second.enrollCourse("S3", "CS101"));
+
+        first.dropCourse("S1", "CS101");
+        second.enrollCourses("S3", List.of("CS101"));
+        assertEquals(2, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+
+    @Test
+    void enrollmentService_IgnoresStaleCapacityHintAfterDropOnOtherInstance() {
+        courseRepository.save(new Course("CS101", "Programming", 3, 1, 0, "Dr. Smith"));
+        EnrollmentService first = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        EnrollmentService second = new EnrollmentService(studentRepository, courseRepository,
+                mock(NotificationService.class), new GradeCalculator());
+        first.setOptimisticCourseUpdater(updater(3));
+        first.setCourseCapacityHint(new CourseCapacityHint(16));
+        second.setOptimisticCourseUpdater(updater(3));
+        for (int i = 0; i < 2; i++) {
+            String studentId = "S" + i;
+            studentRepository.save(new Student(studentId, studentId, studentId + "@email.com",
+                    "Computer Science", 3, 3.5, "ACTIVE"));
+        }
+        first.enrollCourse("S0", "CS101");
+        assertThrows(CourseFullException.class, () -> first.enrollCourse("S1", "CS101"));
+
+        // Bit penuh milik first tidak ikut dihapus oleh drop di instance lain
+        second.dropCourse("S0", "CS101");
+        assertEquals(0, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+
+        first.enrollCourse("S1", "CS101");
+        assertEquals(1, courseRepository.findByCourseCode("CS101").getEnrolledCount());
+    }
+}
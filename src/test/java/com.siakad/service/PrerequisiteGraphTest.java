@@ -0,0 +1,137 @@
+package com.siakad.service;
+
+import com.siakad.exception.PrerequisiteCycleException;
+import com.siakad.model.Course;
+import com.siakad.repository.InMemoryCourseRepository;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisiteGraphTest {
+
+    private List<Course> catalogue;
+
+    @BeforeEach
+    void setUp() {
+        catalogue = new ArrayList<>();
+        catalogue.add(course("CS301", "CS201", "MATH201"));
+        catalogue.add(course("CS201", "CS101"));
+        catalogue.add(course("CS101"));
+        catalogue.add(course("MATH201", "MATH101"));
+        catalogue.add(course("MATH101"));
+    }
+
+    private static Course course(String code, String... prerequisites) {
+        Course course = new Course(code, code, 3, 30, 0, "Dr. Smith");
+        for (String prerequisite : prerequisites) {
+            course.addPrerequisite(prerequisite);
+        }
+        return course;
+    }
+
+    @Test
+    void getTopologicalOrder_PrerequisitesFirst() {
+        List<String> order = PrerequisiteGraph.compile(catalogue).getTopologicalOrder();
+
+        assertEquals(5, order.size());
+        assertTrue(order.indexOf("CS101") < order.indexOf("CS201"));
+        assertTrue(order.indexOf("CS201") < order.indexOf("CS301"));
+        assertTrue(order.indexOf("MATH101") < order.indexOf("MATH201"));
+        assertTrue(order.indexOf("MATH201") < order.indexOf("CS301"));
+    }
+
+    @Test
+    void getAllPrerequisites_TransitiveClosure() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(catalogue);
+
+        List<String> all = graph.getAllPrerequisites("CS301");
+
+        assertEquals(4, all.size());
+        assertTrue(all.containsAll(Arrays.asList("CS101", "CS201", "MATH101", "MATH201")));
+        assertTrue(graph.getAllPrerequisites("CS101").isEmpty());
+        assertTrue(graph.getAllPrerequisites("UNKNOWN").isEmpty());
+    }
+
+    @Test
+    void getMissingPrerequisites_ExcludesCompleted() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(catalogue);
+
+        List<String> missing = graph.getMissingPrerequisites("CS301", Arrays.asList("CS101", "MATH101"));
+
+        assertEquals(Arrays.asList("CS201", "MATH201"), sorted(missing));
+        assertTrue(graph.getMissingPrerequisites("UNKNOWN", Collections.emptyList()).isEmpty());
+    }
+
+    @Test
+    void findEligibleCourses_WholeCatalogueInOnePass() {
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(catalogue);
+
+        assertEquals(Arrays.asList("CS101", "MATH101"), sorted(graph.findEligibleCourses(Collections.emptyList())));
+        assertEquals(Arrays.asList("CS201", "MATH101"), sorted(graph.findEligibleCourses(Arrays.asList("CS101"))));
+        assertEquals(Arrays.asList("CS301"), graph.findEligibleCourses(
+                Arrays.asList("CS101", "CS201", "MATH101", "MATH201")));
+    }
+
+    @Test
+    void compile_PrerequisiteOutsideCatalogue() {
+        catalogue.add(course("PHY201", "PHY101"));
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(catalogue);
+
+        assertFalse(graph.contains("PHY101"));
+        assertTrue(graph.contains("PHY201"));
+        assertFalse(graph.findEligibleCourses(Collections.emptyList()).contains("PHY201"));
+        assertTrue(graph.findEligibleCourses(Arrays.asList("PHY101")).contains("PHY201"));
+    }
+
+    @Test
+    void compile_RejectsCycle() {
+        catalogue.get(2).addPrerequisite("CS301");
+
+        PrerequisiteCycleException exception = assertThrows(PrerequisiteCycleException.class, () ->
+                PrerequisiteGraph.compile(catalogue));
+        assertTrue(exception.getMessage().startsWith("Prerequisite cycle detected: "));
+        assertTrue(exception.getMessage().contains("CS101"));
+    }
+
+    @Test
+    void compile_RejectsSelfPrerequisite() {
+        assertThrows(PrerequisiteCycleException.class, () ->
+                PrerequisiteGraph.compile(Collections.singletonList(course("CS101", "CS101"))));
+    }
+
+    @Test
+    void compile_DeepChainWithoutStackOverflow() {
+        List<Course> chain = new ArrayList<>();
+        chain.add(course("C0"));
+        for (int i = 1; i < 5000; i++) {
+            chain.add(course("C" + i, "C" + (i - 1)));
+        }
+
+        PrerequisiteGraph graph = PrerequisiteGraph.compile(chain);
+
+        assertEquals(4999, graph.getAllPrerequisites("C4999").size());
+    }
+
+    @Test
+    void compile_FromRepositoryScan() {
+        InMemoryCourseRepository repository = new InMemoryCourseRepository(new InMemoryStudentRepository());
+        for (Course course : catalogue) {
+            repository.save(course);
+        }
+
+        assertEquals(5, PrerequisiteGraph.compile(repository).getTopologicalOrder().size());
+    }
+
+    private static List<String> sorted(List<String> values) {
+        List<String> copy = new ArrayList<>(values);
+        Collections.sort(copy);
+        return copy;
+    }
+}
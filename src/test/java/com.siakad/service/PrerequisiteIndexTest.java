@@ -0,0 +1,90 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import com.siakad.repository.InMemoryStudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PrerequisiteIndexTest {
+
+    private InMemoryStudentRepository studentRepository;
+    private PrerequisiteIndex prerequisiteIndex;
+    private Course courseBasic;
+    private Course courseAdvanced;
+
+    @BeforeEach
+    void setUp() {
+        studentRepository = new InMemoryStudentRepository();
+        prerequisiteIndex = new PrerequisiteIndex(studentRepository);
+
+        courseBasic = new Course("CS101", "Programming", 3, 30, 0, "Dr. Smith");
+        courseAdvanced = new Course("CS201", "Algorithms", 3, 30, 0, "Dr. Smith");
+        courseAdvanced.addPrerequisite("CS101");
+        courseAdvanced.addPrerequisite("MATH101");
+    }
+
+    @Test
+    void isPrerequisiteMet_NoPrerequisites() {
+        assertTrue(prerequisiteIndex.isPrerequisiteMet("0909", courseBasic));
+    }
+
+    @Test
+    void isPrerequisiteMet_LoadsCompletedCoursesFromRepository() {
+        studentRepository.addCompletedCourse("0909", courseBasic);
+        studentRepository.addCompletedCourse("0909", new Course("MATH101", "Calculus", 3, 30, 0, "Dr. Lee"));
+
+        assertTrue(prerequisiteIndex.isPrerequisiteMet("0909", courseAdvanced));
+        assertFalse(prerequisiteIndex.isPrerequisiteMet("099", courseAdvanced));
+    }
+
+    @Test
+    void markCompleted_UpdatesIncrementally() {
+        studentRepository.addCompletedCourse("0909", courseBasic);
+        assertFalse(prerequisiteIndex.isPrerequisiteMet("0909", courseAdvanced));
+
+        prerequisiteIndex.markCompleted("0909", "MATH101");
+
+        assertTrue(prerequisiteIndex.isPrerequisiteMet("0909", courseAdvanced));
+    }
+
+    @Test
+    void registerCourse_RefreshesPrerequisites() {
+        prerequisiteIndex.markCompleted("0909", "CS101");
+        assertFalse(prerequisiteIndex.isPrerequisiteMet("0909", courseAdvanced));
+
+        courseAdvanced.getPrerequisites().remove("MATH101");
+        prerequisiteIndex.registerCourse(courseAdvanced);
+
+        assertTrue(prerequisiteIndex.isPrerequisiteMet("0909", courseAdvanced));
+    }
+
+    @Test
+    void invalidateStudent_ReloadsFromRepository() {
+        prerequisiteIndex.markCompleted("0909", "CS101");
+        prerequisiteIndex.markCompleted("0909", "MATH101");
+        assertTrue(prerequisiteIndex.isPrerequisiteMet("0909", courseAdvanced));
+
+        prerequisiteIndex.invalidateStudent("0909");
+
+        assertFalse(prerequisiteIndex.isPrerequisiteMet("0909", courseAdvanced));
+    }
+
+    @Test
+    void isPrerequisiteMet_MoreThanSixtyFourCourses() {
+        Course capstone = new Course("CS499", "Capstone", 6, 30, 0, "Dr. Smith");
+        for (int i = 0; i < 100; i++) {
+            capstone.addPrerequisite("C" + i);
+        }
+        for (int i = 0; i < 99; i++) {
+            prerequisiteIndex.markCompleted("0909", "C" + i);
+        }
+        assertFalse(prerequisiteIndex.isPrerequisiteMet("0909", capstone));
+
+        prerequisiteIndex.markCompleted("0909", "C99");
+
+        assertTrue(prerequisiteIndex.isPrerequisiteMet("0909", capstone));
+        assertEquals(100, prerequisiteIndex.getCourseCount());
+    }
+}
@@ -0,0 +1,93 @@
+package com.siakad.service;
+
+import com.siakad.model.Course;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatInventoryTest {
+
+    private SeatInventory seatInventory;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        seatInventory = new SeatInventory();
+        course = new Course("CS101", "Programming", 3, 2, 0, "Dr. Smith");
+    }
+
+    @Test
+    void tryReserve_UntilFull() {
+        assertTrue(seatInventory.hasAvailableSeat(course));
+        assertEquals(1, seatInventory.tryReserve(course));
+        assertEquals(2, seatInventory.tryReserve(course));
+        assertEquals(-1, seatInventory.tryReserve(course));
+        assertFalse(seatInventory.hasAvailableSeat(course));
+        assertEquals(2, seatInventory.getEnrolledCount("CS101"));
+    }
+
+    @Test
+    void tryReserve_SeededFromCourseEnrolledCount() {
+        Course almostFull = new Course("CS102", "Data Structures", 3, 30, 29, "Dr. Smith");
+
+        assertEquals(30, seatInventory.tryReserve(almostFull));
+        assertEquals(-1, seatInventory.tryReserve(almostFull));
+    }
+
+    @Test
+    void release_NeverBelowZero() {
+        seatInventory.tryReserve(course);
+
+        assertEquals(0, seatInventory.release(course));
+        assertEquals(0, seatInventory.release(course));
+        assertTrue(seatInventory.hasAvailableSeat(course));
+    }
+
+    @Test
+    void getEnrolledCount_UnknownCourse() {
+        assertEquals(-1, seatInventory.getEnrolledCount("UNKNOWN"));
+    }
+
+    @Test
+    void tryReserve_ConcurrentNeverOversells() throws Exception {
+        Course popular = new Course("CS201", "Algorithms", 3, 100, 0, "Dr. Smith");
+        int threads = 8;
+        int attemptsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            results.add(executor.submit(() -> {
+                start.await();
+                int reserved = 0;
+                for (int i = 0; i < attemptsPerThread; i++) {
+                    if (seatInventory.tryReserve(popular) > 0) {
+                        reserved++;
+                    }
+                }
+                return reserved;
+            }));
+        }
+        start.countDown();
+
+        int totalReserved = 0;
+        for (Future<Integer> result : results) {
+            totalReserved += result.get();
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(100, totalReserved);
+        assertEquals(100, seatInventory.getEnrolledCount("CS201"));
+    }
+}
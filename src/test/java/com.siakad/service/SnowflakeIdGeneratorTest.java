@@ -0,0 +1,86 @@
+package com.siakad.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH + 1_000_000L;
+
+    @Test
+    void constructor_RejectsInvalidNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+    }
+
+    @Test
+    void nextId_EncodesTimestampAndNode() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(37, () -> NOW);
+
+        long id = generator.nextId();
+
+        assertEquals(NOW, SnowflakeIdGenerator.timestampOf(id));
+        assertEquals(37, SnowflakeIdGenerator.nodeOf(id));
+    }
+
+    @Test
+    void nextId_SequenceOverflowBorrowsNextMillisecond() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, () -> NOW);
+
+        long previous = 0;
+        for (int i = 0; i < 5000; i++) {
+            long id = generator.nextId();
+            assertTrue(id > previous);
+            previous = id;
+        }
+        assertEquals(NOW + 1, SnowflakeIdGenerator.timestampOf(previous));
+    }
+
+    @Test
+    void nextId_StaysMonotonicWhenClockMovesBackwards() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        long first = generator.nextId();
+        clock.set(NOW - 5000);
+        long second = generator.nextId();
+        clock.set(NOW + 10);
+        long third = generator.nextId();
+
+        assertTrue(second > first);
+        assertTrue(third > second);
+        assertEquals(NOW + 10, SnowflakeIdGenerator.timestampOf(third));
+    }
+
+    @Test
+    void nextId_UniqueAcrossThreadsAndNodes() throws InterruptedException {
+        List<SnowflakeIdGenerator> nodes = List.of(
+                new SnowflakeIdGenerator(1, () -> NOW), new SnowflakeIdGenerator(2, () -> NOW));
+        Set<Long> ids = ConcurrentHashMap.newKeySet();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch done = new CountDownLatch(8);
+        for (int t = 0; t < 8; t++) {
+            SnowflakeIdGenerator generator = nodes.get(t % 2);
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    ids.add(generator.nextId());
+                }
+                done.countDown();
+            });
+        }
+
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertEquals(80_000, ids.size());
+    }
+}